@@ -0,0 +1,36 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import static io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator.DEFAULT_INSTANCE;
+
+import io.github.pr0methean.betterrandom.prng.AesCounterRandom;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Sweeps {@link AesCounterRandom#BLOCKS_AT_ONCE_PROPERTY}, to find the best batch size for the
+ * host's JCE provider. Since {@link AesCounterRandom} reads the property only once, each parameter
+ * value must run in its own fork, as it does by default.
+ */
+public class AesCounterRandomBatchSizeBenchmark extends AbstractRandomBenchmark<AesCounterRandom> {
+
+  /**
+   * The number of AES blocks to encrypt per call to the cipher.
+   */
+  @Param({"1", "16", "64", "256", "1024", "4096"}) public int blocksAtOnce;
+
+  @Override @Setup(Level.Trial) public void setUp() throws Exception {
+    System.setProperty(AesCounterRandom.BLOCKS_AT_ONCE_PROPERTY, String.valueOf(blocksAtOnce));
+    super.setUp();
+    if (prng.getBlocksAtOnce() != blocksAtOnce) {
+      throw new AssertionError(String.format(
+          "AesCounterRandom was already initialized with %d blocks at once; run with forks",
+          prng.getBlocksAtOnce()));
+    }
+  }
+
+  @Override protected AesCounterRandom createPrng() throws SeedException {
+    return new AesCounterRandom(DEFAULT_INSTANCE.generateSeed(32));
+  }
+}
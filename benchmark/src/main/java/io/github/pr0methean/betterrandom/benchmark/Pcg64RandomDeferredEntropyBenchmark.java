@@ -0,0 +1,26 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import io.github.pr0methean.betterrandom.prng.Pcg64Random;
+import io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmark for {@link Pcg64Random} with and without {@link Pcg64Random#deferEntropyDebits(long)}.
+ * The difference shows up when the benchmark runs on more than one thread, since all threads share
+ * the PRNG and thus its entropy count.
+ */
+public class Pcg64RandomDeferredEntropyBenchmark extends AbstractRandomBenchmark<Pcg64Random> {
+
+  /**
+   * The parameter to {@link Pcg64Random#deferEntropyDebits(long)}; 0 for the default behavior of
+   * applying each debit immediately.
+   */
+  @Param({"0", "4096"}) public long maxDeferredEntropyBits;
+
+  @Override protected Pcg64Random createPrng() throws SeedException {
+    Pcg64Random prng = new Pcg64Random(SecureRandomSeedGenerator.DEFAULT_INSTANCE);
+    prng.deferEntropyDebits(maxDeferredEntropyBits);
+    return prng;
+  }
+}
@@ -0,0 +1,23 @@
+package io.github.pr0methean.betterrandom;
+
+import java.util.Random;
+
+/**
+ * A {@link Random} that can create statistically independent children of its own class, without
+ * needing new seed material from a {@link io.github.pr0methean.betterrandom.seed.SeedGenerator}.
+ * This makes it suitable for fork-join tasks, which can split a child off for each subtask.
+ *
+ * @param <T> the type of the children; usually the implementing class itself
+ */
+public interface SplittableGenerator<T extends Random & SplittableGenerator<T>> {
+
+  /**
+   * Returns a new PRNG whose output is statistically independent of this one's. Takes constant
+   * time, and is seeded from this PRNG's output, so this PRNG's state advances and its entropy is
+   * debited for the seed. Calling this method on two PRNGs with the same state yields children with
+   * the same state.
+   *
+   * @return a new PRNG
+   */
+  T split();
+}
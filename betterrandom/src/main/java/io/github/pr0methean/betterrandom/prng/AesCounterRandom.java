@@ -16,6 +16,7 @@
 package io.github.pr0methean.betterrandom.prng;
 
 import com.google.common.base.MoreObjects;
+import io.github.pr0methean.betterrandom.SplittableGenerator;
 import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
@@ -24,9 +25,11 @@ import java.security.InvalidKeyException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Random;
+import java.util.function.LongFunction;
 import javax.crypto.Cipher;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.LoggerFactory;
 
 /**
  * <p>CipherCounterRandom using AES (Rijndael).</p> <p>Keys larger than 128 bits, and thus seeds
@@ -38,7 +41,8 @@ import javax.crypto.spec.SecretKeySpec;
  * @author Daniel Dyer
  * @author Chris Hennick
  */
-public class AesCounterRandom extends CipherCounterRandom {
+public class AesCounterRandom extends CipherCounterRandom
+    implements SplittableGenerator<AesCounterRandom> {
 
   private static final long serialVersionUID = 4808258824475143174L;
   private static final int DEFAULT_SEED_SIZE_BYTES = 32;
@@ -80,12 +84,30 @@ public class AesCounterRandom extends CipherCounterRandom {
    */
   public static final int COUNTER_SIZE_BYTES = 16;
   /**
-   * Number of blocks to encrypt at once, to construct/GC fewer arrays. This takes advantage of the
-   * fact that in ECB mode, concatenating and then encrypting gives the same output as encrypting
-   * and then concatenating, as long as both plaintexts are a whole number of blocks. (The AES block
-   * size is 128 bits at all key lengths.)
+   * Name of the system property that overrides {@link #DEFAULT_BLOCKS_AT_ONCE}. Read once, when
+   * this class is initialized; a value outside 1 to {@link #MAX_BLOCKS_AT_ONCE} is logged and
+   * ignored.
    */
-  private static final int BLOCKS_AT_ONCE = 16;
+  public static final String BLOCKS_AT_ONCE_PROPERTY =
+      "io.github.pr0methean.betterrandom.prng.AesCounterRandom.blocksAtOnce";
+  /**
+   * Number of blocks to encrypt at once when {@link #BLOCKS_AT_ONCE_PROPERTY} isn't set.
+   */
+  public static final int DEFAULT_BLOCKS_AT_ONCE = 64;
+  /**
+   * Largest value allowed for {@link #BLOCKS_AT_ONCE_PROPERTY}, so that {@link #currentBlock} is at
+   * most 64 KiB.
+   */
+  public static final int MAX_BLOCKS_AT_ONCE = 4096;
+  /**
+   * Number of blocks to encrypt at once, to make fewer calls to the {@link Cipher}. This takes
+   * advantage of the fact that in ECB mode, concatenating and then encrypting gives the same output
+   * as encrypting and then concatenating, as long as both plaintexts are a whole number of blocks.
+   * (The AES block size is 128 bits at all key lengths.) Since the output doesn't depend on this,
+   * it can be tuned for the host with {@link #BLOCKS_AT_ONCE_PROPERTY}; larger batches amortize
+   * the per-call overhead of the JCE, but make reseeding and {@link #advance(long)} slower.
+   */
+  private static final int BLOCKS_AT_ONCE = readBlocksAtOnce();
 
   @Override public int getCounterSizeBytes() {
     return COUNTER_SIZE_BYTES;
@@ -109,6 +131,17 @@ public class AesCounterRandom extends CipherCounterRandom {
     }
   }
 
+  private static int readBlocksAtOnce() {
+    final int blocksAtOnce = Integer.getInteger(BLOCKS_AT_ONCE_PROPERTY, DEFAULT_BLOCKS_AT_ONCE);
+    if ((blocksAtOnce < 1) || (blocksAtOnce > MAX_BLOCKS_AT_ONCE)) {
+      LoggerFactory.getLogger(AesCounterRandom.class).warn(
+          "{} must be between 1 and {} but is {}; using {} instead", BLOCKS_AT_ONCE_PROPERTY,
+          MAX_BLOCKS_AT_ONCE, blocksAtOnce, DEFAULT_BLOCKS_AT_ONCE);
+      return DEFAULT_BLOCKS_AT_ONCE;
+    }
+    return blocksAtOnce;
+  }
+
   /**
    * Creates a new RNG and seeds it using 256 bits from the {@link DefaultSeedGenerator}.
    *
@@ -148,7 +181,21 @@ public class AesCounterRandom extends CipherCounterRandom {
    */
   public AesCounterRandom(final byte[] seed) {
     super(seed);
-    index = BYTES_AT_ONCE; // force generation of first block on demand
+  }
+
+  /**
+   * Returns a new instance seeded from this one's output, which becomes its key.
+   */
+  @Override public AesCounterRandom split() {
+    return new AesCounterRandom(nextSeed());
+  }
+
+  /**
+   * Returns substreams that are {@link #SUBSTREAM_STRIDE}-step intervals of the sequence from a
+   * new seed, since {@link #advance(long)} only adds to the counter.
+   */
+  @Override public LongFunction<BaseRandom> createSubstreams() {
+    return seekingSubstreams(AesCounterRandom::new);
   }
 
   @Override protected MessageDigest createHash() {
@@ -189,6 +236,6 @@ public class AesCounterRandom extends CipherCounterRandom {
   }
 
   @Override protected void doCipher(byte[] input, byte[] output) throws GeneralSecurityException {
-    cipher.doFinal(input, 0, BYTES_AT_ONCE, output);
+    cipher.doFinal(input, 0, input.length, output);
   }
 }
@@ -5,6 +5,7 @@ import com.google.common.base.MoreObjects.ToStringHelper;
 import io.github.pr0methean.betterrandom.ByteArrayReseedableRandom;
 import io.github.pr0methean.betterrandom.EntropyCountingRandom;
 import io.github.pr0methean.betterrandom.RepeatableRandom;
+import io.github.pr0methean.betterrandom.SeekableRandom;
 import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
 import io.github.pr0methean.betterrandom.seed.RandomSeeder;
 import io.github.pr0methean.betterrandom.seed.SeedException;
@@ -17,14 +18,23 @@ import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.DoubleSupplier;
-import java.util.stream.BaseStream;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
 
 /**
@@ -45,7 +55,32 @@ public abstract class BaseRandom extends Random
    */
   protected static final int ENTROPY_OF_DOUBLE = 53;
 
+  private static final int DOUBLE_HIGH_BITS = 26;
+  private static final int DOUBLE_LOW_BITS = 27;
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
   private static final long NAN_LONG_BITS = Double.doubleToRawLongBits(Double.NaN);
+  /**
+   * The most {@code long}s that {@link #nextGaussians(double[], int, int)} fetches at once.
+   */
+  private static final int GAUSSIAN_CHUNK_SIZE = 1024;
+  /**
+   * Number of stripes that deferred entropy debits are split across: the number of processors,
+   * rounded up to a power of 2, but at most 64.
+   */
+  private static final int DEFERRED_DEBIT_STRIPES = Math.min(64,
+      Integer.highestOneBit((2 * Runtime.getRuntime().availableProcessors()) - 1));
+  /**
+   * Distance between stripes in {@link #deferredEntropyDebits}, so that each is on its own
+   * 64-byte cache line.
+   */
+  private static final int DEFERRED_DEBIT_STRIDE = 8;
+  /**
+   * The distance, in steps of {@link SeekableRandom#advance(long)}, between the starting points of
+   * consecutive substreams from {@link #seekingSubstreams(Function)}. This is far more than any
+   * substream's elements will consume, even with rejection sampling, and still leaves room for
+   * 2<sup>31</sup> substreams before the offset overflows a {@code long}.
+   */
+  protected static final long SUBSTREAM_STRIDE = 1L << 32;
   private static final long serialVersionUID = -1556392727255964947L;
   /**
    * If the referent is non-null, it will be invoked to reseed this PRNG whenever random output is
@@ -54,15 +89,31 @@ public abstract class BaseRandom extends Random
    */
   protected final AtomicReference<RandomSeeder> randomSeeder = new AtomicReference<>(null);
   /**
-   * Lock to prevent concurrent modification of the RNG's internal state.
+   * Lock to prevent concurrent modification of the RNG's internal state. Doesn't lock while this
+   * PRNG is in single-owner mode (see {@link #makeUnshared()}).
    */
-  protected final ReentrantLock lock = new ReentrantLock();
+  protected final ReentrantLock lock = new SingleOwnerCapableLock();
   /**
    * Stores the entropy estimate backing {@link #getEntropyBits()}.
    */
   protected final AtomicLong entropyBits = new AtomicLong(0);
+  /**
+   * Debits not yet subtracted from {@link #entropyBits}, striped by thread, or null if they're
+   * subtracted immediately. See {@link #deferEntropyDebits(long)}.
+   */
+  @Nullable private volatile AtomicLongArray deferredEntropyDebits = null;
+  private volatile long maxDeferredEntropyBits = 0;
+  /**
+   * Set while a thread is subtracting {@link #deferredEntropyDebits} from {@link #entropyBits}.
+   */
+  private final AtomicBoolean applyingDeferredEntropyDebits = new AtomicBoolean(false);
   // Stored as a long since there's no atomic double
   private final AtomicLong nextNextGaussian = new AtomicLong(NAN_LONG_BITS);
+  /**
+   * If true, {@link #nextGaussian()} uses {@link ZigguratGaussian} rather than the polar method.
+   * See {@link #useZigguratGaussians(boolean)}.
+   */
+  private volatile boolean zigguratGaussians = false;
   /**
    * The seed this PRNG was seeded with, as a byte array. Used by {@link #getSeed()} even if the
    * actual internal state of the PRNG is stored elsewhere (since otherwise getSeed() would require
@@ -155,6 +206,85 @@ public abstract class BaseRandom extends Random
     return false;
   }
 
+  /**
+   * <p>Returns a function that maps each index {@code i} to a new PRNG for substream {@code i} of
+   * a parallel stream. Each call to this method draws a new seed from this PRNG, but the returned
+   * function doesn't use this PRNG, so it can be called from any thread, and it returns equivalent
+   * PRNGs for equal indices.</p>
+   *
+   * <p>When {@link #usesParallelStreams()} is true and this method doesn't return null,
+   * {@link #ints()}, {@link #longs()}, {@link #doubles()}, {@link #gaussians()} and their overloads
+   * take each run of consecutive elements from a different substream. Fork-join workers then never
+   * contend for this PRNG, and the output depends only on the seed, not on the number of threads.
+   * This PRNG is debited only for the seed that the substreams are derived from.</p>
+   *
+   * <p>This implementation returns null, meaning that parallel streams must share this PRNG.
+   * Subclasses will usually implement this method with {@link #seekingSubstreams(Function)} or
+   * {@link #seededSubstreams(Function)}.</p>
+   *
+   * @return a substream factory, or null if this PRNG doesn't support substreams
+   */
+  @Nullable public LongFunction<BaseRandom> createSubstreams() {
+    return null;
+  }
+
+  /**
+   * Implements {@link #createSubstreams()} for a {@link SeekableRandom}, by creating a copy of a
+   * new stream seed for each substream and advancing it by {@link #SUBSTREAM_STRIDE} steps per
+   * index. Suitable only if {@link SeekableRandom#advance(long)} is cheap.
+   *
+   * @param constructor creates a PRNG of this class from a seed
+   * @param <T> the type of the substream PRNGs
+   * @return a substream factory, which throws {@link ArithmeticException} for indices of
+   *     2<sup>31</sup> or more, rather than wrapping around to the start of an earlier substream
+   */
+  protected <T extends BaseRandom & SeekableRandom> LongFunction<BaseRandom> seekingSubstreams(
+      final Function<byte[], T> constructor) {
+    final byte[] streamSeed = nextSeed();
+    return index -> {
+      final long offset = Math.multiplyExact(index, SUBSTREAM_STRIDE);
+      final T substream = constructor.apply(streamSeed.clone());
+      substream.advance(offset);
+      return substream;
+    };
+  }
+
+  /**
+   * Implements {@link #createSubstreams()} by seeding each substream's PRNG with a new stream
+   * seed XORed with a pseudorandom mask derived from the index.
+   *
+   * @param constructor creates a PRNG of this class from a seed
+   * @return a substream factory
+   */
+  protected LongFunction<BaseRandom> seededSubstreams(
+      final Function<byte[], ? extends BaseRandom> constructor) {
+    final byte[] streamSeed = nextSeed();
+    return index -> {
+      final byte[] seed = streamSeed.clone();
+      final SplittableRandom mask = new SplittableRandom(index);
+      for (int i = 0; i < seed.length; i += Long.BYTES) {
+        long maskWord = mask.nextLong();
+        for (int j = i; j < Math.min(i + Long.BYTES, seed.length); j++) {
+          seed[j] ^= (byte) maskWord;
+          maskWord >>>= Byte.SIZE;
+        }
+      }
+      return constructor.apply(seed);
+    };
+  }
+
+  /**
+   * Returns a seed of {@link #getNewSeedLength()} bytes from this PRNG's output, for seeding a child
+   * PRNG or a set of substreams. Debits entropy as {@link #nextBytes(byte[])} does.
+   *
+   * @return a new seed
+   */
+  protected byte[] nextSeed() {
+    final byte[] newSeed = new byte[getNewSeedLength()];
+    nextBytes(newSeed);
+    return newSeed;
+  }
+
   /**
    * <p>Returns true with the given probability, and records that only 1 bit of entropy is being
    * spent.</p> <p>When {@code probability <= 0}, instantly returns false without recording any
@@ -238,13 +368,37 @@ public abstract class BaseRandom extends Random
   /**
    * Generates random bytes and places them into a user-supplied byte array. The number of random
    * bytes produced is equal to the length of the byte array. Reimplemented for entropy-counting
-   * purposes.
+   * purposes, and to take the lock and debit entropy only once per call.
    */
-  @SuppressWarnings("NumericCastThatLosesPrecision") @Override public void nextBytes(
-      final byte[] bytes) {
-    for (int i = 0; i < bytes.length; i++) {
-      bytes[i] = (byte) next(Byte.SIZE);
-      debitEntropy(Byte.SIZE);
+  @Override public void nextBytes(final byte[] bytes) {
+    nextBytesNoEntropyDebit(bytes);
+    debitEntropy(bytes.length * (long) Byte.SIZE);
+  }
+
+  /**
+   * Called by {@link #nextBytes(byte[])} to fill the array without debiting entropy. This
+   * implementation splits each output of {@code next(32)} into 4 bytes, least significant first,
+   * as {@link Random#nextBytes(byte[])} does. Subclasses that generate output in blocks should
+   * override this to copy it out directly.
+   *
+   * @param bytes the array to fill
+   */
+  @SuppressWarnings("NumericCastThatLosesPrecision")
+  protected void nextBytesNoEntropyDebit(final byte[] bytes) {
+    final int length = bytes.length;
+    lock.lock();
+    try {
+      int i = 0;
+      while (i < length) {
+        int word = next(Integer.SIZE);
+        final int end = Math.min(length, i + Integer.BYTES);
+        for (; i < end; i++) {
+          bytes[i] = (byte) word;
+          word >>= Byte.SIZE;
+        }
+      }
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -317,10 +471,6 @@ public abstract class BaseRandom extends Random
     return out;
   }
 
-  private <T extends BaseStream<?, T>> T maybeParallel(final T in) {
-    return usesParallelStreams() ? in.parallel() : in;
-  }
-
   /**
    * <p>Returns a stream producing an effectively unlimited number of pseudorandom doubles, each
    * conforming to the given origin (inclusive) and bound (exclusive). This implementation uses
@@ -328,8 +478,7 @@ public abstract class BaseRandom extends Random
    */
   @Override public DoubleStream doubles(final double randomNumberOrigin,
       final double randomNumberBound) {
-    return maybeParallel(
-        DoubleStream.generate(() -> nextDouble(randomNumberOrigin, randomNumberBound)));
+    return doubles(Long.MAX_VALUE, randomNumberOrigin, randomNumberBound);
   }
 
   /**
@@ -338,15 +487,53 @@ public abstract class BaseRandom extends Random
    * generate these numbers.</p>
    */
   @Override public DoubleStream doubles() {
-    return maybeParallel(DoubleStream.generate(this::nextDouble));
+    return doubles(Long.MAX_VALUE);
   }
 
   @Override public DoubleStream doubles(final long streamSize) {
-    return streamOfSize(streamSize).mapToDouble(ignored -> nextDouble());
+    return doubles(streamSize, substreamsForStream(), BaseRandom::nextDouble,
+        BaseRandom::nextDoubles);
+  }
+
+  /**
+   * Returns the PRNGs for the substreams of a new stream (see {@link SubstreamSpliterator}). These
+   * come from {@link #createSubstreams()}, each in single-owner mode, if this PRNG uses parallel
+   * streams and supports substreams. Otherwise they're all this PRNG.
+   *
+   * @return a function from substream index to PRNG
+   */
+  private LongFunction<BaseRandom> substreamsForStream() {
+    if (usesParallelStreams()) {
+      final LongFunction<BaseRandom> substreams = createSubstreams();
+      if (substreams != null) {
+        return index -> {
+          final BaseRandom substream = substreams.apply(index);
+          // Never shared with another thread
+          substream.makeUnshared();
+          return substream;
+        };
+      }
+    }
+    return ignored -> this;
+  }
+
+  private IntStream ints(final long streamSize, final ToIntFunction<BaseRandom> next,
+      final SubstreamSpliterator.IntChunkFiller nextChunk) {
+    return StreamSupport.intStream(new SubstreamSpliterator.OfInts(substreamsForStream(),
+        Math.max(streamSize, 0), next, nextChunk), usesParallelStreams());
   }
 
-  private LongStream streamOfSize(final long streamSize) {
-    return maybeParallel(LongStream.range(0, streamSize).unordered());
+  private LongStream longs(final long streamSize, final ToLongFunction<BaseRandom> next,
+      final SubstreamSpliterator.LongChunkFiller nextChunk) {
+    return StreamSupport.longStream(new SubstreamSpliterator.OfLongs(substreamsForStream(),
+        Math.max(streamSize, 0), next, nextChunk), usesParallelStreams());
+  }
+
+  private DoubleStream doubles(final long streamSize, final LongFunction<BaseRandom> substreams,
+      final ToDoubleFunction<BaseRandom> next,
+      final SubstreamSpliterator.DoubleChunkFiller nextChunk) {
+    return StreamSupport.doubleStream(new SubstreamSpliterator.OfDoubles(substreams,
+        Math.max(streamSize, 0), next, nextChunk), usesParallelStreams());
   }
 
   /**
@@ -356,8 +543,10 @@ public abstract class BaseRandom extends Random
    */
   @Override public DoubleStream doubles(final long streamSize, final double randomNumberOrigin,
       final double randomNumberBound) {
-    return streamOfSize(streamSize)
-        .mapToDouble(ignored -> nextDouble(randomNumberOrigin, randomNumberBound));
+    return doubles(streamSize, substreamsForStream(),
+        random -> random.nextDouble(randomNumberOrigin, randomNumberBound),
+        (random, dest, offset, length) -> random.nextDoubles(dest, offset, length,
+            randomNumberOrigin, randomNumberBound));
   }
 
   /**
@@ -368,7 +557,7 @@ public abstract class BaseRandom extends Random
    * @return a stream of normally-distributed random doubles.
    */
   public DoubleStream gaussians() {
-    return maybeParallel(DoubleStream.generate(this::nextGaussian));
+    return gaussians(Long.MAX_VALUE);
   }
 
   /**
@@ -380,7 +569,73 @@ public abstract class BaseRandom extends Random
    * @return a stream of {@code streamSize} normally-distributed random doubles.
    */
   public DoubleStream gaussians(final long streamSize) {
-    return streamOfSize(streamSize).mapToDouble(ignored -> nextGaussian());
+    final LongFunction<BaseRandom> substreams = substreamsForStream();
+    final boolean ziggurat = usesZigguratGaussians();
+    return doubles(streamSize, index -> {
+      final BaseRandom substream = substreams.apply(index);
+      if (substream != this) {
+        substream.useZigguratGaussians(ziggurat);
+      }
+      return substream;
+    }, BaseRandom::nextGaussian, BaseRandom::nextGaussians);
+  }
+
+  /**
+   * Fills part of an array with normally distributed {@code double} values with mean 0.0 and
+   * standard deviation 1.0, as if by calling {@link #nextGaussian()} repeatedly. In ziggurat mode
+   * (see {@link #useZigguratGaussians(boolean)}), this fetches its random input in bulk and debits
+   * entropy only once.
+   *
+   * @param dest the array to fill
+   * @param offset the first index in {@code dest} to write to
+   * @param length the number of values to write
+   * @throws IndexOutOfBoundsException if {@code offset} and {@code length} don't describe a
+   *     range within {@code dest}
+   */
+  public void nextGaussians(final double[] dest, final int offset, final int length) {
+    checkArrayRange(dest.length, offset, length);
+    final int end = offset + length;
+    if (!usesZigguratGaussians()) {
+      for (int i = offset; i < end; i++) {
+        dest[i] = nextGaussian();
+      }
+      return;
+    }
+    final ZigguratGaussian.BufferedLongs input =
+        new ZigguratGaussian.BufferedLongs(this, length, GAUSSIAN_CHUNK_SIZE);
+    for (int i = offset; i < end; i++) {
+      input.startSample();
+      dest[i] = ZigguratGaussian.nextGaussian(input);
+    }
+    debitEntropy(length * (long) ENTROPY_OF_DOUBLE);
+  }
+
+  /**
+   * <p>Switches {@link #nextGaussian()}, {@link #nextGaussians(double[], int, int)} and
+   * {@link #gaussians(long)} between the polar method, which is the default, and the ziggurat
+   * method. The ziggurat method is usually much faster: about 99% of outputs need only one
+   * {@code long} of input and no transcendental functions, and there's no cached second output to
+   * synchronize on. The tables it uses are shared across all instances.</p>
+   *
+   * <p>The two methods produce different sequences from the same seed.</p>
+   *
+   * @param ziggurat true to use the ziggurat method; false to use the polar method
+   * @return true if the requested method is now in use; false if this PRNG doesn't support it,
+   *     e.g. because it delegates {@link #nextGaussian()} to another {@link Random}
+   */
+  public boolean useZigguratGaussians(final boolean ziggurat) {
+    zigguratGaussians = ziggurat;
+    nextNextGaussian.set(NAN_LONG_BITS);
+    return true;
+  }
+
+  /**
+   * Returns whether this PRNG generates normally distributed values using the ziggurat method.
+   *
+   * @return true if the ziggurat method is in use; false if the polar method is
+   */
+  public boolean usesZigguratGaussians() {
+    return zigguratGaussians;
   }
 
   @Override public boolean nextBoolean() {
@@ -416,12 +671,16 @@ public abstract class BaseRandom extends Random
   /**
    * Returns the next pseudorandom, Gaussian ("normally") distributed double value with mean 0.0 and
    * standard deviation 1.0 from this random number generator's sequence. Unlike the one in {@link
-   * Random}, this implementation is lockless.
+   * Random}, this implementation is lockless. Uses the polar method unless
+   * {@link #useZigguratGaussians(boolean)} has selected the ziggurat method.
    */
   @SuppressWarnings("NonSynchronizedMethodOverridesSynchronizedMethod") @Override public double nextGaussian() {
     // Upper bound. 2 Gaussians are generated from 2 nextDouble calls, which once made are either
     // used or rerolled.
     debitEntropy(ENTROPY_OF_DOUBLE);
+    if (zigguratGaussians) {
+      return ZigguratGaussian.nextGaussian(this::nextLongNoEntropyDebit);
+    }
     return internalNextGaussian(this::nextDoubleNoEntropyDebit);
   }
 
@@ -437,8 +696,9 @@ public abstract class BaseRandom extends Random
       final DoubleSupplier nextDouble) {
     // See Knuth, ACP, Section 3.4.1 Algorithm C.
     final double firstTryOut = takeNextNextGaussian();
-    if (Double.isNaN(firstTryOut))
+    if (!Double.isNaN(firstTryOut)) {
       return firstTryOut;
+    }
     lockForNextGaussian();
     try {
       // Another output may have become available while we waited for the lock
@@ -481,11 +741,11 @@ public abstract class BaseRandom extends Random
   }
 
   @Override public IntStream ints(final long streamSize) {
-    return streamOfSize(streamSize).mapToInt(ignored -> nextInt());
+    return ints(streamSize, BaseRandom::nextInt, BaseRandom::nextInts);
   }
 
   @Override public IntStream ints() {
-    return maybeParallel(IntStream.generate(this::nextInt));
+    return ints(Long.MAX_VALUE);
   }
 
   /**
@@ -495,8 +755,9 @@ public abstract class BaseRandom extends Random
    */
   @Override public IntStream ints(final long streamSize, final int randomNumberOrigin,
       final int randomNumberBound) {
-    return streamOfSize(streamSize)
-        .mapToInt(ignored -> nextInt(randomNumberOrigin, randomNumberBound));
+    return ints(streamSize, random -> random.nextInt(randomNumberOrigin, randomNumberBound),
+        (random, dest, offset, length) -> random.nextInts(dest, offset, length,
+            randomNumberOrigin, randomNumberBound));
   }
 
   /**
@@ -545,11 +806,11 @@ public abstract class BaseRandom extends Random
    * {@link #nextInt(int, int)} to generate these numbers.</p>
    */
   @Override public IntStream ints(final int randomNumberOrigin, final int randomNumberBound) {
-    return maybeParallel(IntStream.generate(() -> nextInt(randomNumberOrigin, randomNumberBound)));
+    return ints(Long.MAX_VALUE, randomNumberOrigin, randomNumberBound);
   }
 
   @Override public LongStream longs(final long streamSize) {
-    return streamOfSize(streamSize).map(ignored -> nextLong());
+    return longs(streamSize, BaseRandom::nextLong, BaseRandom::nextLongs);
   }
 
   /**
@@ -558,7 +819,7 @@ public abstract class BaseRandom extends Random
    * consumed.</p>
    */
   @Override public LongStream longs() {
-    return maybeParallel(LongStream.generate(this::nextLong));
+    return longs(Long.MAX_VALUE);
   }
 
   /**
@@ -568,7 +829,9 @@ public abstract class BaseRandom extends Random
    */
   @Override public LongStream longs(final long streamSize, final long randomNumberOrigin,
       final long randomNumberBound) {
-    return streamOfSize(streamSize).map(ignored -> nextLong(randomNumberOrigin, randomNumberBound));
+    return longs(streamSize, random -> random.nextLong(randomNumberOrigin, randomNumberBound),
+        (random, dest, offset, length) -> random.nextLongs(dest, offset, length,
+            randomNumberOrigin, randomNumberBound));
   }
 
   /**
@@ -583,35 +846,43 @@ public abstract class BaseRandom extends Random
    * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code
    *     bound}
    */
-  @SuppressWarnings({"StatementWithEmptyBody", "NestedAssignment"}) public long nextLong(
-      final long origin, final long bound) {
+  public long nextLong(final long origin, final long bound) {
     checkValidRange(origin, bound);
     lock.lock();
     try {
-      long r = nextLongNoEntropyDebit();
-      final long n = bound - origin;
-      final long m = n - 1;
-      if ((n & m) == 0L)  // power of two
-      {
-        return (r & m) + origin;
-      } else if (n > 0L) {  // reject over-represented candidates
-        for (long u = r >>> 1;            // ensure nonnegative
-            ((u + m) - ((r = u % n))) < 0L;    // rejection check
-            u = nextLongNoEntropyDebit() >>> 1) {
-        } // retry
-        r += origin;
-      } else {              // range not representable as long
-        while ((r < origin) || (r >= bound)) {
-          r = nextLongNoEntropyDebit();
-        }
-      }
-      return r;
+      return nextLongNoEntropyDebit(origin, bound);
     } finally {
       lock.unlock();
       debitEntropy(entropyOfLong(origin, bound));
     }
   }
 
+  /**
+   * Core of {@link #nextLong(long, long)}, which doesn't debit entropy. Caller must hold {@link
+   * #lock} and must already have checked that {@code origin < bound}.
+   */
+  @SuppressWarnings({"StatementWithEmptyBody", "NestedAssignment"})
+  private long nextLongNoEntropyDebit(final long origin, final long bound) {
+    long r = nextLongNoEntropyDebit();
+    final long n = bound - origin;
+    final long m = n - 1;
+    if ((n & m) == 0L)  // power of two
+    {
+      return (r & m) + origin;
+    } else if (n > 0L) {  // reject over-represented candidates
+      for (long u = r >>> 1;            // ensure nonnegative
+          ((u + m) - ((r = u % n))) < 0L;    // rejection check
+          u = nextLongNoEntropyDebit() >>> 1) {
+      } // retry
+      r += origin;
+    } else {              // range not representable as long
+      while ((r < origin) || (r >= bound)) {
+        r = nextLongNoEntropyDebit();
+      }
+    }
+    return r;
+  }
+
   /**
    * Returns the next random {@code long}, but does not debit entropy.
    *
@@ -632,8 +903,274 @@ public abstract class BaseRandom extends Random
    * {@link #nextLong(long, long)} to generate these numbers.</p>
    */
   @Override public LongStream longs(final long randomNumberOrigin, final long randomNumberBound) {
-    return maybeParallel(
-        LongStream.generate(() -> nextLong(randomNumberOrigin, randomNumberBound)));
+    return longs(Long.MAX_VALUE, randomNumberOrigin, randomNumberBound);
+  }
+
+  /**
+   * Fills part of an array with pseudorandom {@code int} values, as if by calling
+   * {@link #nextInt()} repeatedly, but taking the lock and debiting entropy only once.
+   *
+   * @param dest the array to fill
+   * @param offset the first index in {@code dest} to write to
+   * @param length the number of values to write
+   * @throws IndexOutOfBoundsException if {@code offset} and {@code length} don't describe a
+   *     range within {@code dest}
+   */
+  public void nextInts(final int[] dest, final int offset, final int length) {
+    checkArrayRange(dest.length, offset, length);
+    nextIntsNoEntropyDebit(dest, offset, length);
+    debitEntropy(length * (long) Integer.SIZE);
+  }
+
+  /**
+   * Fills part of an array with pseudorandom {@code int} values between the specified origin
+   * (inclusive) and bound (exclusive), as if by calling {@link #nextInt(int, int)} repeatedly, but
+   * taking the lock and debiting entropy only once.
+   *
+   * @param dest the array to fill
+   * @param offset the first index in {@code dest} to write to
+   * @param length the number of values to write
+   * @param origin the least value written
+   * @param bound the upper bound (exclusive)
+   * @throws IndexOutOfBoundsException if {@code offset} and {@code length} don't describe a
+   *     range within {@code dest}
+   * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code
+   *     bound}
+   */
+  public void nextInts(final int[] dest, final int offset, final int length, final int origin,
+      final int bound) {
+    checkArrayRange(dest.length, offset, length);
+    checkValidRange(origin, bound);
+    nextIntsNoEntropyDebit(dest, offset, length, origin, bound);
+    debitEntropy(length * (long) entropyOfInt(origin, bound));
+  }
+
+  /**
+   * Fills part of an array with pseudorandom {@code long} values, as if by calling
+   * {@link #nextLong()} repeatedly, but taking the lock and debiting entropy only once.
+   *
+   * @param dest the array to fill
+   * @param offset the first index in {@code dest} to write to
+   * @param length the number of values to write
+   * @throws IndexOutOfBoundsException if {@code offset} and {@code length} don't describe a
+   *     range within {@code dest}
+   */
+  public void nextLongs(final long[] dest, final int offset, final int length) {
+    checkArrayRange(dest.length, offset, length);
+    nextLongsNoEntropyDebit(dest, offset, length);
+    debitEntropy(length * (long) Long.SIZE);
+  }
+
+  /**
+   * Fills part of an array with pseudorandom {@code long} values between the specified origin
+   * (inclusive) and bound (exclusive), as if by calling {@link #nextLong(long, long)} repeatedly,
+   * but taking the lock and debiting entropy only once.
+   *
+   * @param dest the array to fill
+   * @param offset the first index in {@code dest} to write to
+   * @param length the number of values to write
+   * @param origin the least value written
+   * @param bound the upper bound (exclusive)
+   * @throws IndexOutOfBoundsException if {@code offset} and {@code length} don't describe a
+   *     range within {@code dest}
+   * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code
+   *     bound}
+   */
+  public void nextLongs(final long[] dest, final int offset, final int length, final long origin,
+      final long bound) {
+    checkArrayRange(dest.length, offset, length);
+    checkValidRange(origin, bound);
+    lock.lock();
+    try {
+      final int end = offset + length;
+      for (int i = offset; i < end; i++) {
+        dest[i] = nextLongNoEntropyDebit(origin, bound);
+      }
+    } finally {
+      lock.unlock();
+    }
+    debitEntropy(length * (long) entropyOfLong(origin, bound));
+  }
+
+  /**
+   * Fills part of an array with pseudorandom {@code double} values between 0.0 (inclusive) and 1.0
+   * (exclusive), as if by calling {@link #nextDouble()} repeatedly, but taking the lock and
+   * debiting entropy only once.
+   *
+   * @param dest the array to fill
+   * @param offset the first index in {@code dest} to write to
+   * @param length the number of values to write
+   * @throws IndexOutOfBoundsException if {@code offset} and {@code length} don't describe a
+   *     range within {@code dest}
+   */
+  public void nextDoubles(final double[] dest, final int offset, final int length) {
+    checkArrayRange(dest.length, offset, length);
+    nextDoublesNoEntropyDebit(dest, offset, length);
+    debitEntropy(length * (long) ENTROPY_OF_DOUBLE);
+  }
+
+  /**
+   * Fills part of an array with pseudorandom {@code double} values between the specified origin
+   * (inclusive) and bound (exclusive), as if by calling {@link #nextDouble(double, double)}
+   * repeatedly, but taking the lock and debiting entropy only once.
+   *
+   * @param dest the array to fill
+   * @param offset the first index in {@code dest} to write to
+   * @param length the number of values to write
+   * @param origin the least value written
+   * @param bound the upper bound (exclusive)
+   * @throws IndexOutOfBoundsException if {@code offset} and {@code length} don't describe a
+   *     range within {@code dest}
+   * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code
+   *     bound}
+   */
+  public void nextDoubles(final double[] dest, final int offset, final int length,
+      final double origin, final double bound) {
+    checkArrayRange(dest.length, offset, length);
+    if (bound <= origin) {
+      throw new IllegalArgumentException(
+          String.format("Bound %f must be greater than origin %f", bound, origin));
+    }
+    nextDoublesNoEntropyDebit(dest, offset, length);
+    final double range = bound - origin;
+    final double maxOut = Double.longBitsToDouble(Double.doubleToRawLongBits(bound) - 1);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      final double out = (dest[i] * range) + origin;
+      // correct for rounding
+      dest[i] = (out >= bound) ? maxOut : out;
+    }
+    debitEntropy(length * (long) ENTROPY_OF_DOUBLE);
+  }
+
+  /**
+   * Called by {@link #nextInts(int[], int, int)} after checking the array bounds. Should produce
+   * the same output as calling {@code next(32)} {@code length} times, but doesn't debit entropy.
+   * Subclasses should override this with a tight loop over their internal state if they can.
+   *
+   * @param dest the array to fill
+   * @param offset the first index in {@code dest} to write to
+   * @param length the number of values to write
+   */
+  protected void nextIntsNoEntropyDebit(final int[] dest, final int offset, final int length) {
+    lock.lock();
+    try {
+      final int end = offset + length;
+      for (int i = offset; i < end; i++) {
+        dest[i] = next(Integer.SIZE);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Called by {@link #nextInts(int[], int, int, int, int)} after checking the array bounds and the
+   * range. Doesn't debit entropy.
+   *
+   * @param dest the array to fill
+   * @param offset the first index in {@code dest} to write to
+   * @param length the number of values to write
+   * @param origin the least value written
+   * @param bound the upper bound (exclusive)
+   */
+  protected void nextIntsNoEntropyDebit(final int[] dest, final int offset, final int length,
+      final int origin, final int bound) {
+    final int range = bound - origin;
+    final int end = offset + length;
+    lock.lock();
+    try {
+      if (range >= 0) {
+        // range is no more than Integer.MAX_VALUE
+        for (int i = offset; i < end; i++) {
+          dest[i] = super.nextInt(range) + origin;
+        }
+      } else {
+        for (int i = offset; i < end; i++) {
+          int output;
+          do {
+            output = super.nextInt();
+          } while ((output < origin) || (output >= bound));
+          dest[i] = output;
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Called by {@link #nextLongs(long[], int, int)} after checking the array bounds. Should produce
+   * the same output as calling {@link #nextLongNoEntropyDebit()} {@code length} times. Subclasses
+   * should override this with a tight loop over their internal state if they can.
+   *
+   * @param dest the array to fill
+   * @param offset the first index in {@code dest} to write to
+   * @param length the number of values to write
+   */
+  protected void nextLongsNoEntropyDebit(final long[] dest, final int offset, final int length) {
+    lock.lock();
+    try {
+      final int end = offset + length;
+      for (int i = offset; i < end; i++) {
+        dest[i] = nextLongNoEntropyDebit();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Called by {@link #nextDoubles(double[], int, int)} and {@link #nextDoubles(double[], int, int,
+   * double, double)} after checking the array bounds. Should produce the same output as calling
+   * {@link #nextDoubleNoEntropyDebit()} {@code length} times. Subclasses should override this
+   * with a tight loop over their internal state if they can.
+   *
+   * @param dest the array to fill
+   * @param offset the first index in {@code dest} to write to
+   * @param length the number of values to write
+   */
+  protected void nextDoublesNoEntropyDebit(final double[] dest, final int offset,
+      final int length) {
+    lock.lock();
+    try {
+      final int end = offset + length;
+      for (int i = offset; i < end; i++) {
+        dest[i] = nextDoubleNoEntropyDebit();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Combines two outputs of {@code next(32)} into a {@code double} between 0.0 (inclusive) and 1.0
+   * (exclusive), in the same way as {@link Random#nextDouble()}.
+   *
+   * @param first the first 32-bit output
+   * @param second the second 32-bit output
+   * @return a {@code double} between 0.0 (inclusive) and 1.0 (exclusive)
+   */
+  protected static double intsToDouble(final int first, final int second) {
+    return ((((long) (first >>> (Integer.SIZE - DOUBLE_HIGH_BITS))) << DOUBLE_LOW_BITS)
+        + (second >>> (Integer.SIZE - DOUBLE_LOW_BITS))) * DOUBLE_UNIT;
+  }
+
+  /**
+   * Ensures that {@code offset} and {@code length} describe a range within an array.
+   *
+   * @param arrayLength the length of the array
+   * @param offset the first index in the range
+   * @param length the length of the range
+   * @throws IndexOutOfBoundsException if the range isn't within the array
+   */
+  protected static void checkArrayRange(final int arrayLength, final int offset,
+      final int length) {
+    if ((offset < 0) || (length < 0) || (length > (arrayLength - offset))) {
+      throw new IndexOutOfBoundsException(
+          String.format("Range [%d, %d + %d) out of bounds for length %d", offset, offset, length,
+              arrayLength));
+    }
   }
 
   @Override public String dump() {
@@ -699,6 +1236,100 @@ public abstract class BaseRandom extends Random
    */
   protected abstract ToStringHelper addSubclassFields(ToStringHelper original);
 
+  /**
+   * <p>Puts this PRNG into single-owner mode, if it supports that. In single-owner mode, it no
+   * longer locks its internal state, and it debits entropy with a plain read and write rather than
+   * an atomic read-modify-write. This is for PRNGs that only one thread will ever use, such as the
+   * ones a {@link io.github.pr0methean.betterrandom.prng.adapter.ThreadLocalRandomWrapper}
+   * creates; it must be called before this PRNG is visible to any other thread.</p>
+   *
+   * <p>A PRNG that has a {@link RandomSeeder} can't enter single-owner mode, since the seeder
+   * reseeds it from another thread. Likewise, {@link #setRandomSeeder(RandomSeeder)} takes a PRNG
+   * back out of single-owner mode.</p>
+   *
+   * @return true if this PRNG is now in single-owner mode; false if it can't be
+   */
+  public boolean makeUnshared() {
+    if (getRandomSeeder() != null) {
+      return false;
+    }
+    if (!(lock instanceof SingleOwnerCapableLock)) {
+      // Deserialized from a version that used a plain ReentrantLock
+      return false;
+    }
+    ((SingleOwnerCapableLock) lock).singleOwner = true;
+    return true;
+  }
+
+  /**
+   * Takes this PRNG out of single-owner mode (see {@link #makeUnshared()}), so that it can be used
+   * concurrently. Must be called on the thread that owns it, before it becomes visible to any
+   * other thread.
+   */
+  public void makeShared() {
+    if (lock instanceof SingleOwnerCapableLock) {
+      ((SingleOwnerCapableLock) lock).singleOwner = false;
+    }
+  }
+
+  /**
+   * Returns whether this PRNG is safe to use concurrently, i.e. isn't in single-owner mode (see
+   * {@link #makeUnshared()}).
+   *
+   * @return false if this PRNG is in single-owner mode; true otherwise
+   */
+  public boolean isShared() {
+    return !(lock instanceof SingleOwnerCapableLock)
+        || !((SingleOwnerCapableLock) lock).singleOwner;
+  }
+
+  /**
+   * <p>Makes {@link #debitEntropy(long)} accumulate debits in per-thread stripes, and subtract them
+   * from {@link #entropyBits} only once one stripe holds its share of {@code maxDeferredBits}. This
+   * way, threads sharing this PRNG don't contend for {@link #entropyBits}, or read each other's
+   * stripes, on most calls. The stripes can't add up to {@code maxDeferredBits} before one is
+   * applied, so the {@link RandomSeeder} is woken up at most {@code maxDeferredBits} bits of
+   * output after this PRNG runs out of entropy. {@link #getEntropyBits()} stays exact, but is
+   * slower since it has to add up the deferred debits.</p>
+   *
+   * <p>Has no effect in single-owner mode (see {@link #makeUnshared()}), where debits are already
+   * uncontended.</p>
+   *
+   * @param maxDeferredBits the most entropy, in bits, that can be debited before the debits are
+   *     applied to {@link #entropyBits}; 0 to go back to applying every debit immediately
+   * @return true if this PRNG now defers debits as specified; false if it doesn't support that
+   * @throws IllegalArgumentException if {@code maxDeferredBits} is negative
+   */
+  public boolean deferEntropyDebits(final long maxDeferredBits) {
+    if (maxDeferredBits < 0) {
+      throw new IllegalArgumentException("maxDeferredBits must not be negative");
+    }
+    lock.lock();
+    try {
+      if (maxDeferredBits == 0) {
+        applyDeferredEntropyDebits();
+        deferredEntropyDebits = null;
+      } else if (deferredEntropyDebits == null) {
+        deferredEntropyDebits =
+            new AtomicLongArray(DEFERRED_DEBIT_STRIPES * DEFERRED_DEBIT_STRIDE);
+      }
+      maxDeferredEntropyBits = maxDeferredBits;
+    } finally {
+      lock.unlock();
+    }
+    return true;
+  }
+
+  /**
+   * Returns the limit set by {@link #deferEntropyDebits(long)}.
+   *
+   * @return the most entropy, in bits, that can be debited before the debits are applied; 0 if
+   *     every debit is applied immediately
+   */
+  public long getMaxDeferredEntropyBits() {
+    return maxDeferredEntropyBits;
+  }
+
   /**
    * Registers this PRNG with the {@link RandomSeeder} for the corresponding {@link
    * SeedGenerator}, to schedule reseeding when we run out of entropy. Unregisters this PRNG with
@@ -708,6 +1339,9 @@ public abstract class BaseRandom extends Random
    *     to reseed this PRNG, or null to stop using one.
    */
   public void setRandomSeeder(@Nullable final RandomSeeder randomSeeder) {
+    if (randomSeeder != null) {
+      makeShared();
+    }
     RandomSeeder old = this.randomSeeder.getAndSet(randomSeeder);
     if (old != randomSeeder) {
       if (old != null) {
@@ -760,6 +1394,7 @@ public abstract class BaseRandom extends Random
    */
   protected void creditEntropyForNewSeed(final int seedLength) {
     final long effectiveBits = Math.min(seedLength, getNewSeedLength()) * 8L;
+    applyDeferredEntropyDebits();
     entropyBits.updateAndGet(oldCount -> Math.max(oldCount, effectiveBits));
   }
 
@@ -800,7 +1435,56 @@ public abstract class BaseRandom extends Random
   }
 
   @Override public long getEntropyBits() {
-    return entropyBits.get();
+    final AtomicLongArray deferred = deferredEntropyDebits;
+    long entropy = entropyBits.get();
+    if (deferred != null) {
+      for (int i = 0; i < deferred.length(); i += DEFERRED_DEBIT_STRIDE) {
+        entropy -= deferred.get(i);
+      }
+    }
+    return entropy;
+  }
+
+  /**
+   * Sets {@link #entropyBits}, discarding any debits deferred by
+   * {@link #deferEntropyDebits(long)}. For use when the entropy count is being replaced rather than
+   * credited, so that debits of output taken before then don't count against the new value.
+   *
+   * @param bits the new entropy count
+   */
+  protected void resetEntropyBits(final long bits) {
+    final AtomicLongArray deferred = deferredEntropyDebits;
+    if (deferred != null) {
+      for (int i = 0; i < deferred.length(); i += DEFERRED_DEBIT_STRIDE) {
+        deferred.set(i, 0);
+      }
+    }
+    entropyBits.set(bits);
+  }
+
+  /**
+   * Subtracts any debits deferred by {@link #deferEntropyDebits(long)} from {@link #entropyBits}.
+   * Only one thread does this at a time; others wait for it, then apply any debits made since.
+   *
+   * @return the remaining entropy afterward
+   */
+  private long applyDeferredEntropyDebits() {
+    final AtomicLongArray deferred = deferredEntropyDebits;
+    if (deferred == null) {
+      return entropyBits.get();
+    }
+    while (!applyingDeferredEntropyDebits.compareAndSet(false, true)) {
+      Thread.yield();
+    }
+    try {
+      long pending = 0;
+      for (int i = 0; i < deferred.length(); i += DEFERRED_DEBIT_STRIDE) {
+        pending += deferred.getAndSet(i, 0);
+      }
+      return entropyBits.addAndGet(-pending);
+    } finally {
+      applyingDeferredEntropyDebits.set(false);
+    }
   }
 
   /**
@@ -810,7 +1494,25 @@ public abstract class BaseRandom extends Random
    * @param bits The number of bits of entropy spent.
    */
   protected void debitEntropy(final long bits) {
-    if (entropyBits.addAndGet(-bits) <= 0) {
+    final long remaining;
+    final AtomicLongArray deferred;
+    if (!isShared()) {
+      remaining = entropyBits.get() - bits;
+      entropyBits.lazySet(remaining);
+    } else if ((deferred = deferredEntropyDebits) != null) {
+      // Thread IDs are sequential, so this spreads threads evenly across the stripes
+      final int stripe = (int) Thread.currentThread().getId() & (DEFERRED_DEBIT_STRIPES - 1);
+      final long stripeTotal = deferred.addAndGet(stripe * DEFERRED_DEBIT_STRIDE, bits);
+      // Independent of entropyBits, which is small or depleted for most PRNGs; otherwise nearly
+      // every debit would be applied anyway, with more contention than an addAndGet
+      if (stripeTotal < maxDeferredEntropyBits / DEFERRED_DEBIT_STRIPES) {
+        return;
+      }
+      remaining = applyDeferredEntropyDebits();
+    } else {
+      remaining = entropyBits.addAndGet(-bits);
+    }
+    if (remaining <= 0) {
       asyncReseedIfPossible();
     }
   }
@@ -818,7 +1520,7 @@ public abstract class BaseRandom extends Random
   private void asyncReseedIfPossible() {
     final RandomSeeder currentSeeder = getRandomSeeder();
     if (currentSeeder != null) {
-      currentSeeder.wakeUp();
+      currentSeeder.requestReseed(this);
     }
   }
 
@@ -860,4 +1562,51 @@ public abstract class BaseRandom extends Random
   protected boolean supportsMultipleSeedLengths() {
     return false;
   }
+
+  /**
+   * The {@link ReentrantLock} used as {@link #lock}, which doesn't lock or exclude other threads
+   * while this PRNG is in single-owner mode.
+   */
+  private static final class SingleOwnerCapableLock extends ReentrantLock {
+
+    private static final long serialVersionUID = -2139522715622658316L;
+
+    /**
+     * True in single-owner mode. Transient, so that a deserialized copy, which other threads may
+     * be able to reach, always locks.
+     */
+    private transient volatile boolean singleOwner;
+
+    @Override public void lock() {
+      if (!singleOwner) {
+        super.lock();
+      }
+    }
+
+    @Override public void lockInterruptibly() throws InterruptedException {
+      if (!singleOwner) {
+        super.lockInterruptibly();
+      }
+    }
+
+    @Override public boolean tryLock() {
+      return singleOwner || super.tryLock();
+    }
+
+    @Override public boolean tryLock(final long timeout, final TimeUnit unit)
+        throws InterruptedException {
+      return singleOwner || super.tryLock(timeout, unit);
+    }
+
+    @Override public void unlock() {
+      if (!singleOwner) {
+        super.unlock();
+      }
+    }
+
+    @Override public boolean isHeldByCurrentThread() {
+      return singleOwner || super.isHeldByCurrentThread();
+    }
+  }
+
 }
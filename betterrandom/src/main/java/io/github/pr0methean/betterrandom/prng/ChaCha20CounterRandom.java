@@ -0,0 +1,342 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import com.google.common.base.MoreObjects;
+import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.function.LongFunction;
+
+/**
+ * <p>CipherCounterRandom using the ChaCha stream cipher's block function, implemented in pure Java
+ * so that its speed doesn't depend on the JCE provider and its key length doesn't depend on the
+ * jurisdiction policy files. Each value of the 128-bit counter yields a 64-byte block; the low 64
+ * bits of the counter are ChaCha's block counter, and the high 64 bits are its nonce. With a 16-byte
+ * key, the "expand 16-byte k" constants are used, as in the original ChaCha specification.</p>
+ *
+ * <p>Defaults to 20 rounds (ChaCha20), but 8 or 12 rounds can be chosen for speed at the cost of
+ * security margin.</p>
+ *
+ * <p><em>NOTE: Because instances of this class require 128-bit seeds, it is not possible to seed
+ * this RNG using the {@link #setSeed(long)} method inherited from {@link Random} until the seed
+ * array has been set.</em></p>
+ *
+ * @author Chris Hennick
+ */
+public class ChaCha20CounterRandom extends CipherCounterRandom {
+
+  /**
+   * The number of rounds used when none is specified.
+   */
+  public static final int DEFAULT_ROUNDS = 20;
+  /**
+   * The size of the counter, which is also the length of the seed beyond the key.
+   */
+  public static final int COUNTER_SIZE_BYTES = 16;
+  /**
+   * Maximum total length of the seed, including both key and initial counter value.
+   */
+  public static final int MAX_SEED_LENGTH_BYTES = 48;
+  private static final long serialVersionUID = -5387016573380469436L;
+  private static final int DEFAULT_SEED_SIZE_BYTES = 32;
+  private static final int MAX_KEY_LENGTH_BYTES = 32;
+  private static final int MIN_KEY_LENGTH_BYTES = 16;
+  private static final String HASH_ALGORITHM = "SHA-384";
+  private static final int STATE_WORDS = 16;
+  /**
+   * The number of bytes of output from each counter value.
+   */
+  private static final int BLOCK_SIZE_BYTES = STATE_WORDS * Integer.BYTES;
+  /**
+   * Number of blocks to generate per call to {@link #nextBlock()}.
+   */
+  private static final int BLOCKS_AT_ONCE = 16;
+  private static final int BYTES_AT_ONCE = BLOCK_SIZE_BYTES * BLOCKS_AT_ONCE;
+  // "expand 32-byte k" and "expand 16-byte k" as little-endian words
+  private static final int[] SIGMA = {0x61707865, 0x3320646e, 0x79622d32, 0x6b206574};
+  private static final int[] TAU = {0x61707865, 0x3120646e, 0x79622d36, 0x6b206574};
+
+  private final int rounds;
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  /**
+   * The input to the block function; words 12 through 15 are overwritten from the counter for each
+   * block.
+   */
+  private transient int[] state;
+
+  /**
+   * Creates a new RNG and seeds it using 256 bits from the {@link DefaultSeedGenerator}.
+   *
+   * @throws SeedException if the {@link DefaultSeedGenerator} fails to generate a seed.
+   */
+  public ChaCha20CounterRandom() throws SeedException {
+    this(DEFAULT_SEED_SIZE_BYTES);
+  }
+
+  /**
+   * Seed the RNG using the provided seed generation strategy to create a 256-bit seed.
+   *
+   * @param seedGenerator The seed generation strategy that will provide the seed value for this
+   *     RNG.
+   * @throws SeedException if there is a problem generating a seed.
+   */
+  public ChaCha20CounterRandom(final SeedGenerator seedGenerator) throws SeedException {
+    this(seedGenerator.generateSeed(DEFAULT_SEED_SIZE_BYTES));
+  }
+
+  /**
+   * Seed the RNG using the {@link DefaultSeedGenerator} to create a seed of the specified size.
+   *
+   * @param seedSizeBytes The number of bytes to use for seed data. Valid values range from 16
+   *     to {@link #MAX_SEED_LENGTH_BYTES}.
+   * @throws SeedException if the {@link DefaultSeedGenerator} fails to generate a seed.
+   */
+  public ChaCha20CounterRandom(final int seedSizeBytes) throws SeedException {
+    this(DefaultSeedGenerator.DEFAULT_SEED_GENERATOR.generateSeed(seedSizeBytes));
+  }
+
+  /**
+   * Creates an RNG and seeds it with the specified seed data.
+   *
+   * @param seed The seed data used to initialize the RNG. Length must be at least 16 and no
+   *     more than {@link #MAX_SEED_LENGTH_BYTES}.
+   */
+  public ChaCha20CounterRandom(final byte[] seed) {
+    this(seed, DEFAULT_ROUNDS);
+  }
+
+  /**
+   * Creates an RNG and seeds it with the specified seed data, using the specified number of rounds.
+   *
+   * @param seed The seed data used to initialize the RNG. Length must be at least 16 and no
+   *     more than {@link #MAX_SEED_LENGTH_BYTES}.
+   * @param rounds the number of rounds of the block function: 8, 12 or 20
+   */
+  public ChaCha20CounterRandom(final byte[] seed, final int rounds) {
+    super(seed);
+    if ((rounds != 8) && (rounds != 12) && (rounds != 20)) {
+      throw new IllegalArgumentException("rounds must be 8, 12 or 20 but is " + rounds);
+    }
+    this.rounds = rounds;
+  }
+
+  /**
+   * Returns the number of rounds of the block function.
+   *
+   * @return 8, 12 or 20
+   */
+  public int getRounds() {
+    return rounds;
+  }
+
+  /**
+   * Returns substreams that are {@link #SUBSTREAM_STRIDE}-step intervals of the sequence from a
+   * new seed, with the same number of rounds, since {@link #advance(long)} only adds to the
+   * counter.
+   */
+  @Override public LongFunction<BaseRandom> createSubstreams() {
+    return seekingSubstreams(seed -> new ChaCha20CounterRandom(seed, rounds));
+  }
+
+  @Override public int getBlocksAtOnce() {
+    return BLOCKS_AT_ONCE;
+  }
+
+  /**
+   * Returns the number of bytes generated at once, which is 64 bytes per block rather than
+   * {@link #getCounterSizeBytes()}.
+   *
+   * @return the number of random bytes that are precalculated at once
+   */
+  @Override public int getBytesAtOnce() {
+    return BYTES_AT_ONCE;
+  }
+
+  @Override public int getCounterSizeBytes() {
+    return COUNTER_SIZE_BYTES;
+  }
+
+  @Override public int getMaxKeyLengthBytes() {
+    return MAX_KEY_LENGTH_BYTES;
+  }
+
+  @Override public int getMaxTotalSeedLengthBytes() {
+    return MAX_SEED_LENGTH_BYTES;
+  }
+
+  @Override protected int getMinSeedLength() {
+    return MIN_KEY_LENGTH_BYTES;
+  }
+
+  @Override protected int getKeyLength(final int inputLength) {
+    return (inputLength >= MAX_KEY_LENGTH_BYTES) ? MAX_KEY_LENGTH_BYTES : MIN_KEY_LENGTH_BYTES;
+  }
+
+  @Override protected MessageDigest createHash() {
+    try {
+      return MessageDigest.getInstance(HASH_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new InternalError("Required hash algorithm missing");
+    }
+  }
+
+  @Override protected void createCipher() {
+    state = new int[STATE_WORDS];
+  }
+
+  @Override protected void setKey(final byte[] key) {
+    final int[] constants = (key.length == MAX_KEY_LENGTH_BYTES) ? SIGMA : TAU;
+    System.arraycopy(constants, 0, state, 0, constants.length);
+    final int secondHalf = key.length - MIN_KEY_LENGTH_BYTES;
+    for (int i = 0; i < 4; i++) {
+      state[4 + i] = littleEndianToInt(key, i * Integer.BYTES);
+      state[8 + i] = littleEndianToInt(key, secondHalf + (i * Integer.BYTES));
+    }
+  }
+
+  /**
+   * Positions the counter arithmetically, so this takes constant time; only the batch of blocks
+   * that contains the new position is generated.
+   */
+  @Override public void advance(final long delta) {
+    if (delta == 0) {
+      return;
+    }
+    final long intsPerBlock = BLOCK_SIZE_BYTES / Integer.BYTES;
+    lock.lock();
+    try {
+      // Position in ints relative to the first block of currentBlock, split so it can't overflow
+      final long intsFromBatchStart = (index / Integer.BYTES) + Math.floorMod(delta, intsPerBlock);
+      final long blocksDelta = Math.floorDiv(delta, intsPerBlock)
+          + Math.floorDiv(intsFromBatchStart, intsPerBlock);
+      // The counter is at the last block of the batch, and nextBlock() increments it before the
+      // first one
+      Byte16ArrayArithmetic.addInto(counter, blocksDelta);
+      Byte16ArrayArithmetic.addInto(counter, -BLOCKS_AT_ONCE);
+      nextBlock();
+      index = (int) Math.floorMod(intsFromBatchStart, intsPerBlock) * Integer.BYTES;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Runs the block function once for each counter value in {@code input}, whose low 64 bits become
+   * the block counter and whose high 64 bits become the nonce.
+   */
+  @Override protected void doCipher(final byte[] input, final byte[] output) {
+    final int[] words = state;
+    for (int block = 0; block < BLOCKS_AT_ONCE; block++) {
+      final int counterOffset = block * COUNTER_SIZE_BYTES;
+      final long high = BinaryUtils.convertBytesToLong(input, counterOffset);
+      final long low = BinaryUtils.convertBytesToLong(input, counterOffset + Long.BYTES);
+      words[12] = (int) low;
+      words[13] = (int) (low >>> 32);
+      words[14] = (int) high;
+      words[15] = (int) (high >>> 32);
+      chachaBlock(words, rounds, output, block * BLOCK_SIZE_BYTES);
+    }
+  }
+
+  @Override
+  protected MoreObjects.ToStringHelper addSubclassFields(final MoreObjects.ToStringHelper original) {
+    return super.addSubclassFields(original).add("rounds", rounds);
+  }
+
+  /**
+   * The ChaCha block function. Keeps the working state in locals, so that it needs no allocation
+   * and the JIT can keep it in registers.
+   *
+   * @param in the 16-word input state
+   * @param rounds the number of rounds; must be even
+   * @param out the array to write the 64-byte output block to
+   * @param offset the offset in {@code out} to write it at
+   */
+  private static void chachaBlock(final int[] in, final int rounds, final byte[] out,
+      final int offset) {
+    int x0 = in[0];
+    int x1 = in[1];
+    int x2 = in[2];
+    int x3 = in[3];
+    int x4 = in[4];
+    int x5 = in[5];
+    int x6 = in[6];
+    int x7 = in[7];
+    int x8 = in[8];
+    int x9 = in[9];
+    int x10 = in[10];
+    int x11 = in[11];
+    int x12 = in[12];
+    int x13 = in[13];
+    int x14 = in[14];
+    int x15 = in[15];
+    for (int i = rounds; i > 0; i -= 2) {
+      // Column round
+      x0 += x4; x12 = Integer.rotateLeft(x12 ^ x0, 16);
+      x8 += x12; x4 = Integer.rotateLeft(x4 ^ x8, 12);
+      x0 += x4; x12 = Integer.rotateLeft(x12 ^ x0, 8);
+      x8 += x12; x4 = Integer.rotateLeft(x4 ^ x8, 7);
+      x1 += x5; x13 = Integer.rotateLeft(x13 ^ x1, 16);
+      x9 += x13; x5 = Integer.rotateLeft(x5 ^ x9, 12);
+      x1 += x5; x13 = Integer.rotateLeft(x13 ^ x1, 8);
+      x9 += x13; x5 = Integer.rotateLeft(x5 ^ x9, 7);
+      x2 += x6; x14 = Integer.rotateLeft(x14 ^ x2, 16);
+      x10 += x14; x6 = Integer.rotateLeft(x6 ^ x10, 12);
+      x2 += x6; x14 = Integer.rotateLeft(x14 ^ x2, 8);
+      x10 += x14; x6 = Integer.rotateLeft(x6 ^ x10, 7);
+      x3 += x7; x15 = Integer.rotateLeft(x15 ^ x3, 16);
+      x11 += x15; x7 = Integer.rotateLeft(x7 ^ x11, 12);
+      x3 += x7; x15 = Integer.rotateLeft(x15 ^ x3, 8);
+      x11 += x15; x7 = Integer.rotateLeft(x7 ^ x11, 7);
+      // Diagonal round
+      x0 += x5; x15 = Integer.rotateLeft(x15 ^ x0, 16);
+      x10 += x15; x5 = Integer.rotateLeft(x5 ^ x10, 12);
+      x0 += x5; x15 = Integer.rotateLeft(x15 ^ x0, 8);
+      x10 += x15; x5 = Integer.rotateLeft(x5 ^ x10, 7);
+      x1 += x6; x12 = Integer.rotateLeft(x12 ^ x1, 16);
+      x11 += x12; x6 = Integer.rotateLeft(x6 ^ x11, 12);
+      x1 += x6; x12 = Integer.rotateLeft(x12 ^ x1, 8);
+      x11 += x12; x6 = Integer.rotateLeft(x6 ^ x11, 7);
+      x2 += x7; x13 = Integer.rotateLeft(x13 ^ x2, 16);
+      x8 += x13; x7 = Integer.rotateLeft(x7 ^ x8, 12);
+      x2 += x7; x13 = Integer.rotateLeft(x13 ^ x2, 8);
+      x8 += x13; x7 = Integer.rotateLeft(x7 ^ x8, 7);
+      x3 += x4; x14 = Integer.rotateLeft(x14 ^ x3, 16);
+      x9 += x14; x4 = Integer.rotateLeft(x4 ^ x9, 12);
+      x3 += x4; x14 = Integer.rotateLeft(x14 ^ x3, 8);
+      x9 += x14; x4 = Integer.rotateLeft(x4 ^ x9, 7);
+    }
+    intToLittleEndian(x0 + in[0], out, offset);
+    intToLittleEndian(x1 + in[1], out, offset + 4);
+    intToLittleEndian(x2 + in[2], out, offset + 8);
+    intToLittleEndian(x3 + in[3], out, offset + 12);
+    intToLittleEndian(x4 + in[4], out, offset + 16);
+    intToLittleEndian(x5 + in[5], out, offset + 20);
+    intToLittleEndian(x6 + in[6], out, offset + 24);
+    intToLittleEndian(x7 + in[7], out, offset + 28);
+    intToLittleEndian(x8 + in[8], out, offset + 32);
+    intToLittleEndian(x9 + in[9], out, offset + 36);
+    intToLittleEndian(x10 + in[10], out, offset + 40);
+    intToLittleEndian(x11 + in[11], out, offset + 44);
+    intToLittleEndian(x12 + in[12], out, offset + 48);
+    intToLittleEndian(x13 + in[13], out, offset + 52);
+    intToLittleEndian(x14 + in[14], out, offset + 56);
+    intToLittleEndian(x15 + in[15], out, offset + 60);
+  }
+
+  private static int littleEndianToInt(final byte[] bytes, final int offset) {
+    return (bytes[offset] & 0xFF) | ((bytes[offset + 1] & 0xFF) << 8)
+        | ((bytes[offset + 2] & 0xFF) << 16) | (bytes[offset + 3] << 24);
+  }
+
+  private static void intToLittleEndian(final int input, final byte[] output, final int offset) {
+    output[offset] = (byte) input;
+    output[offset + 1] = (byte) (input >>> 8);
+    output[offset + 2] = (byte) (input >>> 16);
+    output[offset + 3] = (byte) (input >>> 24);
+  }
+}
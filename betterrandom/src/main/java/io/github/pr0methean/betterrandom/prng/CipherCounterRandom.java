@@ -53,6 +53,7 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
   protected CipherCounterRandom(byte[] seed) {
     super(seed);
     currentBlock = new byte[getBytesAtOnce()];
+    index = currentBlock.length; // force generation of first block on demand
   }
 
   /**
@@ -96,7 +97,8 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
         newIndex += counterSizeBytes;
         blocksDelta--;
       }
-      blocksDelta -= getBlocksAtOnce(); // Compensate for the increment during nextBlock() below
+      // Compensate for the increment during nextBlock() below
+      blocksDelta -= currentBlock.length / counterSizeBytes;
       Byte16ArrayArithmetic.addInto(counter, blocksDelta);
       nextBlock();
       index = newIndex;
@@ -150,7 +152,8 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
       counter = new byte[getCounterSizeBytes()];
     }
     if (counterInput == null) {
-      counterInput = new byte[getBytesAtOnce()];
+      // One counter value per block, even if a block of output is longer than the counter
+      counterInput = new byte[getCounterSizeBytes() * getBlocksAtOnce()];
     }
     createCipher();
     hash = createHash();
@@ -180,16 +183,21 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
   protected abstract void createCipher();
 
   /**
-   * Generates BLOCKS_AT_ONCE 128-bit (16-byte) blocks. Copies them to currentBlock.
+   * Generates {@link #getBlocksAtOnce()} blocks, each the encryption of the next counter value.
+   * Copies them to currentBlock.
    *
    * @throws IllegalStateException If there is a problem with the cipher that generates the
    *     random data.
    */
   protected void nextBlock() {
-    int blocks = getBlocksAtOnce();
-    for (int i = 0; i < blocks; i++) {
-      Byte16ArrayArithmetic.addInto(counter, Byte16ArrayArithmetic.ONE);
-      System.arraycopy(counter, 0, counterInput, i * getCounterSizeBytes(), getCounterSizeBytes());
+    if (getCounterSizeBytes() == DEFAULT_COUNTER_SIZE_BYTES) {
+      fillCounterInput();
+    } else {
+      final int counterSizeBytes = getCounterSizeBytes();
+      for (int offset = 0; offset < counterInput.length; offset += counterSizeBytes) {
+        Byte16ArrayArithmetic.addInto(counter, Byte16ArrayArithmetic.ONE);
+        System.arraycopy(counter, 0, counterInput, offset, counterSizeBytes);
+      }
     }
     try {
       doCipher(counterInput, currentBlock);
@@ -200,10 +208,31 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
     }
   }
 
+  /**
+   * Writes the next {@link #getBlocksAtOnce()} values of a 16-byte counter to
+   * {@code counterInput}, treating the counter as two longs so that a carry is the only branch.
+   */
+  private void fillCounterInput() {
+    final byte[] input = counterInput;
+    long high = BinaryUtils.convertBytesToLong(counter, 0);
+    long low = BinaryUtils.convertBytesToLong(counter, Long.BYTES);
+    for (int offset = 0; offset < input.length; offset += DEFAULT_COUNTER_SIZE_BYTES) {
+      low++;
+      if (low == 0) {
+        high++;
+      }
+      BinaryUtils.convertLongToBytes(high, input, offset);
+      BinaryUtils.convertLongToBytes(low, input, offset + Long.BYTES);
+    }
+    BinaryUtils.convertLongToBytes(high, counter, 0);
+    BinaryUtils.convertLongToBytes(low, counter, Long.BYTES);
+  }
+
   /**
    * Executes the cipher.
    *
-   * @param input an array of input whose length is equal to {@link #getBytesAtOnce()}
+   * @param input the next {@link #getBlocksAtOnce()} counter values, each {@link
+   *     #getCounterSizeBytes()} bytes long
    * @param output an array of output whose length is equal to {@link #getBytesAtOnce()}
    * @throws GeneralSecurityException if an internal error occurs in the cipher
    */
@@ -214,7 +243,7 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
     int result;
     try {
       int curIndex = index;
-      if ((getBytesAtOnce() - curIndex) < 4) {
+      if ((currentBlock.length - curIndex) < 4) {
         nextBlock();
         curIndex = 0;
       }
@@ -227,6 +256,111 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
     return result >>> (32 - bits);
   }
 
+  /**
+   * Copies straight out of {@link #currentBlock}. Afterward, skips ahead to the next whole int, so
+   * that {@link #next(int)} and {@link #advance(long)} stay aligned.
+   */
+  @Override protected void nextBytesNoEntropyDebit(final byte[] bytes) {
+    final int length = bytes.length;
+    final int bytesAtOnce = currentBlock.length;
+    lock.lock();
+    try {
+      int curIndex = index;
+      int offset = 0;
+      while (offset < length) {
+        if (curIndex >= bytesAtOnce) {
+          nextBlock();
+          curIndex = 0;
+        }
+        final int toCopy = Math.min(length - offset, bytesAtOnce - curIndex);
+        System.arraycopy(currentBlock, curIndex, bytes, offset, toCopy);
+        offset += toCopy;
+        curIndex += toCopy;
+      }
+      index = (curIndex + (Integer.BYTES - 1)) & -Integer.BYTES;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reads ints straight out of {@link #currentBlock}, and only writes back {@link #index} once.
+   */
+  @Override protected void nextIntsNoEntropyDebit(final int[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    final int bytesAtOnce = currentBlock.length;
+    lock.lock();
+    try {
+      int curIndex = index;
+      for (int i = offset; i < end; i++) {
+        if ((bytesAtOnce - curIndex) < Integer.BYTES) {
+          nextBlock();
+          curIndex = 0;
+        }
+        dest[i] = BinaryUtils.convertBytesToInt(currentBlock, curIndex);
+        curIndex += Integer.BYTES;
+      }
+      index = curIndex;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected void nextLongsNoEntropyDebit(final long[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    final int bytesAtOnce = currentBlock.length;
+    lock.lock();
+    try {
+      int curIndex = index;
+      for (int i = offset; i < end; i++) {
+        if ((bytesAtOnce - curIndex) < Integer.BYTES) {
+          nextBlock();
+          curIndex = 0;
+        }
+        final int high = BinaryUtils.convertBytesToInt(currentBlock, curIndex);
+        curIndex += Integer.BYTES;
+        if ((bytesAtOnce - curIndex) < Integer.BYTES) {
+          nextBlock();
+          curIndex = 0;
+        }
+        dest[i] = ((long) high << 32) + BinaryUtils.convertBytesToInt(currentBlock, curIndex);
+        curIndex += Integer.BYTES;
+      }
+      index = curIndex;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected void nextDoublesNoEntropyDebit(final double[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    final int bytesAtOnce = currentBlock.length;
+    lock.lock();
+    try {
+      int curIndex = index;
+      for (int i = offset; i < end; i++) {
+        if ((bytesAtOnce - curIndex) < Integer.BYTES) {
+          nextBlock();
+          curIndex = 0;
+        }
+        final int high = BinaryUtils.convertBytesToInt(currentBlock, curIndex);
+        curIndex += Integer.BYTES;
+        if ((bytesAtOnce - curIndex) < Integer.BYTES) {
+          nextBlock();
+          curIndex = 0;
+        }
+        dest[i] = intsToDouble(high, BinaryUtils.convertBytesToInt(currentBlock, curIndex));
+        curIndex += Integer.BYTES;
+      }
+      index = curIndex;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   /**
    * {@inheritDoc} If the seed is not of the maximum length, it is combined with the existing seed
    * using the hash algorithm.
@@ -305,7 +439,10 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
     } catch (final InvalidKeyException e) {
       throw new InternalError("Invalid key: " + Arrays.toString(key), e);
     }
-    index = getBytesAtOnce();
+    // currentBlock is still null when called from the constructor, which then sets index itself
+    if (currentBlock != null) {
+      index = currentBlock.length;
+    }
     seeded = true;
   }
 
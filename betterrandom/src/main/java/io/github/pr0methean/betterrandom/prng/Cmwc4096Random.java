@@ -21,8 +21,11 @@ import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
 import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.function.LongFunction;
 
 /**
  * <p>A Java version of George Marsaglia's
@@ -37,6 +40,9 @@ import java.util.Random;
  * <p><em>NOTE: Because instances of this class require 16-kilobyte seeds, it is not possible to
  * seed this RNG using the {@link #setSeed(long)} method inherited from {@link Random}.  Calls to
  * this method will have no effect. Instead the seed must be set by a constructor.</em></p>
+ * <p>Like {@link MersenneTwisterRandom}, this class regenerates its whole state at once, and
+ * returns the new state words one at a time until they run out, so that the hot loop has no
+ * branches or lock operations.</p>
  *
  * @author Daniel Dyer
  * @since 1.2
@@ -44,13 +50,20 @@ import java.util.Random;
 public class Cmwc4096Random extends BaseRandom {
 
   private static final int SEED_SIZE_BYTES = 16384; // Needs 4,096 32-bit integers.
+  private static final int STATE_SIZE_INTS = SEED_SIZE_BYTES / Integer.BYTES;
 
   private static final long A = 18782L;
   private static final long serialVersionUID = 1731465909906078875L;
 
   private int[] state;
   private int carry;
-  private int index;
+  private int index; // Index of the next state word to output
+  /**
+   * Always true except after deserializing an instance from before output was generated a block at
+   * a time, when {@link #index} was the index of the last state word output and the words after it
+   * hadn't been regenerated yet.
+   */
+  private boolean indexIsNextWord = true;
 
   /**
    * Creates a new RNG and seeds it using the default seeding strategy.
@@ -98,27 +111,146 @@ public class Cmwc4096Random extends BaseRandom {
     super.setSeedInternal(seed);
     state = BinaryUtils.convertBytesToInts(seed);
     carry = 362436; // TODO: This should be randomly generated.
-    index = 4095;
+    index = STATE_SIZE_INTS;
   }
 
-  @SuppressWarnings("NumericCastThatLosesPrecision") @Override protected int next(final int bits) {
+  @Override protected int next(final int bits) {
+    final int out;
     lock.lock();
     try {
-      index = (index + 1) & 4095;
-      final long t = (A * (state[index] & 0xFFFFFFFFL)) + carry;
-      carry = (int) (t >> 32);
-      int x = ((int) t) + carry;
-      if (x < carry) {
+      int curIndex = index;
+      if (curIndex >= STATE_SIZE_INTS) {
+        generateBlock();
+        curIndex = 0;
+      }
+      out = state[curIndex];
+      index = curIndex + 1;
+    } finally {
+      lock.unlock();
+    }
+    return out >>> (32 - bits);
+  }
+
+  /**
+   * Replaces every state word with its successor, in the same order that the original
+   * one-word-per-call implementation did. Caller must hold {@link #lock}.
+   */
+  private void generateBlock() {
+    generateWords(0);
+  }
+
+  /**
+   * Replaces each state word from {@code start} to the end of the state with its successor.
+   *
+   * @param start the index of the first word to replace
+   */
+  @SuppressWarnings("NumericCastThatLosesPrecision") private void generateWords(final int start) {
+    int curCarry = carry;
+    for (int i = start; i < STATE_SIZE_INTS; i++) {
+      final long t = (A * (state[i] & 0xFFFFFFFFL)) + curCarry;
+      curCarry = (int) (t >> 32);
+      int x = ((int) t) + curCarry;
+      if (x < curCarry) {
         x++;
-        carry++;
+        curCarry++;
+      }
+      state[i] = 0xFFFFFFFE - x;
+    }
+    carry = curCarry;
+  }
+
+  @Override protected void nextIntsNoEntropyDebit(final int[] dest, final int offset,
+      final int length) {
+    int i = offset;
+    final int end = offset + length;
+    lock.lock();
+    try {
+      int curIndex = index;
+      while (i < end) {
+        if (curIndex >= STATE_SIZE_INTS) {
+          generateBlock();
+          curIndex = 0;
+        }
+        final int runLength = Math.min(end - i, STATE_SIZE_INTS - curIndex);
+        System.arraycopy(state, curIndex, dest, i, runLength);
+        i += runLength;
+        curIndex += runLength;
+      }
+      index = curIndex;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected void nextLongsNoEntropyDebit(final long[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    lock.lock();
+    try {
+      int curIndex = index;
+      for (int i = offset; i < end; i++) {
+        if (curIndex >= STATE_SIZE_INTS) {
+          generateBlock();
+          curIndex = 0;
+        }
+        final int high = state[curIndex];
+        curIndex++;
+        if (curIndex >= STATE_SIZE_INTS) {
+          generateBlock();
+          curIndex = 0;
+        }
+        dest[i] = ((long) high << 32) + state[curIndex];
+        curIndex++;
+      }
+      index = curIndex;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected void nextDoublesNoEntropyDebit(final double[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    lock.lock();
+    try {
+      int curIndex = index;
+      for (int i = offset; i < end; i++) {
+        if (curIndex >= STATE_SIZE_INTS) {
+          generateBlock();
+          curIndex = 0;
+        }
+        final int high = state[curIndex];
+        curIndex++;
+        if (curIndex >= STATE_SIZE_INTS) {
+          generateBlock();
+          curIndex = 0;
+        }
+        dest[i] = intsToDouble(high, state[curIndex]);
+        curIndex++;
       }
-      state[index] = 0xFFFFFFFE - x;
-      return state[index] >>> (32 - bits);
+      index = curIndex;
     } finally {
       lock.unlock();
     }
   }
 
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    if (!indexIsNextWord) {
+      // Finish the block that the one-word-at-a-time format was partway through
+      generateWords(index + 1);
+      index++;
+      indexIsNextWord = true;
+    }
+  }
+
+  /**
+   * Returns substreams that are seeded independently, since this PRNG can't jump ahead.
+   */
+  @Override public LongFunction<BaseRandom> createSubstreams() {
+    return seededSubstreams(Cmwc4096Random::new);
+  }
+
   /**
    * Returns the only supported seed length.
    */
@@ -16,12 +16,19 @@
 package io.github.pr0methean.betterrandom.prng;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
+import io.github.pr0methean.betterrandom.SeekableRandom;
 import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.BinaryPolynomialArithmetic;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.function.LongFunction;
 
 /**
  * <p>Random number generator based on the
@@ -40,12 +47,15 @@ import java.util.Random;
  * seeds, it is not possible to seed this RNG using the {@link #setSeed(long)} method inherited
  * from
  * {@link Random}.  Calls to this method will have no effect. Instead the seed must be set by a
- * constructor.</em></p>
+ * constructor.</em></p> <p>{@link #advance(long)}, {@link #jump()} and {@link #longJump()} use the
+ * polynomial jump-ahead method of Haramoto et al., "Efficient Jump Ahead for F2-Linear Random
+ * Number Generators" (2008), so that workers can be given disjoint substreams without discarding
+ * output.</p>
  *
  * @author Makoto Matsumoto and Takuji Nishimura (original C version)
  * @author Daniel Dyer (Java port)
  */
-public class MersenneTwisterRandom extends BaseRandom {
+public class MersenneTwisterRandom extends BaseRandom implements SeekableRandom {
 
   private static final long serialVersionUID = -4856906677508460512L;
 
@@ -65,6 +75,12 @@ public class MersenneTwisterRandom extends BaseRandom {
   private static final int GENERATE_MASK1 = 0x9d2c5680;
   private static final int GENERATE_MASK2 = 0xefc60000;
 
+  /**
+   * Forward advances up to this size are done by generating and discarding blocks, since that's
+   * faster than computing a jump polynomial.
+   */
+  private static final long MAX_STEPPED_ADVANCE = 1L << 24;
+
   private int[] mt; // State vector.
   private volatile int mtIndex = N; // Index into state vector.
 
@@ -161,40 +177,226 @@ public class MersenneTwisterRandom extends BaseRandom {
   }
 
   @Override protected final int next(final int bits) {
-    int y;
+    final int y;
     lock.lock();
     try {
-      final int curMtIndex;
-      final int oldMtIndex = mtIndex;
-      if (oldMtIndex >= N) // Generate N ints at a time.
-      {
-        int kk;
-        for (kk = 0; kk < (N - M); kk++) {
-          y = (mt[kk] & UPPER_MASK) | (mt[kk + 1] & LOWER_MASK);
-          mt[kk] = mt[kk + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
-        }
-        for (; kk < (N - 1); kk++) {
-          y = (mt[kk] & UPPER_MASK) | (mt[kk + 1] & LOWER_MASK);
-          mt[kk] = mt[kk + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
-        }
-        y = (mt[N - 1] & UPPER_MASK) | (mt[0] & LOWER_MASK);
-        mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
-
+      int curMtIndex = mtIndex;
+      if (curMtIndex >= N) {
+        generateBlock();
         curMtIndex = 0;
-      } else {
-        curMtIndex = oldMtIndex;
       }
       y = mt[curMtIndex];
       mtIndex = curMtIndex + 1;
     } finally {
       lock.unlock();
     }
-    // Tempering
+    return temper(y) >>> (32 - bits);
+  }
+
+  /**
+   * Generates N ints at a time. Caller must hold {@link #lock}.
+   */
+  private void generateBlock() {
+    int y;
+    int kk;
+    for (kk = 0; kk < (N - M); kk++) {
+      y = (mt[kk] & UPPER_MASK) | (mt[kk + 1] & LOWER_MASK);
+      mt[kk] = mt[kk + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
+    }
+    for (; kk < (N - 1); kk++) {
+      y = (mt[kk] & UPPER_MASK) | (mt[kk + 1] & LOWER_MASK);
+      mt[kk] = mt[kk + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
+    }
+    y = (mt[N - 1] & UPPER_MASK) | (mt[0] & LOWER_MASK);
+    mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
+  }
+
+  private static int temper(int y) {
     y ^= (y >>> 11);
     y ^= (y << 7) & GENERATE_MASK1;
     y ^= (y << 15) & GENERATE_MASK2;
     y ^= (y >>> 18);
-    return y >>> (32 - bits);
+    return y;
+  }
+
+  /**
+   * Tempers whole runs of the state vector at a time, and only writes back {@link #mtIndex} once.
+   */
+  @Override protected void nextIntsNoEntropyDebit(final int[] dest, final int offset,
+      final int length) {
+    int i = offset;
+    final int end = offset + length;
+    lock.lock();
+    try {
+      int curMtIndex = mtIndex;
+      while (i < end) {
+        if (curMtIndex >= N) {
+          generateBlock();
+          curMtIndex = 0;
+        }
+        final int runEnd = i + Math.min(end - i, N - curMtIndex);
+        while (i < runEnd) {
+          dest[i] = temper(mt[curMtIndex]);
+          i++;
+          curMtIndex++;
+        }
+      }
+      mtIndex = curMtIndex;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected void nextLongsNoEntropyDebit(final long[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    lock.lock();
+    try {
+      int curMtIndex = mtIndex;
+      for (int i = offset; i < end; i++) {
+        if (curMtIndex >= N) {
+          generateBlock();
+          curMtIndex = 0;
+        }
+        final int high = temper(mt[curMtIndex]);
+        curMtIndex++;
+        if (curMtIndex >= N) {
+          generateBlock();
+          curMtIndex = 0;
+        }
+        dest[i] = ((long) high << 32) + temper(mt[curMtIndex]);
+        curMtIndex++;
+      }
+      mtIndex = curMtIndex;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected void nextDoublesNoEntropyDebit(final double[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    lock.lock();
+    try {
+      int curMtIndex = mtIndex;
+      for (int i = offset; i < end; i++) {
+        if (curMtIndex >= N) {
+          generateBlock();
+          curMtIndex = 0;
+        }
+        final int high = temper(mt[curMtIndex]);
+        curMtIndex++;
+        if (curMtIndex >= N) {
+          generateBlock();
+          curMtIndex = 0;
+        }
+        dest[i] = intsToDouble(high, temper(mt[curMtIndex]));
+        curMtIndex++;
+      }
+      mtIndex = curMtIndex;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Advances by 2<sup>64</sup> outputs, using a precomputed jump polynomial. Calling this once on
+   * each of several copies of an instance, one copy per call, gives each copy a substream that won't
+   * overlap any other's until it's used 2<sup>64</sup> {@code int}s of output.
+   */
+  public void jump() {
+    lock.lock();
+    try {
+      jumpWindow(JumpPolynomials.JUMP);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Advances by 2<sup>128</sup> outputs, using a precomputed jump polynomial. Useful for giving
+   * each of several machines a stream that can then be split with {@link #jump()}.
+   */
+  public void longJump() {
+    lock.lock();
+    try {
+      jumpWindow(JumpPolynomials.LONG_JUMP);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc} Each step is one {@code int} of output. Forward steps up to 2<sup>24</sup> are
+   * done by generating and discarding state blocks; anything else takes time proportional to the
+   * bit length of {@code delta}, plus a few milliseconds.
+   */
+  @Override public void advance(final long delta) {
+    if (delta == 0) {
+      return;
+    }
+    if ((delta > 0) && (delta <= MAX_STEPPED_ADVANCE)) {
+      lock.lock();
+      try {
+        long newMtIndex = mtIndex + delta;
+        while (newMtIndex > N) {
+          generateBlock();
+          newMtIndex -= N;
+        }
+        mtIndex = (int) newMtIndex;
+      } finally {
+        lock.unlock();
+      }
+      return;
+    }
+    final long[] jumpPolynomial =
+        BinaryPolynomialArithmetic.powerOfZMod(delta, JumpPolynomials.CHARACTERISTIC);
+    BinaryPolynomialArithmetic.divideByZModInto(jumpPolynomial, JumpPolynomials.CHARACTERISTIC);
+    lock.lock();
+    try {
+      jumpWindow(jumpPolynomial);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Shifts the state vector forward by j words, where j is the exponent used to derive
+   * {@code jumpPolynomial}, leaving {@link #mtIndex} unchanged. Caller must hold {@link #lock}.
+   *
+   * <p>The state vector's transition has minimal polynomial z * P(z), where P is the degree-19937
+   * characteristic polynomial of MT19937; the extra factor of z is there because only the top bit
+   * of the oldest word affects the next one. So T<sup>j</sup> = T * h(T), where h(z) =
+   * z<sup>j - 1</sup> mod P(z), and that also holds for negative j provided that the state vector
+   * came from {@link #generateBlock()}, which is always the case once any output has been used.
+   *
+   * @param jumpPolynomial z<sup>j - 1</sup> mod P(z)
+   */
+  private void jumpWindow(final long[] jumpPolynomial) {
+    // T^i applied to the state vector is stream[i] through stream[i + N - 1]
+    final int[] stream = new int[JumpPolynomials.DEGREE + N];
+    System.arraycopy(mt, 0, stream, 0, N);
+    for (int k = 0; k < JumpPolynomials.DEGREE; k++) {
+      final int y = (stream[k] & UPPER_MASK) | (stream[k + 1] & LOWER_MASK);
+      stream[k + N] = stream[k + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
+    }
+    final int[] newMt = new int[N];
+    for (int i = 0; i < JumpPolynomials.DEGREE; i++) {
+      if (((jumpPolynomial[i / Long.SIZE] >>> (i % Long.SIZE)) & 1) != 0) {
+        for (int k = 0; k < N; k++) {
+          newMt[k] ^= stream[i + 1 + k];
+        }
+      }
+    }
+    System.arraycopy(newMt, 0, mt, 0, N);
+  }
+
+  /**
+   * Returns substreams that are seeded independently, since jumping ahead by
+   * {@link #SUBSTREAM_STRIDE} steps is much slower than seeding a new instance.
+   */
+  @Override public LongFunction<BaseRandom> createSubstreams() {
+    return seededSubstreams(MersenneTwisterRandom::new);
   }
 
   /**
@@ -203,4 +405,40 @@ public class MersenneTwisterRandom extends BaseRandom {
   @Override public int getNewSeedLength() {
     return SEED_SIZE_BYTES;
   }
+
+  /**
+   * Polynomials used for jumping, loaded on first use. The characteristic polynomial was found
+   * with the Berlekamp-Massey algorithm, and the jump polynomials by repeated squaring modulo it;
+   * all three are stored as 312 big-endian {@code long}s, least-significant word first.
+   */
+  private static final class JumpPolynomials {
+    static final long[] CHARACTERISTIC = load("mt19937.poly");
+    static final int DEGREE = BinaryPolynomialArithmetic.degree(CHARACTERISTIC);
+    static final long[] JUMP = loadDividedByZ("mt19937-jump64.poly");
+    static final long[] LONG_JUMP = loadDividedByZ("mt19937-jump128.poly");
+
+    private static long[] loadDividedByZ(final String name) {
+      final long[] polynomial = load(name);
+      BinaryPolynomialArithmetic.divideByZModInto(polynomial, CHARACTERISTIC);
+      return polynomial;
+    }
+
+    private static long[] load(final String name) {
+      // Absolute path, because Proguard moves this class to another package
+      try (InputStream in = MersenneTwisterRandom.class
+          .getResourceAsStream("/io/github/pr0methean/betterrandom/prng/" + name)) {
+        if (in == null) {
+          throw new IllegalStateException("Missing resource " + name);
+        }
+        final DataInputStream dataIn = new DataInputStream(in);
+        final long[] polynomial = new long[BinaryPolynomialArithmetic.wordsForModulus(19937)];
+        for (int i = 0; i < polynomial.length; i++) {
+          polynomial[i] = dataIn.readLong();
+        }
+        return polynomial;
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
 }
@@ -1,21 +1,22 @@
 package io.github.pr0methean.betterrandom.prng;
 
-import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.addInto;
-import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.multiplyInto;
-import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.multiplyIntoAndAddInto;
 import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.shiftedLeast;
 import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.shiftedMost;
+import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.unsignedMultiplyHigh;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
 import io.github.pr0methean.betterrandom.SeekableRandom;
+import io.github.pr0methean.betterrandom.SplittableGenerator;
 import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
-import io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic;
 import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
 
 /**
  * <p>From the original description, "PCG is a family of simple fast space-efficient statistically
@@ -27,22 +28,23 @@ import java.util.concurrent.locks.ReentrantLock;
  * Sharing a single instance across threads that are frequently using it concurrently isn't
  * recommended, unless memory is too constrained to use with a
  * {@link io.github.pr0methean.betterrandom.prng.adapter.ThreadLocalRandomWrapper}.
+ * </p><p>
+ * The state is held as two {@code long}s, so that generating output doesn't allocate; it's only
+ * copied back to the {@code byte[]} seed by {@link #getSeed()} and serialization, so the
+ * serialized form is the same as when the seed array was the state.
  * </p>
  *
  * @author M.E. O'Neill (algorithm and C++ implementation)
  * @author Chris Hennick (Java port)
  */
-public class Pcg128Random extends BaseRandom implements SeekableRandom {
+public class Pcg128Random extends BaseRandom
+    implements SeekableRandom, SplittableGenerator<Pcg128Random> {
 
   private static final int SEED_SIZE_BYTES = 2 * Long.BYTES;
-  private static final byte[] MULTIPLIER =
-      {0x00000023, 0x00000060, 0xffffffed, 0x00000005, 0x0000001f, 0xffffffc6, 0x0000005d,
-          0xffffffa4, 0x00000043, 0xffffff85, 0xffffffdf, 0x00000064, 0xffffff9f, 0xffffffcc,
-          0xfffffff6, 0x00000045};
-  private static final byte[] INCREMENT =
-      {0x00000058, 0x00000051, 0xfffffff4, 0x0000002d, 0x0000004c, 0xffffff95, 0x0000007f,
-          0x0000002d, 0x00000014, 0x00000005, 0x0000007b, 0x0000007e, 0xfffffff7, 0x00000067,
-          0xffffff81, 0x0000004f};
+  private static final long MULTIPLIER_MOST = 0x2360ED051FC65DA4L;
+  private static final long MULTIPLIER_LEAST = 0x4385DF649FCCF645L;
+  private static final long INCREMENT_MOST = 0x5851F42D4C957F2DL;
+  private static final long INCREMENT_LEAST = 0x14057B7EF767814FL;
   private static final int WANTED_OP_BITS = 6;
   private static final int ROTATION1 = (WANTED_OP_BITS + Long.SIZE) / 2;
   private static final int ROTATION2 = Long.SIZE - WANTED_OP_BITS;
@@ -53,6 +55,10 @@ public class Pcg128Random extends BaseRandom implements SeekableRandom {
 
   private final Lock advancementLock = new ReentrantLock(); // guards *Mult and *Plus
 
+  // Guarded by lock
+  private transient long stateMost;
+  private transient long stateLeast;
+
   /**
    * Creates a new PRNG with a seed from the {@link DefaultSeedGenerator}.
    */
@@ -112,27 +118,40 @@ public class Pcg128Random extends BaseRandom implements SeekableRandom {
       // with Arbitrary Stride,", Transactions of the American Nuclear
       // Society (Nov. 1994).  The algorithm is very similar to fast
       // exponentiation.
-      byte[] curMult = MULTIPLIER.clone();
-      byte[] accMult = Byte16ArrayArithmetic.ONE.clone();
-      byte[] curPlus = INCREMENT.clone();
-      byte[] accPlus = new byte[SEED_SIZE_BYTES];
-      byte[] adjMult = new byte[SEED_SIZE_BYTES];
+      long curMultMost = MULTIPLIER_MOST;
+      long curMultLeast = MULTIPLIER_LEAST;
+      long curPlusMost = INCREMENT_MOST;
+      long curPlusLeast = INCREMENT_LEAST;
+      long accMultMost = 0;
+      long accMultLeast = 1;
+      long accPlusMost = 0;
+      long accPlusLeast = 0;
       while (lowDelta != 0 || highDelta != 0) {
         if ((lowDelta & 1) == 1) {
-          multiplyInto(accMult, curMult);
-          multiplyIntoAndAddInto(accPlus, curMult, curPlus);
+          accMultMost = multiplyMost(accMultMost, accMultLeast, curMultMost, curMultLeast);
+          accMultLeast *= curMultLeast;
+          final long productLeast = accPlusLeast * curMultLeast;
+          accPlusMost = addMost(multiplyMost(accPlusMost, accPlusLeast, curMultMost, curMultLeast),
+              productLeast, curPlusMost, curPlusLeast);
+          accPlusLeast = productLeast + curPlusLeast;
         }
-        System.arraycopy(curMult, 0, adjMult, 0, SEED_SIZE_BYTES);
-        addInto(adjMult, Byte16ArrayArithmetic.ONE);
-        multiplyInto(curPlus, adjMult);
-        multiplyInto(curMult, curMult);
+        // curPlus *= curMult + 1
+        final long adjMultLeast = curMultLeast + 1;
+        final long adjMultMost = curMultMost + ((adjMultLeast == 0) ? 1 : 0);
+        curPlusMost = multiplyMost(curPlusMost, curPlusLeast, adjMultMost, adjMultLeast);
+        curPlusLeast *= adjMultLeast;
+        curMultMost = multiplyMost(curMultMost, curMultLeast, curMultMost, curMultLeast);
+        curMultLeast *= curMultLeast;
         lowDelta >>>= 1;
         lowDelta |= (highDelta & 1L) << 63;
         highDelta >>>= 1;
       }
       lock.lock();
       try {
-        multiplyIntoAndAddInto(seed, accMult, accPlus);
+        final long productLeast = stateLeast * accMultLeast;
+        stateMost = addMost(multiplyMost(stateMost, stateLeast, accMultMost, accMultLeast),
+            productLeast, accPlusMost, accPlusLeast);
+        stateLeast = productLeast + accPlusLeast;
       } finally {
         lock.unlock();
       }
@@ -141,6 +160,25 @@ public class Pcg128Random extends BaseRandom implements SeekableRandom {
     }
   }
 
+  /**
+   * Returns the upper 64 bits of a 128-bit product, modulo 2<sup>128</sup>. The lower 64 bits are
+   * just {@code xLeast * yLeast}.
+   */
+  private static long multiplyMost(final long xMost, final long xLeast, final long yMost,
+      final long yLeast) {
+    return unsignedMultiplyHigh(xLeast, yLeast) + (xMost * yLeast) + (xLeast * yMost);
+  }
+
+  /**
+   * Returns the upper 64 bits of a 128-bit sum, modulo 2<sup>128</sup>. The lower 64 bits are just
+   * {@code xLeast + yLeast}.
+   */
+  private static long addMost(final long xMost, final long xLeast, final long yMost,
+      final long yLeast) {
+    final long sumLeast = xLeast + yLeast;
+    return xMost + yMost + ((Long.compareUnsigned(sumLeast, xLeast) < 0) ? 1 : 0);
+  }
+
   @Override public void setSeedInternal(final byte[] seed) {
     if (seed.length != SEED_SIZE_BYTES) {
       throw new IllegalArgumentException("Pcg128Random requires a 16-byte seed");
@@ -151,6 +189,8 @@ public class Pcg128Random extends BaseRandom implements SeekableRandom {
     }
     try {
       super.setSeedInternal(seed);
+      stateMost = BinaryUtils.convertBytesToLong(seed, 0);
+      stateLeast = BinaryUtils.convertBytesToLong(seed, Long.BYTES);
     } finally {
       if (locked) {
         advancementLock.unlock();
@@ -158,22 +198,98 @@ public class Pcg128Random extends BaseRandom implements SeekableRandom {
     }
   }
 
+  @Override public byte[] getSeed() {
+    lock.lock();
+    try {
+      copyStateToSeed();
+      return seed.clone();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Writes the current state into {@link #seed}. Caller must hold {@link #lock}.
+   */
+  private void copyStateToSeed() {
+    BinaryUtils.convertLongToBytes(stateMost, seed, 0);
+    BinaryUtils.convertLongToBytes(stateLeast, seed, Long.BYTES);
+  }
+
   @Override protected int next(final int bits) {
     return (int) (nextLongNoEntropyDebit() >>> (Long.SIZE - bits));
   }
 
   @Override protected long nextLongNoEntropyDebit() {
-    long oldSeedMost;
-    long oldSeedLeast;
+    final long oldSeedMost;
+    final long oldSeedLeast;
     lock.lock();
     try {
-      oldSeedMost = BinaryUtils.convertBytesToLong(seed, 0);
-      oldSeedLeast = BinaryUtils.convertBytesToLong(seed, Long.BYTES);
-      multiplyIntoAndAddInto(seed, MULTIPLIER, INCREMENT);
+      oldSeedMost = stateMost;
+      oldSeedLeast = stateLeast;
+      stateMost = stepMost(oldSeedMost, oldSeedLeast);
+      stateLeast = stepLeast(oldSeedLeast);
     } finally {
       lock.unlock();
     }
-    // Calculate output function (XSH RR), uses old state for max ILP
+    return output(oldSeedMost, oldSeedLeast);
+  }
+
+  @Override protected void nextIntsNoEntropyDebit(final int[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    lock.lock();
+    try {
+      long most = stateMost;
+      long least = stateLeast;
+      for (int i = offset; i < end; i++) {
+        dest[i] = (int) (output(most, least) >>> Integer.SIZE);
+        most = stepMost(most, least);
+        least = stepLeast(least);
+      }
+      stateMost = most;
+      stateLeast = least;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected void nextLongsNoEntropyDebit(final long[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    lock.lock();
+    try {
+      long most = stateMost;
+      long least = stateLeast;
+      for (int i = offset; i < end; i++) {
+        dest[i] = output(most, least);
+        most = stepMost(most, least);
+        least = stepLeast(least);
+      }
+      stateMost = most;
+      stateLeast = least;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static long stepMost(final long oldMost, final long oldLeast) {
+    return addMost(multiplyMost(oldMost, oldLeast, MULTIPLIER_MOST, MULTIPLIER_LEAST),
+        oldLeast * MULTIPLIER_LEAST, INCREMENT_MOST, INCREMENT_LEAST);
+  }
+
+  private static long stepLeast(final long oldLeast) {
+    return (oldLeast * MULTIPLIER_LEAST) + INCREMENT_LEAST;
+  }
+
+  /**
+   * Calculates the output function (XSH RR). Uses the old state for max ILP.
+   *
+   * @param oldSeedMost upper 64 bits of the state before the step that produces this output
+   * @param oldSeedLeast lower 64 bits of the state before the step that produces this output
+   * @return 64 pseudorandom bits
+   */
+  private static long output(final long oldSeedMost, final long oldSeedLeast) {
     // int xorShifted = (int) (((oldInternal >>> ROTATION1) ^ oldInternal) >>> ROTATION2);
     final long xorShiftedMost = shiftedMost(ROTATION1, oldSeedMost, oldSeedLeast) ^ oldSeedMost;
     final long xorShiftedLeast = shiftedLeast(ROTATION1, oldSeedMost, oldSeedLeast) ^ oldSeedLeast;
@@ -188,7 +304,32 @@ public class Pcg128Random extends BaseRandom implements SeekableRandom {
     return original;
   }
 
+  /**
+   * Returns a new instance seeded from this one's output.
+   */
+  @Override public Pcg128Random split() {
+    return new Pcg128Random(nextSeed());
+  }
+
+  /**
+   * Returns substreams that are {@link #SUBSTREAM_STRIDE}-step intervals of the sequence from a
+   * new seed, since {@link #advance(long)} is cheap.
+   */
+  @Override public LongFunction<BaseRandom> createSubstreams() {
+    return seekingSubstreams(Pcg128Random::new);
+  }
+
   @Override public int getNewSeedLength() {
     return SEED_SIZE_BYTES;
   }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    lock.lock();
+    try {
+      copyStateToSeed();
+    } finally {
+      lock.unlock();
+    }
+    out.defaultWriteObject();
+  }
 }
@@ -2,6 +2,7 @@ package io.github.pr0methean.betterrandom.prng;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
 import io.github.pr0methean.betterrandom.SeekableRandom;
+import io.github.pr0methean.betterrandom.SplittableGenerator;
 import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
@@ -10,6 +11,7 @@ import io.github.pr0methean.betterrandom.util.EntryPoint;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
 
 /**
  * <p>From the original description, "PCG is a family of simple fast space-efficient statistically
@@ -26,7 +28,8 @@ import java.util.concurrent.atomic.AtomicLong;
  * @author M.E. O'Neill (algorithm and C++ implementation)
  * @author Chris Hennick (Java port)
  */
-public class Pcg64Random extends BaseRandom implements SeekableRandom {
+public class Pcg64Random extends BaseRandom
+    implements SeekableRandom, SplittableGenerator<Pcg64Random> {
 
   private static final long serialVersionUID = 1677405697790847137L;
   private static final long MULTIPLIER = 6364136223846793005L;
@@ -109,6 +112,23 @@ public class Pcg64Random extends BaseRandom implements SeekableRandom {
     if (delta == 0) {
       return;
     }
+    lock.lock();
+    try {
+      reserveSteps(delta);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Atomically advances the state by the given number of steps, in one update no matter how many,
+   * and returns the state from before; so the caller can then generate that many outputs from it
+   * without racing other threads.
+   *
+   * @param delta the number of steps to advance
+   * @return the state before advancing
+   */
+  private long reserveSteps(long delta) {
     // The method used here is based on Brown, "Random Number Generation
     // with Arbitrary Stride,", Transactions of the American Nuclear
     // Society (Nov. 1994).  The algorithm is very similar to fast
@@ -128,12 +148,7 @@ public class Pcg64Random extends BaseRandom implements SeekableRandom {
     }
     final long finalAccMult = accMult;
     final long finalAccPlus = accPlus;
-    lock.lock();
-    try {
-      internal.updateAndGet(old -> (finalAccMult * old) + finalAccPlus);
-    } finally {
-      lock.unlock();
-    }
+    return internal.getAndUpdate(old -> (finalAccMult * old) + finalAccPlus);
   }
 
   @Override public void setSeedInternal(final byte[] seed) {
@@ -148,23 +163,87 @@ public class Pcg64Random extends BaseRandom implements SeekableRandom {
     }
   }
 
-  @SuppressWarnings("NumericCastThatLosesPrecision") @Override protected int next(final int bits) {
+  @Override protected int next(final int bits) {
     long oldInternal;
     long newInternal;
     do {
       oldInternal = internal.get();
       newInternal = (oldInternal * MULTIPLIER) + INCREMENT;
     } while (!internal.compareAndSet(oldInternal, newInternal));
-    // Calculate output function (XSH RR), uses old state for max ILP
+    return output(oldInternal) >>> (Integer.SIZE - bits);
+  }
+
+  /**
+   * Calculates the output function (XSH RR). Uses the old state for max ILP.
+   *
+   * @param oldInternal the state before the step that produces this output
+   * @return 32 pseudorandom bits
+   */
+  @SuppressWarnings("NumericCastThatLosesPrecision")
+  private static int output(final long oldInternal) {
     final int xorshifted = (int) (((oldInternal >>> ROTATION1) ^ oldInternal) >>> ROTATION2);
     final int rot = (int) (oldInternal >>> ROTATION3);
-    return ((xorshifted >>> rot) | (xorshifted << ((-rot) & MASK))) >>> (Integer.SIZE - bits);
+    return (xorshifted >>> rot) | (xorshifted << ((-rot) & MASK));
+  }
+
+  /**
+   * Reserves the steps for the whole batch with {@link #reserveSteps(long)}, then steps a local
+   * copy of the state once per output; so a batch is never recalculated when another thread steps
+   * the state concurrently.
+   */
+  @Override protected void nextIntsNoEntropyDebit(final int[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    long state = reserveSteps(length);
+    for (int i = offset; i < end; i++) {
+      dest[i] = output(state);
+      state = (state * MULTIPLIER) + INCREMENT;
+    }
+  }
+
+  @Override protected void nextLongsNoEntropyDebit(final long[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    long state = reserveSteps(2L * length);
+    for (int i = offset; i < end; i++) {
+      final int high = output(state);
+      state = (state * MULTIPLIER) + INCREMENT;
+      dest[i] = ((long) high << 32) + output(state);
+      state = (state * MULTIPLIER) + INCREMENT;
+    }
+  }
+
+  @Override protected void nextDoublesNoEntropyDebit(final double[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    long state = reserveSteps(2L * length);
+    for (int i = offset; i < end; i++) {
+      final int high = output(state);
+      state = (state * MULTIPLIER) + INCREMENT;
+      dest[i] = intsToDouble(high, output(state));
+      state = (state * MULTIPLIER) + INCREMENT;
+    }
   }
 
   @Override protected ToStringHelper addSubclassFields(final ToStringHelper original) {
     return original.add("internal", internal.get());
   }
 
+  /**
+   * Returns a new instance seeded from this one's output.
+   */
+  @Override public Pcg64Random split() {
+    return new Pcg64Random(nextSeed());
+  }
+
+  /**
+   * Returns substreams that are {@link #SUBSTREAM_STRIDE}-step intervals of the sequence from a
+   * new seed, since {@link #advance(long)} is cheap.
+   */
+  @Override public LongFunction<BaseRandom> createSubstreams() {
+    return seekingSubstreams(Pcg64Random::new);
+  }
+
   @Override public int getNewSeedLength() {
     return Long.BYTES;
   }
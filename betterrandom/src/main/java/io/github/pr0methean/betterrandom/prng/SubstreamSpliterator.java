@@ -0,0 +1,360 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import javax.annotation.Nullable;
+
+/**
+ * <p>Spliterator for the streams of a {@link BaseRandom}. Element {@code i} of the stream comes
+ * from the PRNG that a factory returns for index {@code i / SUBSTREAM_SIZE}. That's a substream
+ * from {@link BaseRandom#createSubstreams()} if the stream is parallel and the PRNG supports them,
+ * and otherwise it's the {@link BaseRandom} itself.</p>
+ *
+ * <p>Splits only happen between substreams. When substreams are in use, each fork-join worker has
+ * its own PRNGs, and the output depends only on the seed, not on the number of threads or on how
+ * the stream was split.</p>
+ *
+ * <p>{@link #forEachRemaining(Object)} generates up to {@link #CHUNK_SIZE} elements at a time with
+ * a bulk method such as {@link BaseRandom#nextInts(int[], int, int)}, so that each chunk takes the
+ * lock and debits entropy only once. {@link #tryAdvance(Object)} generates only the element it
+ * returns, so that short-circuiting operations such as
+ * {@link java.util.stream.IntStream#limit(long)} don't consume extra output.</p>
+ *
+ * @param <T> the boxed type of the elements
+ * @param <C> the consumer type for the elements
+ * @param <S> the type of this spliterator
+ */
+abstract class SubstreamSpliterator<T, C, S extends Spliterator.OfPrimitive<T, C, S>>
+    implements Spliterator.OfPrimitive<T, C, S> {
+
+  /**
+   * Number of consecutive elements that come from each substream.
+   */
+  static final int SUBSTREAM_SIZE = 1 << 12;
+
+  /**
+   * The most elements that {@link #forEachRemaining(Object)} generates at once.
+   */
+  static final int CHUNK_SIZE = 1 << 10;
+
+  private static final int CHARACTERISTICS =
+      ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+
+  private final LongFunction<BaseRandom> substreams;
+  /**
+   * Index of the next element.
+   */
+  protected long index;
+  private final long fence;
+  @Nullable private BaseRandom current;
+  private long currentSubstream;
+
+  /**
+   * @param substreams maps each substream index to the PRNG for that substream
+   * @param index the index of the first element
+   * @param fence one past the index of the last element
+   * @param current the PRNG for the substream containing {@code index}, already advanced to that
+   *     element; or null to obtain a new one from {@code substreams}, which is only correct if
+   *     {@code index} is the start of a substream
+   */
+  protected SubstreamSpliterator(final LongFunction<BaseRandom> substreams, final long index,
+      final long fence, @Nullable final BaseRandom current) {
+    this.substreams = substreams;
+    this.index = index;
+    this.fence = fence;
+    this.current = current;
+    currentSubstream = index / SUBSTREAM_SIZE;
+  }
+
+  /**
+   * Creates a spliterator that shares this one's substream factory and element functions.
+   *
+   * @param substreams the substream factory
+   * @param index the index of the first element
+   * @param fence one past the index of the last element
+   * @param current the PRNG for the substream containing {@code index}, or null
+   * @return the new spliterator
+   */
+  protected abstract S newSpliterator(LongFunction<BaseRandom> substreams, long index, long fence,
+      @Nullable BaseRandom current);
+
+  /**
+   * Returns the PRNG for element {@link #index}, obtaining it from the factory if {@link #index}
+   * has passed into a new substream.
+   *
+   * @return the PRNG to generate the next element
+   */
+  protected BaseRandom random() {
+    final long substream = index / SUBSTREAM_SIZE;
+    if ((current == null) || (substream != currentSubstream)) {
+      current = substreams.apply(substream);
+      currentSubstream = substream;
+    }
+    return current;
+  }
+
+  /**
+   * Returns the number of elements that {@link #forEachRemaining(Object)} should generate next:
+   * at most {@link #CHUNK_SIZE}, and never past the end of the current substream or of this
+   * spliterator.
+   *
+   * @return the length of the next chunk
+   */
+  protected int nextChunkLength() {
+    return (int) Math.min(Math.min(CHUNK_SIZE, fence - index),
+        SUBSTREAM_SIZE - (index % SUBSTREAM_SIZE));
+  }
+
+  /**
+   * Returns a buffer length that fits every chunk {@link #forEachRemaining(Object)} will generate.
+   * The first chunk may be shorter than later ones, if {@link #tryAdvance(Object)} has left the
+   * index just before a substream boundary.
+   *
+   * @return the length of the chunk buffer
+   */
+  protected int chunkBufferLength() {
+    return (int) Math.min(CHUNK_SIZE, fence - index);
+  }
+
+  /**
+   * @return one past the index of the last element
+   */
+  protected long getFence() {
+    return fence;
+  }
+
+  /**
+   * Splits off the elements before the substream boundary nearest the middle, if there is a
+   * boundary in this spliterator's range.
+   */
+  @Override @Nullable public S trySplit() {
+    final long middle = (index + ((fence - index) >>> 1));
+    long boundary = middle - (middle % SUBSTREAM_SIZE);
+    if (boundary <= index) {
+      boundary = (index - (index % SUBSTREAM_SIZE)) + SUBSTREAM_SIZE;
+    }
+    if ((boundary <= index) || (boundary >= fence)) {
+      return null;
+    }
+    // The prefix keeps the current PRNG, since it may be partway through its substream
+    final S prefix = newSpliterator(substreams, index, boundary, current);
+    index = boundary;
+    current = null;
+    return prefix;
+  }
+
+  @Override public long estimateSize() {
+    return fence - index;
+  }
+
+  @Override public int characteristics() {
+    return CHARACTERISTICS;
+  }
+
+  /**
+   * Fills part of an {@code int[]} from a PRNG, like {@link BaseRandom#nextInts(int[], int, int)}.
+   */
+  @FunctionalInterface interface IntChunkFiller {
+    void fill(BaseRandom random, int[] dest, int offset, int length);
+  }
+
+  /**
+   * Fills part of a {@code long[]} from a PRNG, like
+   * {@link BaseRandom#nextLongs(long[], int, int)}.
+   */
+  @FunctionalInterface interface LongChunkFiller {
+    void fill(BaseRandom random, long[] dest, int offset, int length);
+  }
+
+  /**
+   * Fills part of a {@code double[]} from a PRNG, like
+   * {@link BaseRandom#nextDoubles(double[], int, int)}.
+   */
+  @FunctionalInterface interface DoubleChunkFiller {
+    void fill(BaseRandom random, double[] dest, int offset, int length);
+  }
+
+  /**
+   * Spliterator for {@link BaseRandom#ints()} and its overloads.
+   */
+  static final class OfInts extends SubstreamSpliterator<Integer, IntConsumer, Spliterator.OfInt>
+      implements Spliterator.OfInt {
+    private final ToIntFunction<BaseRandom> next;
+    private final IntChunkFiller nextChunk;
+
+    /**
+     * @param substreams maps each substream index to the PRNG for that substream
+     * @param size the number of elements
+     * @param next generates one element from a PRNG
+     * @param nextChunk generates elements in bulk from a PRNG, as if by calling {@code next}
+     *     repeatedly
+     */
+    OfInts(final LongFunction<BaseRandom> substreams, final long size,
+        final ToIntFunction<BaseRandom> next, final IntChunkFiller nextChunk) {
+      this(substreams, 0, size, null, next, nextChunk);
+    }
+
+    private OfInts(final LongFunction<BaseRandom> substreams, final long index, final long fence,
+        @Nullable final BaseRandom current, final ToIntFunction<BaseRandom> next,
+        final IntChunkFiller nextChunk) {
+      super(substreams, index, fence, current);
+      this.next = next;
+      this.nextChunk = nextChunk;
+    }
+
+    @Override protected Spliterator.OfInt newSpliterator(final LongFunction<BaseRandom> substreams,
+        final long index, final long fence, @Nullable final BaseRandom current) {
+      return new OfInts(substreams, index, fence, current, next, nextChunk);
+    }
+
+    @Override public boolean tryAdvance(final IntConsumer action) {
+      if (index >= getFence()) {
+        return false;
+      }
+      action.accept(next.applyAsInt(random()));
+      index++;
+      return true;
+    }
+
+    @Override public void forEachRemaining(final IntConsumer action) {
+      if (index >= getFence()) {
+        return;
+      }
+      final int[] chunk = new int[chunkBufferLength()];
+      while (index < getFence()) {
+        final int length = nextChunkLength();
+        nextChunk.fill(random(), chunk, 0, length);
+        index += length;
+        for (int i = 0; i < length; i++) {
+          action.accept(chunk[i]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Spliterator for {@link BaseRandom#longs()} and its overloads.
+   */
+  static final class OfLongs extends SubstreamSpliterator<Long, LongConsumer, Spliterator.OfLong>
+      implements Spliterator.OfLong {
+    private final ToLongFunction<BaseRandom> next;
+    private final LongChunkFiller nextChunk;
+
+    /**
+     * @param substreams maps each substream index to the PRNG for that substream
+     * @param size the number of elements
+     * @param next generates one element from a PRNG
+     * @param nextChunk generates elements in bulk from a PRNG, as if by calling {@code next}
+     *     repeatedly
+     */
+    OfLongs(final LongFunction<BaseRandom> substreams, final long size,
+        final ToLongFunction<BaseRandom> next, final LongChunkFiller nextChunk) {
+      this(substreams, 0, size, null, next, nextChunk);
+    }
+
+    private OfLongs(final LongFunction<BaseRandom> substreams, final long index, final long fence,
+        @Nullable final BaseRandom current, final ToLongFunction<BaseRandom> next,
+        final LongChunkFiller nextChunk) {
+      super(substreams, index, fence, current);
+      this.next = next;
+      this.nextChunk = nextChunk;
+    }
+
+    @Override protected Spliterator.OfLong newSpliterator(
+        final LongFunction<BaseRandom> substreams, final long index, final long fence,
+        @Nullable final BaseRandom current) {
+      return new OfLongs(substreams, index, fence, current, next, nextChunk);
+    }
+
+    @Override public boolean tryAdvance(final LongConsumer action) {
+      if (index >= getFence()) {
+        return false;
+      }
+      action.accept(next.applyAsLong(random()));
+      index++;
+      return true;
+    }
+
+    @Override public void forEachRemaining(final LongConsumer action) {
+      if (index >= getFence()) {
+        return;
+      }
+      final long[] chunk = new long[chunkBufferLength()];
+      while (index < getFence()) {
+        final int length = nextChunkLength();
+        nextChunk.fill(random(), chunk, 0, length);
+        index += length;
+        for (int i = 0; i < length; i++) {
+          action.accept(chunk[i]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Spliterator for {@link BaseRandom#doubles()}, {@link BaseRandom#gaussians()} and their
+   * overloads.
+   */
+  static final class OfDoubles
+      extends SubstreamSpliterator<Double, DoubleConsumer, Spliterator.OfDouble>
+      implements Spliterator.OfDouble {
+    private final ToDoubleFunction<BaseRandom> next;
+    private final DoubleChunkFiller nextChunk;
+
+    /**
+     * @param substreams maps each substream index to the PRNG for that substream
+     * @param size the number of elements
+     * @param next generates one element from a PRNG
+     * @param nextChunk generates elements in bulk from a PRNG, as if by calling {@code next}
+     *     repeatedly
+     */
+    OfDoubles(final LongFunction<BaseRandom> substreams, final long size,
+        final ToDoubleFunction<BaseRandom> next, final DoubleChunkFiller nextChunk) {
+      this(substreams, 0, size, null, next, nextChunk);
+    }
+
+    private OfDoubles(final LongFunction<BaseRandom> substreams, final long index,
+        final long fence, @Nullable final BaseRandom current,
+        final ToDoubleFunction<BaseRandom> next, final DoubleChunkFiller nextChunk) {
+      super(substreams, index, fence, current);
+      this.next = next;
+      this.nextChunk = nextChunk;
+    }
+
+    @Override protected Spliterator.OfDouble newSpliterator(
+        final LongFunction<BaseRandom> substreams, final long index, final long fence,
+        @Nullable final BaseRandom current) {
+      return new OfDoubles(substreams, index, fence, current, next, nextChunk);
+    }
+
+    @Override public boolean tryAdvance(final DoubleConsumer action) {
+      if (index >= getFence()) {
+        return false;
+      }
+      action.accept(next.applyAsDouble(random()));
+      index++;
+      return true;
+    }
+
+    @Override public void forEachRemaining(final DoubleConsumer action) {
+      if (index >= getFence()) {
+        return;
+      }
+      final double[] chunk = new double[chunkBufferLength()];
+      while (index < getFence()) {
+        final int length = nextChunkLength();
+        nextChunk.fill(random(), chunk, 0, length);
+        index += length;
+        for (int i = 0; i < length; i++) {
+          action.accept(chunk[i]);
+        }
+      }
+    }
+  }
+}
@@ -16,11 +16,15 @@
 package io.github.pr0methean.betterrandom.prng;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
+import io.github.pr0methean.betterrandom.SeekableRandom;
+import io.github.pr0methean.betterrandom.SplittableGenerator;
 import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.BinaryPolynomialArithmetic;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
 import java.util.Random;
+import java.util.function.LongFunction;
 
 /**
  * <p>Very fast pseudo random number generator.  See
@@ -32,16 +36,29 @@ import java.util.Random;
  * require 160-bit seeds, it is not possible to seed this RNG using the {@link #setSeed(long)}
  * method inherited from {@link Random}.  Calls to this method will have no effect. Instead the
  * seed
- * must be set by a constructor.</em></p>
+ * must be set by a constructor.</em></p> <p>This PRNG can {@link #advance(long)} forward in
+ * logarithmic time, but not backward, because its state transition isn't invertible: the
+ * arithmetic shift in {@code state1 ^ (state1 >> 7)} maps both 0 and -1 to 0.</p>
  *
  * @author Daniel Dyer
  * @since 1.2
  */
-public class XorShiftRandom extends BaseRandom {
+public class XorShiftRandom extends BaseRandom
+    implements SeekableRandom, SplittableGenerator<XorShiftRandom> {
 
   private static final long serialVersionUID = 952521144304194886L;
   private static final int SEED_SIZE_BYTES = 20; // Needs 5 32-bit integers.
 
+  /**
+   * Characteristic polynomial of the state transition, as a 160x160 matrix over GF(2). It's
+   * divisible by z<sup>4</sup> because the transition is singular.
+   */
+  private static final long[] CHARACTERISTIC =
+      {0xFD4F0686F4551130L, 0x248CD567B4C288BCL, 0x000000010ABAA4A2L};
+  private static final int STATE_SIZE_BITS = 160;
+  private static final long[] JUMP = powerOfZToPowerOf2Mod(64);
+  private static final long[] LONG_JUMP = powerOfZToPowerOf2Mod(128);
+
   // Previously used an array for state but using separate fields proved to be
   // faster.
   private int state1;
@@ -120,19 +137,176 @@ public class XorShiftRandom extends BaseRandom {
   @Override protected int next(final int bits) {
     lock.lock();
     try {
-      final int t = (state1 ^ (state1 >> 7));
-      state1 = state2;
-      state2 = state3;
-      state3 = state4;
-      state4 = state5;
-      state5 = (state5 ^ (state5 << 6)) ^ (t ^ (t << 13));
-      final int value = (state2 + state2 + 1) * state5;
-      return value >>> (32 - bits);
+      return nextWord() >>> (32 - bits);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Steps the state and returns 32 pseudorandom bits. Caller must hold {@link #lock}.
+   *
+   * @return the next output
+   */
+  private int nextWord() {
+    final int t = (state1 ^ (state1 >> 7));
+    state1 = state2;
+    state2 = state3;
+    state3 = state4;
+    state4 = state5;
+    state5 = (state5 ^ (state5 << 6)) ^ (t ^ (t << 13));
+    return (state2 + state2 + 1) * state5;
+  }
+
+  @Override protected void nextIntsNoEntropyDebit(final int[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    lock.lock();
+    try {
+      for (int i = offset; i < end; i++) {
+        dest[i] = nextWord();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected void nextLongsNoEntropyDebit(final long[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    lock.lock();
+    try {
+      for (int i = offset; i < end; i++) {
+        dest[i] = ((long) nextWord() << 32) + nextWord();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected void nextDoublesNoEntropyDebit(final double[] dest, final int offset,
+      final int length) {
+    final int end = offset + length;
+    lock.lock();
+    try {
+      for (int i = offset; i < end; i++) {
+        dest[i] = intsToDouble(nextWord(), nextWord());
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Advances by 2<sup>64</sup> outputs. Calling this once on each of several copies of an
+   * instance, one copy per call, gives each copy a substream that won't overlap any other's until
+   * it's used 2<sup>64</sup> {@code int}s of output.
+   */
+  public void jump() {
+    lock.lock();
+    try {
+      jumpState(JUMP);
     } finally {
       lock.unlock();
     }
   }
 
+  /**
+   * Advances by 2<sup>128</sup> outputs.
+   */
+  public void longJump() {
+    lock.lock();
+    try {
+      jumpState(LONG_JUMP);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc} Each step is one {@code int} of output.
+   *
+   * @throws UnsupportedOperationException if {@code delta} is negative
+   */
+  @Override public void advance(final long delta) {
+    if (delta < 0) {
+      throw new UnsupportedOperationException("XorShiftRandom can't advance backward");
+    }
+    if (delta < STATE_SIZE_BITS) {
+      lock.lock();
+      try {
+        for (int i = 0; i < delta; i++) {
+          nextWord();
+        }
+      } finally {
+        lock.unlock();
+      }
+      return;
+    }
+    final long[] jumpPolynomial = BinaryPolynomialArithmetic.powerOfZMod(delta, CHARACTERISTIC);
+    lock.lock();
+    try {
+      jumpState(jumpPolynomial);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Replaces the state with h(T) applied to it, where T is the state transition. Caller must hold
+   * {@link #lock}.
+   *
+   * @param jumpPolynomial h, which is z<sup>j</sup> mod the characteristic polynomial to advance
+   *     by j steps
+   */
+  private void jumpState(final long[] jumpPolynomial) {
+    int jumped1 = 0;
+    int jumped2 = 0;
+    int jumped3 = 0;
+    int jumped4 = 0;
+    int jumped5 = 0;
+    for (int i = 0; i < STATE_SIZE_BITS; i++) {
+      if (((jumpPolynomial[i / Long.SIZE] >>> (i % Long.SIZE)) & 1) != 0) {
+        jumped1 ^= state1;
+        jumped2 ^= state2;
+        jumped3 ^= state3;
+        jumped4 ^= state4;
+        jumped5 ^= state5;
+      }
+      nextWord();
+    }
+    state1 = jumped1;
+    state2 = jumped2;
+    state3 = jumped3;
+    state4 = jumped4;
+    state5 = jumped5;
+  }
+
+  private static long[] powerOfZToPowerOf2Mod(final int log2Exponent) {
+    final long[] result = BinaryPolynomialArithmetic.powerOfZMod(1, CHARACTERISTIC);
+    final long[] scratch = new long[2 * result.length];
+    final long[][] shiftedModulus = BinaryPolynomialArithmetic.shiftedCopies(CHARACTERISTIC);
+    for (int i = 0; i < log2Exponent; i++) {
+      BinaryPolynomialArithmetic.squareModInto(result, shiftedModulus, STATE_SIZE_BITS, scratch);
+    }
+    return result;
+  }
+
+  /**
+   * Returns a new instance seeded from this one's output.
+   */
+  @Override public XorShiftRandom split() {
+    return new XorShiftRandom(nextSeed());
+  }
+
+  /**
+   * Returns substreams that are {@link #SUBSTREAM_STRIDE}-step intervals of the sequence from a
+   * new seed, since {@link #advance(long)} is cheap.
+   */
+  @Override public LongFunction<BaseRandom> createSubstreams() {
+    return seekingSubstreams(XorShiftRandom::new);
+  }
+
   @Override public int getNewSeedLength() {
     return SEED_SIZE_BYTES;
   }
@@ -0,0 +1,153 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Normal-distribution sampler using Doornik's variant of the ziggurat method of Marsaglia and
+ * Tsang; see Doornik, "An Improved Ziggurat Method to Generate Normal Random Samples" (2005). About
+ * 99% of samples need only one {@code long} of random input, one table lookup and one
+ * multiplication. The tables are built once and shared by all instances.</p>
+ *
+ * <p>All random input comes from {@code long}s, so that bulk callers can prefetch it, and all
+ * transcendental functions come from {@link StrictMath}, so that output is repeatable across
+ * JVMs.</p>
+ */
+final class ZigguratGaussian {
+
+  private static final int LAYERS = 256;
+  private static final int LAYER_MASK = LAYERS - 1;
+  /**
+   * Start of the tail, for 256 layers.
+   */
+  private static final double TAIL_START = 3.6541528853610088;
+  /**
+   * Area of each layer, for 256 layers.
+   */
+  private static final double LAYER_AREA = 0.00492867323399;
+  private static final double SIGNED_DOUBLE_UNIT = 0x1.0p-52;
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  /**
+   * Right edges of the layers; element 0 is the width of a rectangle with the same area as the
+   * bottom layer including the tail.
+   */
+  private static final double[] X = new double[LAYERS + 1];
+  /**
+   * {@code X[i + 1] / X[i]}: the fraction of layer i that lies entirely under the curve.
+   */
+  private static final double[] RATIO = new double[LAYERS];
+
+  static {
+    double f = StrictMath.exp(-0.5 * TAIL_START * TAIL_START);
+    X[0] = LAYER_AREA / f;
+    X[1] = TAIL_START;
+    X[LAYERS] = 0;
+    for (int i = 2; i < LAYERS; i++) {
+      X[i] = StrictMath.sqrt(-2 * StrictMath.log((LAYER_AREA / X[i - 1]) + f));
+      f = StrictMath.exp(-0.5 * X[i] * X[i]);
+    }
+    for (int i = 0; i < LAYERS; i++) {
+      RATIO[i] = X[i + 1] / X[i];
+    }
+  }
+
+  private ZigguratGaussian() {
+  }
+
+  /**
+   * Returns a normally distributed value with mean 0.0 and standard deviation 1.0.
+   *
+   * @param random supplies uniformly distributed {@code long}s; called once for about 99% of
+   *     samples, and more often for the rest
+   * @return a normally distributed value
+   */
+  static double nextGaussian(final LongSupplier random) {
+    while (true) {
+      final long bits = random.getAsLong();
+      // The low bits choose the layer, and the top 53 bits are the uniform sample, so they're
+      // independent
+      final int layer = (int) (bits & LAYER_MASK);
+      final double u = ((bits >>> 11) * SIGNED_DOUBLE_UNIT) - 1.0; // [-1, 1)
+      if (Math.abs(u) < RATIO[layer]) {
+        return u * X[layer];
+      }
+      if (layer == 0) {
+        return tail(random, u < 0);
+      }
+      // Wedge between the rectangle under the curve and the one that covers it
+      final double x = u * X[layer];
+      final double xSquared = x * x;
+      final double f0 = StrictMath.exp(-0.5 * ((X[layer] * X[layer]) - xSquared));
+      final double f1 = StrictMath.exp(-0.5 * ((X[layer + 1] * X[layer + 1]) - xSquared));
+      if ((f1 + (nextDouble(random) * (f0 - f1))) < 1.0) {
+        return x;
+      }
+    }
+  }
+
+  /**
+   * Samples from the tail beyond {@link #TAIL_START}, using Marsaglia's method.
+   */
+  private static double tail(final LongSupplier random, final boolean negative) {
+    double x;
+    double y;
+    do {
+      x = StrictMath.log(nextDoubleExcludingZero(random)) / TAIL_START;
+      y = StrictMath.log(nextDoubleExcludingZero(random));
+    } while ((-2 * y) < (x * x));
+    return negative ? (x - TAIL_START) : (TAIL_START - x);
+  }
+
+  private static double nextDouble(final LongSupplier random) {
+    return (random.getAsLong() >>> 11) * DOUBLE_UNIT;
+  }
+
+  /**
+   * Returns a double in (0.0, 1.0], so that its logarithm is finite.
+   */
+  private static double nextDoubleExcludingZero(final LongSupplier random) {
+    return 1.0 - nextDouble(random);
+  }
+
+  /**
+   * A {@link LongSupplier} that reads from a buffer filled in bulk, and refills it with only as
+   * many {@code long}s as the remaining samples need at minimum, so that bulk output never uses
+   * more input than calling {@link #nextGaussian(LongSupplier)} repeatedly would.
+   */
+  static final class BufferedLongs implements LongSupplier {
+    private final BaseRandom random;
+    private final long[] buffer;
+    private int remainingSamples;
+    private int index;
+    private int available;
+
+    /**
+     * @param random the PRNG to fill the buffer from with
+     *     {@link BaseRandom#nextLongsNoEntropyDebit(long[], int, int)}
+     * @param samples the number of samples that will be drawn
+     * @param bufferSize the maximum number of {@code long}s to fetch at once
+     */
+    BufferedLongs(final BaseRandom random, final int samples, final int bufferSize) {
+      this.random = random;
+      buffer = new long[Math.min(samples, bufferSize)];
+      remainingSamples = samples;
+    }
+
+    /**
+     * Must be called before drawing each sample.
+     */
+    void startSample() {
+      remainingSamples--;
+    }
+
+    @Override public long getAsLong() {
+      if (index >= available) {
+        // Each remaining sample needs at least 1 long, and this one needs at least 1 more
+        available = Math.min(buffer.length, remainingSamples + 1);
+        random.nextLongsNoEntropyDebit(buffer, 0, available);
+        index = 0;
+      }
+      return buffer[index++];
+    }
+  }
+}
@@ -2,6 +2,7 @@ package io.github.pr0methean.betterrandom.prng.adapter;
 
 import io.github.pr0methean.betterrandom.prng.BaseRandom;
 import java.util.SplittableRandom;
+import java.util.function.LongFunction;
 
 /**
  * Abstract class for implementations of {@link BaseRandom} that wrap one or more {@link
@@ -70,14 +71,20 @@ public abstract class BaseSplittableRandomAdapter extends BaseRandom {
   }
 
   /**
-   * Delegates to {@link SplittableRandom#nextInt(int) SplittableRandom.nextInt(256)}.
+   * Splits each output of {@link SplittableRandom#nextInt()} into 4 bytes.
    */
-  @SuppressWarnings("NumericCastThatLosesPrecision") @Override public void nextBytes(
-      final byte[] bytes) {
+  @SuppressWarnings("NumericCastThatLosesPrecision") @Override
+  protected void nextBytesNoEntropyDebit(final byte[] bytes) {
+    final SplittableRandom splittableRandom = getSplittableRandom();
     final int length = bytes.length;
-    for (int i = 0; i < length; i++) {
-      debitEntropy(Byte.SIZE); // May cause replacement before the next getSplittableRandom()
-      bytes[i] = (byte) (getSplittableRandom().nextInt(1 << Byte.SIZE));
+    int i = 0;
+    while (i < length) {
+      int word = splittableRandom.nextInt();
+      final int end = Math.min(length, i + Integer.BYTES);
+      for (; i < end; i++) {
+        bytes[i] = (byte) word;
+        word >>= Byte.SIZE;
+      }
     }
   }
 
@@ -150,11 +157,80 @@ public abstract class BaseSplittableRandomAdapter extends BaseRandom {
     return getSplittableRandom().nextDouble();
   }
 
+  /**
+   * Delegates to {@link SplittableRandom#nextInt()}.
+   */
+  @Override protected void nextIntsNoEntropyDebit(final int[] dest, final int offset,
+      final int length) {
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = splittableRandom.nextInt();
+    }
+  }
+
+  /**
+   * Delegates to {@link SplittableRandom#nextInt(int, int) SplittableRandom.nextInt(origin,
+   * bound)}.
+   */
+  @Override protected void nextIntsNoEntropyDebit(final int[] dest, final int offset,
+      final int length, final int origin, final int bound) {
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = splittableRandom.nextInt(origin, bound);
+    }
+  }
+
+  /**
+   * Delegates to {@link SplittableRandom#nextLong()}.
+   */
+  @Override protected void nextLongsNoEntropyDebit(final long[] dest, final int offset,
+      final int length) {
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = splittableRandom.nextLong();
+    }
+  }
+
+  /**
+   * Delegates to {@link SplittableRandom#nextLong(long, long) SplittableRandom.nextLong(origin,
+   * bound)}.
+   */
+  @Override public void nextLongs(final long[] dest, final int offset, final int length,
+      final long origin, final long bound) {
+    checkArrayRange(dest.length, offset, length);
+    checkValidRange(origin, bound);
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = splittableRandom.nextLong(origin, bound);
+    }
+    debitEntropy(length * (long) entropyOfLong(origin, bound));
+  }
+
+  /**
+   * Delegates to {@link SplittableRandom#nextDouble()}.
+   */
+  @Override protected void nextDoublesNoEntropyDebit(final double[] dest, final int offset,
+      final int length) {
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = splittableRandom.nextDouble();
+    }
+  }
+
   /**
    * Delegates to {@link SplittableRandom#nextDouble()} via
-   * {@link #internalNextGaussian(java.util.function.DoubleSupplier)}.
+   * {@link #internalNextGaussian(java.util.function.DoubleSupplier)}, unless the ziggurat method is
+   * in use.
    */
   @Override public double nextGaussian() {
+    if (usesZigguratGaussians()) {
+      return super.nextGaussian();
+    }
     // Upper bound. 2 Gaussians are generated from 2 nextDouble calls, which once made are either
     // used or rerolled.
     debitEntropy(ENTROPY_OF_DOUBLE);
@@ -186,6 +262,14 @@ public abstract class BaseSplittableRandomAdapter extends BaseRandom {
         * FLOAT_MULTIPLIER;
   }
 
+  /**
+   * Returns substreams that are each a {@link SingleThreadSplittableRandomAdapter} with an
+   * independent seed.
+   */
+  @Override public LongFunction<BaseRandom> createSubstreams() {
+    return seededSubstreams(SingleThreadSplittableRandomAdapter::new);
+  }
+
   /**
    * Returns the only supported seed length.
    */
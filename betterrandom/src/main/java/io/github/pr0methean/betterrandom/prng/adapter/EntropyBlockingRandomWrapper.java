@@ -1,5 +1,6 @@
 package io.github.pr0methean.betterrandom.prng.adapter;
 
+import io.github.pr0methean.betterrandom.prng.BaseRandom;
 import io.github.pr0methean.betterrandom.seed.RandomSeeder;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
@@ -7,6 +8,7 @@ import io.github.pr0methean.betterrandom.util.BinaryUtils;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
+import java.util.function.LongFunction;
 import javax.annotation.Nullable;
 
 /**
@@ -86,6 +88,77 @@ public class EntropyBlockingRandomWrapper<T extends Random> extends RandomWrappe
     }
   }
 
+  /**
+   * Generates one value at a time, since each one may have to wait for a reseeding.
+   */
+  @Override public void nextInts(final int[] dest, final int offset, final int length) {
+    checkArrayRange(dest.length, offset, length);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextInt();
+    }
+  }
+
+  /**
+   * Generates one value at a time, since each one may have to wait for a reseeding.
+   */
+  @Override public void nextInts(final int[] dest, final int offset, final int length,
+      final int origin, final int bound) {
+    checkArrayRange(dest.length, offset, length);
+    checkValidRange(origin, bound);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextInt(origin, bound);
+    }
+  }
+
+  /**
+   * Generates one value at a time, since each one may have to wait for a reseeding.
+   */
+  @Override public void nextLongs(final long[] dest, final int offset, final int length) {
+    checkArrayRange(dest.length, offset, length);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextLong();
+    }
+  }
+
+  /**
+   * Generates one value at a time, since each one may have to wait for a reseeding.
+   */
+  @Override public void nextLongs(final long[] dest, final int offset, final int length,
+      final long origin, final long bound) {
+    checkArrayRange(dest.length, offset, length);
+    checkValidRange(origin, bound);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextLong(origin, bound);
+    }
+  }
+
+  /**
+   * Generates one value at a time, since each one may have to wait for a reseeding.
+   */
+  @Override public void nextDoubles(final double[] dest, final int offset, final int length) {
+    checkArrayRange(dest.length, offset, length);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextDouble();
+    }
+  }
+
+  /**
+   * Generates one value at a time, since each one may have to wait for a reseeding.
+   */
+  @Override public void nextDoubles(final double[] dest, final int offset, final int length,
+      final double origin, final double bound) {
+    checkArrayRange(dest.length, offset, length);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextDouble(origin, bound);
+    }
+  }
+
   /**
    * Returns the seed generator that is used on the calling thread if not registered with a running
    * {@link RandomSeeder}.
@@ -116,6 +189,35 @@ public class EntropyBlockingRandomWrapper<T extends Random> extends RandomWrappe
     onSeedingStateChanged(false);
   }
 
+  /**
+   * Returns false, since blocking until reseeded requires a real lock.
+   *
+   * @return false
+   */
+  @Override public boolean makeUnshared() {
+    return false;
+  }
+
+  /**
+   * Returns null, since substreams wouldn't block until reseeded.
+   *
+   * @return null
+   */
+  @Override @Nullable public LongFunction<BaseRandom> createSubstreams() {
+    return null;
+  }
+
+  /**
+   * Returns false, since {@link #debitEntropy(long)} has to know the exact entropy count to decide
+   * whether to block.
+   *
+   * @param maxDeferredBits ignored
+   * @return false
+   */
+  @Override public boolean deferEntropyDebits(final long maxDeferredBits) {
+    return false;
+  }
+
   @Override protected void debitEntropy(long bits) {
     long remaining;
     while (true) {
@@ -125,7 +227,7 @@ public class EntropyBlockingRandomWrapper<T extends Random> extends RandomWrappe
           // We need reseeding, but don't need to block waiting for it
           RandomSeeder seeder = getRandomSeeder();
           if (seeder != null) {
-            seeder.wakeUp();
+            seeder.requestReseed(this);
           }
         }
         return;
@@ -136,7 +238,7 @@ public class EntropyBlockingRandomWrapper<T extends Random> extends RandomWrappe
         if (seeder != null) {
           waitingOnReseed = true;
           if (seeder.contains(this)) {
-            seeder.wakeUp();
+            seeder.requestReseed(this);
           } else {
             seeder.add(this);
           }
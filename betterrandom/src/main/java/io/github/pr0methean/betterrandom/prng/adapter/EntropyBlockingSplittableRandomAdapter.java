@@ -2,10 +2,12 @@ package io.github.pr0methean.betterrandom.prng.adapter;
 
 import static io.github.pr0methean.betterrandom.util.BinaryUtils.convertBytesToLong;
 
+import io.github.pr0methean.betterrandom.prng.BaseRandom;
 import io.github.pr0methean.betterrandom.seed.RandomSeeder;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
 import java.util.SplittableRandom;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
 import javax.annotation.Nullable;
 
 /**
@@ -64,6 +66,15 @@ public class EntropyBlockingSplittableRandomAdapter extends SplittableRandomAdap
     return threadAdapter;
   }
 
+  /**
+   * Returns null, since substreams wouldn't block until reseeded.
+   *
+   * @return null
+   */
+  @Override @Nullable public LongFunction<BaseRandom> createSubstreams() {
+    return null;
+  }
+
   /**
    * {@inheritDoc} Applies only to the calling thread.
    */
@@ -86,6 +97,87 @@ public class EntropyBlockingSplittableRandomAdapter extends SplittableRandomAdap
     getDelegateWrapper().setSeed(seed);
   }
 
+  /**
+   * Generates one byte at a time, since each one may have to wait for a reseeding.
+   */
+  @SuppressWarnings("NumericCastThatLosesPrecision") @Override public void nextBytes(
+      final byte[] bytes) {
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (nextInt(1 << Byte.SIZE));
+    }
+  }
+
+  /**
+   * Generates one value at a time, since each one may have to wait for a reseeding.
+   */
+  @Override public void nextInts(final int[] dest, final int offset, final int length) {
+    checkArrayRange(dest.length, offset, length);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextInt();
+    }
+  }
+
+  /**
+   * Generates one value at a time, since each one may have to wait for a reseeding.
+   */
+  @Override public void nextInts(final int[] dest, final int offset, final int length,
+      final int origin, final int bound) {
+    checkArrayRange(dest.length, offset, length);
+    checkValidRange(origin, bound);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextInt(origin, bound);
+    }
+  }
+
+  /**
+   * Generates one value at a time, since each one may have to wait for a reseeding.
+   */
+  @Override public void nextLongs(final long[] dest, final int offset, final int length) {
+    checkArrayRange(dest.length, offset, length);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextLong();
+    }
+  }
+
+  /**
+   * Generates one value at a time, since each one may have to wait for a reseeding.
+   */
+  @Override public void nextLongs(final long[] dest, final int offset, final int length,
+      final long origin, final long bound) {
+    checkArrayRange(dest.length, offset, length);
+    checkValidRange(origin, bound);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextLong(origin, bound);
+    }
+  }
+
+  /**
+   * Generates one value at a time, since each one may have to wait for a reseeding.
+   */
+  @Override public void nextDoubles(final double[] dest, final int offset, final int length) {
+    checkArrayRange(dest.length, offset, length);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextDouble();
+    }
+  }
+
+  /**
+   * Generates one value at a time, since each one may have to wait for a reseeding.
+   */
+  @Override public void nextDoubles(final double[] dest, final int offset, final int length,
+      final double origin, final double bound) {
+    checkArrayRange(dest.length, offset, length);
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextDouble(origin, bound);
+    }
+  }
+
   @Override protected SplittableRandom getSplittableRandom() {
     return getDelegateWrapper().getWrapped().getSplittableRandom();
   }
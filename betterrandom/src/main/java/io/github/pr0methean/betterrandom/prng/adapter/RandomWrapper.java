@@ -27,6 +27,8 @@ import io.github.pr0methean.betterrandom.util.Dumpable;
 import io.github.pr0methean.betterrandom.util.EntryPoint;
 import java.security.SecureRandom;
 import java.util.Random;
+import java.util.function.LongFunction;
+import javax.annotation.Nullable;
 
 /**
  * <p>Wraps any {@link Random} as a {@link RepeatableRandom} and {@link ByteArrayReseedableRandom}.
@@ -124,7 +126,7 @@ public class RandomWrapper<T extends Random> extends BaseRandom {
     } else {
       this.seed = seed.clone();
     }
-    entropyBits.set(seed.length * 8L);
+    resetEntropyBits(seed.length * 8L);
     unknownSeed = false;
   }
 
@@ -136,6 +138,15 @@ public class RandomWrapper<T extends Random> extends BaseRandom {
     return true; // Streams should be parallel, in case a parallel PRNG is switched in later
   }
 
+  /**
+   * Returns the wrapped PRNG's substreams if it's a {@link BaseRandom}, and otherwise null.
+   */
+  @Override @Nullable public LongFunction<BaseRandom> createSubstreams() {
+    final T currentWrapped = getWrapped();
+    return (currentWrapped instanceof BaseRandom)
+        ? ((BaseRandom) currentWrapped).createSubstreams() : null;
+  }
+
   @Override protected int next(final int bits) {
     return (bits >= 32) ? getWrapped().nextInt() :
         (bits == 31) ? getWrapped().nextInt() >>> 1 : getWrapped().nextInt(1 << bits);
@@ -173,7 +184,7 @@ public class RandomWrapper<T extends Random> extends BaseRandom {
   }
 
   private void readEntropyOfWrapped(final Random wrapped) {
-    entropyBits.set((wrapped instanceof EntropyCountingRandom) ?
+    resetEntropyBits((wrapped instanceof EntropyCountingRandom) ?
         ((EntropyCountingRandom) wrapped).getEntropyBits() :
         ((wrapped instanceof RepeatableRandom) ?
             (((RepeatableRandom) wrapped).getSeed().length * (long) (Byte.SIZE)) : Long.SIZE));
@@ -323,6 +334,47 @@ public class RandomWrapper<T extends Random> extends BaseRandom {
     return getWrapped().nextLong();
   }
 
+  @Override protected void nextIntsNoEntropyDebit(final int[] dest, final int offset,
+      final int length) {
+    final T currentWrapped = getWrapped();
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = currentWrapped.nextInt();
+    }
+  }
+
+  @Override protected void nextIntsNoEntropyDebit(final int[] dest, final int offset,
+      final int length, final int origin, final int bound) {
+    final int range = bound - origin;
+    if (range < 0) {
+      super.nextIntsNoEntropyDebit(dest, offset, length, origin, bound);
+      return;
+    }
+    final T currentWrapped = getWrapped();
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = currentWrapped.nextInt(range) + origin;
+    }
+  }
+
+  @Override protected void nextLongsNoEntropyDebit(final long[] dest, final int offset,
+      final int length) {
+    final T currentWrapped = getWrapped();
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = currentWrapped.nextLong();
+    }
+  }
+
+  @Override protected void nextDoublesNoEntropyDebit(final double[] dest, final int offset,
+      final int length) {
+    final T currentWrapped = getWrapped();
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = currentWrapped.nextDouble();
+    }
+  }
+
   @Override public boolean nextBoolean() {
     debitEntropy(1);
     return getWrapped().nextBoolean();
@@ -343,4 +395,15 @@ public class RandomWrapper<T extends Random> extends BaseRandom {
     debitEntropy(ENTROPY_OF_DOUBLE);
     return getWrapped().nextGaussian();
   }
+
+  /**
+   * The ziggurat method isn't supported, since {@link #nextGaussian()} delegates to the wrapped
+   * {@link Random}.
+   *
+   * @param ziggurat true to use the ziggurat method; false to use the default
+   * @return true if {@code ziggurat} is false; false otherwise
+   */
+  @Override public boolean useZigguratGaussians(final boolean ziggurat) {
+    return !ziggurat && super.useZigguratGaussians(false);
+  }
 }
@@ -25,12 +25,13 @@ public class ReseedingThreadLocalRandomWrapper<T extends BaseRandom> extends Thr
    *
    * @param initializer a supplier that will be called to provide the initial {@link BaseRandom}
    *     for each thread.
-   * @param seedGenerator The seed generation strategy whose {@link RandomSeeder} will be
-   *     used to reseed each thread's PRNG.
+   * @param seedGenerator The seed generation strategy whose shared {@link RandomSeeder} (see
+   *     {@link RandomSeeder#forSeedGenerator(SeedGenerator)}) will be used to reseed each thread's
+   *     PRNG.
    */
   public ReseedingThreadLocalRandomWrapper(final SeedGenerator seedGenerator,
       final SerializableSupplier<? extends T> initializer) {
-    this(initializer, new RandomSeeder(seedGenerator));
+    this(initializer, RandomSeeder.forSeedGenerator(seedGenerator));
   }
 
   /**
@@ -69,7 +70,7 @@ public class ReseedingThreadLocalRandomWrapper<T extends BaseRandom> extends Thr
    */
   public ReseedingThreadLocalRandomWrapper(final int seedSize, final SeedGenerator seedGenerator,
       final SerializableFunction<byte[], ? extends T> creator) throws SeedException {
-    this(seedSize, new RandomSeeder(seedGenerator), creator, seedGenerator);
+    this(seedSize, RandomSeeder.forSeedGenerator(seedGenerator), creator, seedGenerator);
   }
 
   /**
@@ -55,14 +55,14 @@ public class SplittableRandomAdapter extends BaseSplittableRandomAdapter {
 
   /**
    * Creates an instance that uses the same {@link SeedGenerator} for reseeding and for initial
-   * seeding, and whose {@link RandomSeeder} uses a
-   * {@link RandomSeeder.DefaultThreadFactory}.
+   * seeding, and whose {@link RandomSeeder} is the shared one from
+   * {@link RandomSeeder#forSeedGenerator(SeedGenerator)}.
    *
    * @param seedGenerator the seed generator that will generate an initial seed for each thread
    * @throws SeedException if {@code seedGenerator} fails to generate an initial seed
    */
   public SplittableRandomAdapter(final SeedGenerator seedGenerator) {
-    this(seedGenerator, new RandomSeeder(seedGenerator));
+    this(seedGenerator, RandomSeeder.forSeedGenerator(seedGenerator));
   }
 
   /**
@@ -92,6 +92,26 @@ public class SplittableRandomAdapter extends BaseSplittableRandomAdapter {
     }
   }
 
+  /**
+   * Returns false, since this adapter is meant to be shared; each thread's {@link SplittableRandom}
+   * is already unsynchronized.
+   *
+   * @return false
+   */
+  @Override public boolean makeUnshared() {
+    return false;
+  }
+
+  /**
+   * Returns false, since entropy is counted separately for each thread and is never contended.
+   *
+   * @param maxDeferredBits ignored
+   * @return false
+   */
+  @Override public boolean deferEntropyDebits(final long maxDeferredBits) {
+    return false;
+  }
+
   @Override public boolean usesParallelStreams() {
     return true;
   }
@@ -110,6 +130,17 @@ public class SplittableRandomAdapter extends BaseSplittableRandomAdapter {
     return threadLocal.get().nextGaussian();
   }
 
+  /**
+   * The ziggurat method isn't supported, since {@link #nextGaussian()} delegates to a per-thread
+   * instance.
+   *
+   * @param ziggurat true to use the ziggurat method; false to use the default
+   * @return true if {@code ziggurat} is false; false otherwise
+   */
+  @Override public boolean useZigguratGaussians(final boolean ziggurat) {
+    return !ziggurat && super.useZigguratGaussians(false);
+  }
+
   @Override protected void debitEntropy(final long bits) {
     // Necessary because our inherited next* methods read straight through to the SplittableRandom.
     ((SingleThreadSplittableRandomAdapter) threadLocal.get()).debitEntropy(bits);
@@ -19,7 +19,9 @@ import javax.annotation.Nullable;
 
 /**
  * Wraps a {@link ThreadLocal}&lt;{@link BaseRandom}&gt; in order to provide concurrency that most
- * implementations of {@link BaseRandom} can't implement naturally.
+ * implementations of {@link BaseRandom} can't implement naturally. Since each thread's {@link
+ * BaseRandom} is only ever used by that thread, it's put into single-owner mode (see {@link
+ * BaseRandom#makeUnshared()}) unless it has a {@link RandomSeeder}.
  */
 public class ThreadLocalRandomWrapper<T extends BaseRandom> extends RandomWrapper<T> {
 
@@ -44,9 +46,15 @@ public class ThreadLocalRandomWrapper<T extends BaseRandom> extends RandomWrappe
     this.seedSize = seedSize;
     initializer = () -> {
       threadsInitializedFor.add(Thread.currentThread());
-      return undecoratedInitializer.get();
+      final T out = undecoratedInitializer.get();
+      out.makeUnshared();
+      return out;
+    };
+    this.initializerForSeed = seed -> {
+      final T out = initializerForSeed.apply(seed);
+      out.makeUnshared();
+      return out;
     };
-    this.initializerForSeed = initializerForSeed;
     threadLocal = ThreadLocal.withInitial(initializer);
   }
 
@@ -112,6 +120,26 @@ public class ThreadLocalRandomWrapper<T extends BaseRandom> extends RandomWrappe
     }
   }
 
+  /**
+   * Returns false, since this wrapper is meant to be shared; the PRNGs it wraps are already in
+   * single-owner mode where possible.
+   *
+   * @return false
+   */
+  @Override public boolean makeUnshared() {
+    return false;
+  }
+
+  /**
+   * Returns false, since entropy is counted separately for each thread and is never contended.
+   *
+   * @param maxDeferredBits ignored
+   * @return false
+   */
+  @Override public boolean deferEntropyDebits(final long maxDeferredBits) {
+    return false;
+  }
+
   @Override protected boolean withProbabilityInternal(double probability) {
     throw new AssertionError("Caller should be delegating at a higher level");
   }
@@ -136,6 +164,33 @@ public class ThreadLocalRandomWrapper<T extends BaseRandom> extends RandomWrappe
     return getWrapped().nextLong(origin, bound);
   }
 
+  @Override public void nextInts(final int[] dest, final int offset, final int length) {
+    getWrapped().nextInts(dest, offset, length);
+  }
+
+  @Override public void nextInts(final int[] dest, final int offset, final int length,
+      final int origin, final int bound) {
+    getWrapped().nextInts(dest, offset, length, origin, bound);
+  }
+
+  @Override public void nextLongs(final long[] dest, final int offset, final int length) {
+    getWrapped().nextLongs(dest, offset, length);
+  }
+
+  @Override public void nextLongs(final long[] dest, final int offset, final int length,
+      final long origin, final long bound) {
+    getWrapped().nextLongs(dest, offset, length, origin, bound);
+  }
+
+  @Override public void nextDoubles(final double[] dest, final int offset, final int length) {
+    getWrapped().nextDoubles(dest, offset, length);
+  }
+
+  @Override public void nextDoubles(final double[] dest, final int offset, final int length,
+      final double origin, final double bound) {
+    getWrapped().nextDoubles(dest, offset, length, origin, bound);
+  }
+
   @Override public T getWrapped() {
     return threadLocal.get();
   }
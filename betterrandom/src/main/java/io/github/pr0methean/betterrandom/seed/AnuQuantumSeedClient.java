@@ -72,7 +72,6 @@ public class AnuQuantumSeedClient extends WebSeedClient {
           getStringAndCheckLength(byteStrings, stringCount - 1, 2 * stringLength)
               .substring(0, usedLengthOfLastString * 2),
           seed, offset + stringLength * (stringCount - 1));
-      connection.disconnect();
     } catch (IllegalArgumentException e) {
       throw new SeedException("qrng.anu.edu.au returned malformed JSON", e);
     }
@@ -3,17 +3,34 @@ package io.github.pr0methean.betterrandom.seed;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
 
 /**
- * A seed generator that wraps another, maintaining a buffer of previously-fetched bytes to
+ * <p>A seed generator that wraps another, maintaining a buffer of previously-fetched bytes to
  * reduce the number of I/O calls. The buffer is only used when the requested seed is strictly
- * smaller than the buffer.
+ * smaller than the buffer.</p>
+ *
+ * <p>In prefetching mode, there is also a spare buffer. Once no more than a low-water mark of
+ * bytes remain in the active buffer, the spare is refilled in the background using {@link
+ * SeedGenerator#generateSeedAsync(int, java.util.concurrent.Executor)}, so that when the active
+ * buffer runs out, the two can usually be swapped without waiting for the delegate.</p>
  */
 public class BufferedSeedGenerator implements SeedGenerator {
   private static final long serialVersionUID = -2100305696539110970L;
 
+  /**
+   * Runs the background refills of the spare buffers for all instances in prefetching mode.
+   */
+  private static final ExecutorService PREFETCH_EXECUTOR = Executors.newCachedThreadPool(
+      new RandomSeeder.DefaultThreadFactory("BufferedSeedGenerator prefetch"));
+
   private final SeedGenerator delegate;
   /**
    * This could be replaced with a ReentrantReadWriteLock, with buffer consumption using the read
@@ -28,18 +45,42 @@ public class BufferedSeedGenerator implements SeedGenerator {
    */
   private final Lock lock = new ReentrantLock(true);
   private final int size;
+  private final int lowWaterMark;
   private transient byte[] buffer;
   private transient volatile int pos;
+  /**
+   * The refill of the spare buffer, if one has been started and not yet swapped in. Guarded by
+   * {@link #lock}.
+   */
+  @Nullable private transient volatile CompletableFuture<byte[]> spare;
+  private transient LongAdder hits;
+  private transient LongAdder misses;
 
   /**
-   * Creates an instance.
+   * Creates an instance that only refills its buffer when a request finds it empty.
    *
    * @param delegate the SeedGenerator to wrap
    * @param size the buffer size in bytes
    */
   public BufferedSeedGenerator(SeedGenerator delegate, int size) {
+    this(delegate, size, 0);
+  }
+
+  /**
+   * Creates an instance, which is in prefetching mode if {@code lowWaterMark} is positive.
+   *
+   * @param delegate the SeedGenerator to wrap
+   * @param size the size in bytes of each buffer
+   * @param lowWaterMark when a request leaves this many or fewer bytes in the active buffer, the
+   *     spare buffer is refilled in the background; or 0 to disable prefetching
+   */
+  public BufferedSeedGenerator(SeedGenerator delegate, int size, int lowWaterMark) {
+    if (lowWaterMark < 0 || lowWaterMark >= size) {
+      throw new IllegalArgumentException("lowWaterMark must be at least 0 and less than size");
+    }
     this.delegate = delegate;
     this.size = size;
+    this.lowWaterMark = lowWaterMark;
     initTransientFields();
   }
 
@@ -51,10 +92,13 @@ public class BufferedSeedGenerator implements SeedGenerator {
   private void initTransientFields() {
     buffer = new byte[size];
     pos = size;
+    hits = new LongAdder();
+    misses = new LongAdder();
   }
 
   @Override public void generateSeed(byte[] output) throws SeedException {
     if (output.length >= size) {
+      misses.increment();
       delegate.generateSeed(output);
       return;
     }
@@ -65,24 +109,80 @@ public class BufferedSeedGenerator implements SeedGenerator {
       if (available >= output.length) {
         System.arraycopy(buffer, curPos, output, 0, output.length);
         curPos += output.length;
+        hits.increment();
       } else {
         System.arraycopy(buffer, curPos, output, 0, available);
-        delegate.generateSeed(buffer);
+        if (refill()) {
+          hits.increment();
+        } else {
+          misses.increment();
+        }
         curPos = output.length - available;
         System.arraycopy(buffer, 0, output, available, curPos);
       }
       pos = curPos;
+      if (lowWaterMark > 0 && spare == null && size - curPos <= lowWaterMark) {
+        spare = delegate.generateSeedAsync(size, PREFETCH_EXECUTOR);
+      }
     } finally {
       lock.unlock();
     }
   }
 
+  /**
+   * Refills the active buffer, by swapping in the spare if it's been refilled successfully or
+   * otherwise by calling the delegate. Must be called while holding {@link #lock}.
+   *
+   * @return true if the spare was ready, so we didn't have to wait for the delegate
+   */
+  private boolean refill() {
+    final CompletableFuture<byte[]> currentSpare = spare;
+    if (currentSpare != null) {
+      spare = null;
+      final boolean ready = currentSpare.isDone();
+      try {
+        buffer = currentSpare.join();
+        return ready;
+      } catch (final CompletionException e) {
+        // Try again synchronously, so the caller gets any exception directly
+      }
+    }
+    delegate.generateSeed(buffer);
+    return false;
+  }
+
+  /**
+   * Returns the number of requests that were served entirely from buffered bytes, without waiting
+   * for the delegate. Not serialized.
+   *
+   * @return the number of hits
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of requests that had to wait for the delegate, including those too large to
+   * use the buffer. Not serialized.
+   *
+   * @return the number of misses
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
   @Override public boolean isWorthTrying() {
-    return pos < size || delegate.isWorthTrying();
+    final CompletableFuture<byte[]> currentSpare = spare;
+    return pos < size
+        || (currentSpare != null && currentSpare.isDone()
+            && !currentSpare.isCompletedExceptionally())
+        || delegate.isWorthTrying();
   }
 
   @Override public String toString() {
-    return String.format("BufferedSeedGenerator(%s,%d)", delegate, size);
+    return (lowWaterMark > 0)
+        ? String.format("BufferedSeedGenerator(%s,%d,%d)", delegate, size, lowWaterMark)
+        : String.format("BufferedSeedGenerator(%s,%d)", delegate, size);
   }
 
   @Override public boolean equals(Object o) {
@@ -93,10 +193,11 @@ public class BufferedSeedGenerator implements SeedGenerator {
       return false;
     }
     BufferedSeedGenerator that = (BufferedSeedGenerator) o;
-    return size == that.size && delegate.equals(that.delegate);
+    return size == that.size && lowWaterMark == that.lowWaterMark
+        && delegate.equals(that.delegate);
   }
 
   @Override public int hashCode() {
-    return Objects.hash(delegate, size);
+    return Objects.hash(delegate, size, lowWaterMark);
   }
 }
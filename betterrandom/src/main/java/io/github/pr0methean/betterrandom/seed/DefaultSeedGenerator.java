@@ -15,6 +15,7 @@
 // ============================================================================
 package io.github.pr0methean.betterrandom.seed;
 
+import java.io.File;
 import java.time.Duration;
 
 /**
@@ -31,6 +32,13 @@ import java.time.Duration;
  * <li>{@link RandomDotOrgAnonymousClient} with 625-byte buffer</li>
  * <li>{@link SecureRandomSeedGenerator} with no buffer</li>
  * </ol><p>
+ * Each source's requests are recorded in the {@link SeedMetrics} named {@value #METRICS_PREFIX}
+ * followed by its class name, so it can be seen through JMX which of them is serving seeds.
+ * </p><p>
+ * If the system property {@value #SEED_FILE_PROPERTY} is set, these are wrapped in a {@link
+ * SeedFileSeedGenerator} that keeps a seed file at that path, so that seeds are available without
+ * waiting for any of them when the JVM starts.
+ * </p><p>
  * The reasons to use DefaultSeedGenerator rather than its delegate directly are twofold:
  * </p><ul>
  * <li>{@link RandomSeeder} instances that are serialized and deserialized will respect any change
@@ -50,14 +58,40 @@ public enum DefaultSeedGenerator implements SeedGenerator {
   DEFAULT_SEED_GENERATOR;
 
   public static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(10);
+
+  /**
+   * System property that, if set, is the path of a seed file for the default delegate to keep.
+   */
+  public static final String SEED_FILE_PROPERTY = "io.github.pr0methean.betterrandom.seedFile";
+
+  /**
+   * Prefix of the names of the {@link SeedMetrics} that record the requests each source of the
+   * default delegate serves.
+   */
+  public static final String METRICS_PREFIX = "DefaultSeedGenerator:";
+
   private static final WebSeedClientConfiguration defaultWebConfig
       = new WebSeedClientConfiguration.Builder().setRetryDelay(DEFAULT_RETRY_DELAY).build();
 
-  private static volatile SeedGenerator delegate = new SeedGeneratorPreferenceList(true,
-      new BufferedSeedGenerator(DevRandomSeedGenerator.DEV_RANDOM_SEED_GENERATOR, 128),
-      new BufferedSeedGenerator(new AnuQuantumSeedClient(defaultWebConfig), 1024),
-      new BufferedSeedGenerator(new RandomDotOrgAnonymousClient(defaultWebConfig), 625),
-      SecureRandomSeedGenerator.DEFAULT_INSTANCE);
+  private static volatile SeedGenerator delegate = createDefaultDelegate();
+
+  private static SeedGenerator instrument(String name, SeedGenerator source) {
+    return new InstrumentedSeedGenerator(source, METRICS_PREFIX + name);
+  }
+
+  private static SeedGenerator createDefaultDelegate() {
+    final SeedGenerator preferenceList = new SeedGeneratorPreferenceList(true,
+        instrument("DevRandomSeedGenerator",
+            new BufferedSeedGenerator(DevRandomSeedGenerator.DEV_RANDOM_SEED_GENERATOR, 128)),
+        instrument("AnuQuantumSeedClient",
+            new BufferedSeedGenerator(new AnuQuantumSeedClient(defaultWebConfig), 1024)),
+        instrument("RandomDotOrgAnonymousClient",
+            new BufferedSeedGenerator(new RandomDotOrgAnonymousClient(defaultWebConfig), 625)),
+        instrument("SecureRandomSeedGenerator", SecureRandomSeedGenerator.DEFAULT_INSTANCE));
+    final String seedFile = System.getProperty(SEED_FILE_PROPERTY);
+    return (seedFile == null) ? preferenceList
+        : new SeedFileSeedGenerator(new File(seedFile), preferenceList);
+  }
 
   /**
    * Returns the current delegate used by this class's singleton instance.
@@ -19,6 +19,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import javax.annotation.Nullable;
 
 /**
@@ -84,6 +86,21 @@ public enum DevRandomSeedGenerator implements SeedGenerator {
     }
   }
 
+  /**
+   * Fails immediately, without using the executor, if {@literal /dev/random} isn't available.
+   * Otherwise, reads from it on the executor.
+   */
+  @Override public CompletableFuture<byte[]> generateSeedAsync(final int length,
+      final Executor executor) {
+    if (!isWorthTrying()) {
+      final CompletableFuture<byte[]> failure = new CompletableFuture<>();
+      failure.completeExceptionally(
+          new SeedException(DEV_RANDOM_STRING + " does not exist", initException));
+      return failure;
+    }
+    return CompletableFuture.supplyAsync(() -> generateSeed(length), executor);
+  }
+
   @Override public boolean isWorthTrying() {
     return inputStream != null;
   }
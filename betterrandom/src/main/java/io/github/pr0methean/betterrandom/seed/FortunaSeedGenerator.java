@@ -0,0 +1,393 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import com.google.common.collect.ImmutableList;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.ref.WeakReference;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+
+/**
+ * <p>A {@link SeedGenerator} based on the accumulator of the Fortuna CSPRNG (Ferguson and Schneier,
+ * <i>Practical Cryptography</i>, chapter 10). Rather than using only one source per call as {@link
+ * SeedGeneratorPreferenceList} does, it continually collects small amounts of entropy in the
+ * background from all of its sources, plus the timing jitter of their responses, into {@value
+ * #POOL_COUNT} pools of SHA-256 hashes. Seeds are generated from a key that's periodically reseeded
+ * from those pools, so requests don't wait for any source once the first reseed has happened, and a
+ * source that fails or is compromised doesn't stop the others from contributing.</p>
+ *
+ * <p>Differences from Fortuna: the key is expanded by hashing it with a counter, rather than by
+ * AES in counter mode; and if a seed is requested before the first reseed, the sources are asked
+ * for entropy directly, in order, until one of them succeeds.</p>
+ */
+public class FortunaSeedGenerator implements SeedGenerator {
+
+  private static final long serialVersionUID = -3398238725386745837L;
+
+  /**
+   * Number of entropy pools. Pool <i>i</i> is used in every 2<sup><i>i</i></sup>th reseed.
+   */
+  public static final int POOL_COUNT = 32;
+
+  /**
+   * Default interval between requests for entropy to each source.
+   */
+  public static final Duration DEFAULT_COLLECTION_INTERVAL = Duration.ofSeconds(1);
+
+  /**
+   * Number of bytes requested from a source at a time.
+   */
+  private static final int EVENT_SIZE = 32;
+
+  /**
+   * Number of bytes that must have been added to pool 0 before a reseed.
+   */
+  private static final int MIN_POOL_SIZE = 64;
+
+  private static final long MIN_RESEED_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final int HASH_LENGTH = 32;
+
+  /**
+   * Runs the scheduled entropy collection for all instances.
+   */
+  private static final ScheduledThreadPoolExecutor COLLECTION_EXECUTOR;
+
+  /**
+   * Runs the requests to the sources, so that a slow source doesn't delay the others.
+   */
+  private static final ExecutorService SOURCE_EXECUTOR = Executors.newCachedThreadPool(
+      new RandomSeeder.DefaultThreadFactory("FortunaSeedGenerator source"));
+
+  static {
+    final ScheduledThreadPoolExecutor collectionExecutor = new ScheduledThreadPoolExecutor(1,
+        new RandomSeeder.DefaultThreadFactory("FortunaSeedGenerator collector"));
+    collectionExecutor.setRemoveOnCancelPolicy(true);
+    COLLECTION_EXECUTOR = collectionExecutor;
+  }
+
+  private final ImmutableList<SeedGenerator> sources;
+  private final long collectionIntervalNanos;
+  private final Lock lock = new ReentrantLock();
+
+  /**
+   * The entropy pools. Guarded by {@link #lock}.
+   */
+  private transient MessageDigest[] pools;
+  /**
+   * Number of bytes added to pool 0 since the last reseed. Guarded by {@link #lock}.
+   */
+  private transient long pool0Size;
+  /**
+   * For each source, and finally for the timing jitter, the pool its next event goes into. Guarded
+   * by {@link #lock}.
+   */
+  private transient int[] nextPool;
+  /**
+   * Number of reseeds so far. Guarded by {@link #lock}.
+   */
+  private transient long reseedCount;
+  private transient long lastReseedNanos;
+  /**
+   * Key that seeds are generated from. Guarded by {@link #lock}.
+   */
+  private transient byte[] key;
+  private transient long counter;
+  /**
+   * Hash used for reseeding and for generating seeds. Guarded by {@link #lock}.
+   */
+  private transient MessageDigest generatorHash;
+  /**
+   * For each source, its request that hasn't completed yet, if any. Only accessed on {@link
+   * #COLLECTION_EXECUTOR}.
+   */
+  private transient CompletableFuture<?>[] requestsInFlight;
+  /**
+   * When {@link #collect()} last ran. Only accessed on {@link #COLLECTION_EXECUTOR}.
+   */
+  private transient long lastCollectionNanos;
+
+  /**
+   * Creates an instance.
+   *
+   * @param sources the sources to collect entropy from
+   * @param collectionInterval the time between requests for entropy to each source
+   */
+  @EntryPoint public FortunaSeedGenerator(Collection<? extends SeedGenerator> sources,
+      Duration collectionInterval) {
+    if (sources.isEmpty()) {
+      throw new IllegalArgumentException("Need at least one source");
+    }
+    if (collectionInterval.isNegative() || collectionInterval.isZero()) {
+      throw new IllegalArgumentException("collectionInterval must be positive");
+    }
+    this.sources = ImmutableList.copyOf(sources);
+    this.collectionIntervalNanos = collectionInterval.toNanos();
+    initTransientFields();
+  }
+
+  /**
+   * Creates an instance that collects from each source every {@link
+   * #DEFAULT_COLLECTION_INTERVAL}.
+   *
+   * @param sources the sources to collect entropy from
+   */
+  @EntryPoint public FortunaSeedGenerator(SeedGenerator... sources) {
+    this(Arrays.asList(sources), DEFAULT_COLLECTION_INTERVAL);
+  }
+
+  private static MessageDigest createHash() {
+    try {
+      return MessageDigest.getInstance(HASH_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new InternalError("Required hash algorithm missing");
+    }
+  }
+
+  private void initTransientFields() {
+    pools = new MessageDigest[POOL_COUNT];
+    for (int i = 0; i < POOL_COUNT; i++) {
+      pools[i] = createHash();
+    }
+    nextPool = new int[sources.size() + 1];
+    key = new byte[HASH_LENGTH];
+    generatorHash = createHash();
+    requestsInFlight = new CompletableFuture<?>[sources.size()];
+    lastCollectionNanos = System.nanoTime();
+    COLLECTION_EXECUTOR.scheduleWithFixedDelay(new Collector(this), 0,
+        collectionIntervalNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    initTransientFields();
+  }
+
+  /**
+   * Requests entropy from each source that's worth trying and isn't still busy with the previous
+   * request, and adds the timing jitter since the previous collection.
+   */
+  private void collect() {
+    final long now = System.nanoTime();
+    addEvent(sources.size(), longToBytes(now - lastCollectionNanos));
+    lastCollectionNanos = now;
+    for (int i = 0; i < sources.size(); i++) {
+      final SeedGenerator source = sources.get(i);
+      if ((requestsInFlight[i] != null && !requestsInFlight[i].isDone())
+          || !source.isWorthTrying()) {
+        continue;
+      }
+      final int sourceIndex = i;
+      try {
+        requestsInFlight[i] = source.generateSeedAsync(EVENT_SIZE, SOURCE_EXECUTOR)
+            .thenAccept(seed -> {
+              addEvent(sourceIndex, seed);
+              // How long the source took is also slightly unpredictable
+              addEvent(sources.size(), longToBytes(System.nanoTime()));
+            });
+      } catch (final RuntimeException ignored) {
+        // Try again next time; a failed source mustn't stop collection from the others
+      }
+    }
+  }
+
+  private static byte[] longToBytes(long input) {
+    final byte[] output = new byte[Long.BYTES];
+    for (int i = 0; i < Long.BYTES; i++) {
+      output[i] = (byte) (input >>> (8 * i));
+    }
+    return output;
+  }
+
+  /**
+   * Adds entropy to the next pool in turn for the given source.
+   *
+   * @param sourceIndex the index of the source in {@link #sources}, or its size for timing jitter
+   * @param data the entropy to add
+   */
+  private void addEvent(int sourceIndex, byte[] data) {
+    lock.lock();
+    try {
+      final int pool = nextPool[sourceIndex];
+      nextPool[sourceIndex] = (pool + 1) % POOL_COUNT;
+      pools[pool].update((byte) sourceIndex);
+      pools[pool].update((byte) data.length);
+      pools[pool].update(data);
+      if (pool == 0) {
+        pool0Size += data.length + 2;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reseeds the key from the pools, if pool 0 has enough entropy and the previous reseed wasn't
+   * too recent. Must be called while holding {@link #lock}.
+   *
+   * @param force whether to reseed even if pool 0 has too little entropy
+   * @return whether the key was reseeded
+   */
+  private boolean reseedIfReady(boolean force) {
+    final long now = System.nanoTime();
+    if (!force && (pool0Size < MIN_POOL_SIZE
+        || (reseedCount > 0 && now - lastReseedNanos < MIN_RESEED_INTERVAL_NANOS))) {
+      return false;
+    }
+    reseedCount++;
+    lastReseedNanos = now;
+    generatorHash.update(key);
+    for (int i = 0; i < POOL_COUNT; i++) {
+      // Pool i is used in every 2^i-th reseed, so that some pools accumulate enough entropy to
+      // recover from a compromise no matter how fast an attacker can inject events
+      if (i > 0 && (reseedCount & ((1L << i) - 1)) != 0) {
+        break;
+      }
+      generatorHash.update(pools[i].digest());
+    }
+    key = generatorHash.digest();
+    pool0Size = 0;
+    return true;
+  }
+
+  /**
+   * Asks the sources, in order, for entropy to add to pool 0 until one of them succeeds, and then
+   * reseeds. Used when a seed is requested before the first reseed. Must be called while holding
+   * {@link #lock}.
+   *
+   * @throws SeedException if no source succeeds
+   */
+  private void seedFromFirstWorkingSource() throws SeedException {
+    @Nullable SeedException lastFailure = null;
+    for (final SeedGenerator source : sources) {
+      if (!source.isWorthTrying()) {
+        continue;
+      }
+      try {
+        final byte[] seed = source.generateSeed(EVENT_SIZE);
+        pools[0].update(seed);
+        reseedIfReady(true);
+        return;
+      } catch (final SeedException e) {
+        lastFailure = e;
+      }
+    }
+    throw (lastFailure == null)
+        ? new SeedException("No seed generation strategies are available.")
+        : new SeedException("All available seed generation strategies failed.", lastFailure);
+  }
+
+  @Override public void generateSeed(byte[] output) throws SeedException {
+    lock.lock();
+    try {
+      if (!reseedIfReady(false) && reseedCount == 0) {
+        seedFromFirstWorkingSource();
+      }
+      int offset = 0;
+      while (offset < output.length) {
+        final byte[] block = nextBlock();
+        final int length = Math.min(block.length, output.length - offset);
+        System.arraycopy(block, 0, output, offset, length);
+        offset += length;
+      }
+      // Replace the key, so that this seed can't be recovered from a later state
+      key = nextBlock();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the hash of the key and the next counter value. Must be called while holding {@link
+   * #lock}.
+   *
+   * @return the next block of output
+   */
+  private byte[] nextBlock() {
+    generatorHash.update(key);
+    generatorHash.update(longToBytes(counter));
+    counter++;
+    return generatorHash.digest();
+  }
+
+  /**
+   * Returns the number of times the key has been reseeded from the pools.
+   *
+   * @return the number of reseeds so far
+   */
+  public long getReseedCount() {
+    lock.lock();
+    try {
+      return reseedCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns true if the key has been reseeded, or if any source is worth trying.
+   */
+  @Override public boolean isWorthTrying() {
+    if (getReseedCount() > 0) {
+      return true;
+    }
+    for (final SeedGenerator source : sources) {
+      if (source.isWorthTrying()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override public String toString() {
+    return String.format("FortunaSeedGenerator(%s,%d)", sources, collectionIntervalNanos);
+  }
+
+  @Override public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    FortunaSeedGenerator that = (FortunaSeedGenerator) o;
+    return collectionIntervalNanos == that.collectionIntervalNanos && sources.equals(that.sources);
+  }
+
+  @Override public int hashCode() {
+    return Objects.hash(sources, collectionIntervalNanos);
+  }
+
+  /**
+   * Collects entropy for a {@link FortunaSeedGenerator} until it's garbage-collected.
+   */
+  private static final class Collector implements Runnable {
+    private final WeakReference<FortunaSeedGenerator> generator;
+
+    private Collector(FortunaSeedGenerator generator) {
+      this.generator = new WeakReference<>(generator);
+    }
+
+    @Override public void run() {
+      final FortunaSeedGenerator generator = this.generator.get();
+      if (generator == null) {
+        // Stops the scheduled task
+        throw new IllegalStateException("FortunaSeedGenerator has been garbage-collected");
+      }
+      generator.collect();
+    }
+  }
+}
@@ -0,0 +1,279 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>A seed generator that wraps another and runs the continuous health tests of NIST SP 800-90B
+ * section 4.4, the repetition count test and the adaptive proportion test, on every byte it
+ * returns. Both tests use running counters that persist across requests, so they catch a source
+ * that has become stuck or lost entropy without allocating or buffering anything.</p>
+ *
+ * <p>When a test fails, the request throws a {@link SeedException} and {@link #isWorthTrying()}
+ * returns false until the retry delay has passed, so that a {@link SeedGeneratorPreferenceList}
+ * moves on to its next delegate. The tests then restart from scratch. To test the bytes as they
+ * come from the source, wrap this in a {@link BufferedSeedGenerator} rather than the other way
+ * round.</p>
+ *
+ * <p>The tests' cutoffs are derived from the min-entropy per byte that the source is assessed to
+ * provide, with a false-positive probability of 2<sup>-{@value #LOG2_FALSE_POSITIVE_RATE}</sup>
+ * per test per byte.</p>
+ */
+public class HealthTestingSeedGenerator implements SeedGenerator {
+
+  private static final long serialVersionUID = 2977391740123452098L;
+
+  /**
+   * Default assessed min-entropy per byte: that of a full-entropy source.
+   */
+  public static final double DEFAULT_ENTROPY_PER_BYTE = Byte.SIZE;
+
+  /**
+   * Negated base-2 logarithm of the false-positive probability of each test; SP 800-90B requires
+   * it to be between 20 and 40.
+   */
+  private static final int LOG2_FALSE_POSITIVE_RATE = 30;
+
+  /**
+   * Window size of the adaptive proportion test for non-binary samples, from SP 800-90B.
+   */
+  private static final int ADAPTIVE_PROPORTION_WINDOW = 512;
+
+  private final SeedGenerator delegate;
+  private final double entropyPerByte;
+  private final long retryDelayNanos;
+  private final Lock lock = new ReentrantLock();
+  private transient int repetitionCountCutoff;
+  private transient int adaptiveProportionCutoff;
+
+  /**
+   * The previous byte, for the repetition count test. Guarded by {@link #lock}.
+   */
+  private transient byte lastByte;
+  /**
+   * Number of times in a row that {@link #lastByte} has been seen. Guarded by {@link #lock}.
+   */
+  private transient int repetitionCount;
+  /**
+   * The first byte of the current adaptive proportion test window. Guarded by {@link #lock}.
+   */
+  private transient byte windowFirstByte;
+  /**
+   * Number of times {@link #windowFirstByte} has been seen in the current window. Guarded by
+   * {@link #lock}.
+   */
+  private transient int windowFirstByteCount;
+  /**
+   * Number of bytes seen in the current window, or 0 to start a new window. Guarded by {@link
+   * #lock}.
+   */
+  private transient int windowPosition;
+  /**
+   * {@link System#nanoTime()} when a test last failed. Guarded by {@link #lock}.
+   */
+  private transient long lastFailureNanos;
+  private transient boolean hasFailed;
+  private transient LongAdder failures;
+
+  /**
+   * Creates an instance for a full-entropy source, which becomes worth trying again {@link
+   * DefaultSeedGenerator#DEFAULT_RETRY_DELAY} after a test fails.
+   *
+   * @param delegate the seed generator to test
+   */
+  @EntryPoint public HealthTestingSeedGenerator(SeedGenerator delegate) {
+    this(delegate, DEFAULT_ENTROPY_PER_BYTE, DefaultSeedGenerator.DEFAULT_RETRY_DELAY);
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param delegate the seed generator to test
+   * @param entropyPerByte the assessed min-entropy per byte of {@code delegate}'s output, in bits;
+   *     must be greater than 0 and at most 8
+   * @param retryDelay how long to treat {@code delegate} as not worth trying after a test fails
+   */
+  @EntryPoint public HealthTestingSeedGenerator(SeedGenerator delegate, double entropyPerByte,
+      Duration retryDelay) {
+    if (!(entropyPerByte > 0 && entropyPerByte <= Byte.SIZE)) {
+      throw new IllegalArgumentException("entropyPerByte must be greater than 0 and at most 8");
+    }
+    if (retryDelay.isNegative()) {
+      throw new IllegalArgumentException("retryDelay must not be negative");
+    }
+    this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+    this.entropyPerByte = entropyPerByte;
+    this.retryDelayNanos = retryDelay.toNanos();
+    initTransientFields();
+  }
+
+  /**
+   * Returns the smallest count of the first byte of a window that has a probability of at most
+   * 2<sup>-{@value #LOG2_FALSE_POSITIVE_RATE}</sup> in a source with the given min-entropy. This is
+   * the critical value of the binomial distribution that SP 800-90B specifies.
+   *
+   * @param entropyPerByte the assessed min-entropy per byte
+   * @return the cutoff for the adaptive proportion test
+   */
+  private static int calculateAdaptiveProportionCutoff(double entropyPerByte) {
+    final double logP = -entropyPerByte * Math.log(2);
+    final double logQ = Math.log1p(-Math.exp(logP));
+    final double falsePositiveRate = Math.pow(2, -LOG2_FALSE_POSITIVE_RATE);
+    // Log of the binomial coefficient, for k = 0 to the window size
+    final double[] logChoose = new double[ADAPTIVE_PROPORTION_WINDOW + 1];
+    for (int k = 0; k < ADAPTIVE_PROPORTION_WINDOW; k++) {
+      logChoose[k + 1] = logChoose[k] + Math.log(ADAPTIVE_PROPORTION_WINDOW - k) - Math.log(k + 1);
+    }
+    // Sum the upper tail until it exceeds the false-positive rate
+    double upperTail = 0;
+    for (int k = ADAPTIVE_PROPORTION_WINDOW; k > 0; k--) {
+      upperTail += Math.exp(logChoose[k] + k * logP + (ADAPTIVE_PROPORTION_WINDOW - k) * logQ);
+      if (upperTail > falsePositiveRate) {
+        return k + 1;
+      }
+    }
+    return 1;
+  }
+
+  private void initTransientFields() {
+    repetitionCountCutoff = 1 + (int) Math.ceil(LOG2_FALSE_POSITIVE_RATE / entropyPerByte);
+    adaptiveProportionCutoff = calculateAdaptiveProportionCutoff(entropyPerByte);
+    failures = new LongAdder();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    initTransientFields();
+  }
+
+  @Override public void generateSeed(byte[] output) throws SeedException {
+    delegate.generateSeed(output);
+    test(output);
+  }
+
+  @Override public CompletableFuture<byte[]> generateSeedAsync(int length, Executor executor) {
+    return delegate.generateSeedAsync(length, executor).thenApply(seed -> {
+      test(seed);
+      return seed;
+    });
+  }
+
+  /**
+   * Runs both tests on the given bytes.
+   *
+   * @param seed bytes from {@link #delegate}
+   * @throws SeedException if either test fails
+   */
+  private void test(byte[] seed) throws SeedException {
+    lock.lock();
+    try {
+      for (final byte b : seed) {
+        if (b == lastByte && repetitionCount > 0) {
+          if (++repetitionCount >= repetitionCountCutoff) {
+            fail(String.format("%s failed the repetition count test", delegate));
+          }
+        } else {
+          lastByte = b;
+          repetitionCount = 1;
+        }
+        if (windowPosition == 0) {
+          windowFirstByte = b;
+          windowFirstByteCount = 1;
+        } else if (b == windowFirstByte
+            && ++windowFirstByteCount >= adaptiveProportionCutoff) {
+          fail(String.format("%s failed the adaptive proportion test", delegate));
+        }
+        windowPosition = (windowPosition + 1) % ADAPTIVE_PROPORTION_WINDOW;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Records a test failure, restarts the tests and throws. Must be called while holding {@link
+   * #lock}.
+   *
+   * @param message the exception message
+   * @throws SeedException always
+   */
+  private void fail(String message) throws SeedException {
+    failures.increment();
+    hasFailed = true;
+    lastFailureNanos = System.nanoTime();
+    repetitionCount = 0;
+    windowPosition = 0;
+    throw new SeedException(message);
+  }
+
+  /**
+   * Returns the number of times either test has failed.
+   *
+   * @return the number of test failures
+   */
+  public long getFailureCount() {
+    return failures.sum();
+  }
+
+  /**
+   * Returns the number of identical bytes in a row that fail the repetition count test.
+   *
+   * @return the repetition count test cutoff
+   */
+  public int getRepetitionCountCutoff() {
+    return repetitionCountCutoff;
+  }
+
+  /**
+   * Returns the number of occurrences of the first byte of a {@value #ADAPTIVE_PROPORTION_WINDOW}
+   * byte window that fail the adaptive proportion test.
+   *
+   * @return the adaptive proportion test cutoff
+   */
+  public int getAdaptiveProportionCutoff() {
+    return adaptiveProportionCutoff;
+  }
+
+  /**
+   * Returns false if a test has failed within the retry delay; otherwise delegates.
+   */
+  @Override public boolean isWorthTrying() {
+    lock.lock();
+    try {
+      if (hasFailed && System.nanoTime() - lastFailureNanos < retryDelayNanos) {
+        return false;
+      }
+    } finally {
+      lock.unlock();
+    }
+    return delegate.isWorthTrying();
+  }
+
+  @Override public String toString() {
+    return String.format("HealthTestingSeedGenerator(%s,%s)", delegate, entropyPerByte);
+  }
+
+  @Override public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    HealthTestingSeedGenerator that = (HealthTestingSeedGenerator) o;
+    return Double.compare(that.entropyPerByte, entropyPerByte) == 0
+        && retryDelayNanos == that.retryDelayNanos && delegate.equals(that.delegate);
+  }
+
+  @Override public int hashCode() {
+    return Objects.hash(delegate, entropyPerByte, retryDelayNanos);
+  }
+}
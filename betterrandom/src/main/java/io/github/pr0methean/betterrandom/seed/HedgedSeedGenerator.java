@@ -0,0 +1,225 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import com.google.common.collect.ImmutableList;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>A {@link SeedGenerator} that sends each request to all of its delegates at once, rather than
+ * trying them one after another as {@link SeedGeneratorPreferenceList} does. This suits
+ * latency-critical uses such as seeding at startup, at the cost of requesting more seed material
+ * than is used.</p>
+ *
+ * <p>If the XOR deadline is zero, the first seed to arrive is returned. Otherwise, all the seeds
+ * that arrive within that many nanoseconds of the request are XORed together, which is at least as
+ * random as the most random of them; if none has arrived by then, the first to arrive is returned
+ * alone. Either way, the remaining requests are then cancelled. Delegates that only implement
+ * {@link SeedGenerator#generateSeed(byte[])} can't be interrupted, so their results are discarded
+ * when they arrive.</p>
+ */
+public class HedgedSeedGenerator implements SeedGenerator {
+
+  private static final long serialVersionUID = 7283648937561938123L;
+
+  /**
+   * Runs the requests to the delegates of all instances.
+   */
+  private static final ExecutorService REQUEST_EXECUTOR = Executors.newCachedThreadPool(
+      new RandomSeeder.DefaultThreadFactory("HedgedSeedGenerator"));
+
+  private final ImmutableList<SeedGenerator> delegates;
+  private final long xorDeadlineNanos;
+
+  /**
+   * Creates an instance.
+   *
+   * @param delegates the delegates to request each seed from
+   * @param xorDeadlineNanos time in nanoseconds after sending a request during which seeds that
+   *     arrive are XORed together; or 0 to return the first seed to arrive
+   */
+  @EntryPoint public HedgedSeedGenerator(Collection<? extends SeedGenerator> delegates,
+      long xorDeadlineNanos) {
+    if (delegates.isEmpty()) {
+      throw new IllegalArgumentException("Need at least one delegate");
+    }
+    if (xorDeadlineNanos < 0) {
+      throw new IllegalArgumentException("xorDeadlineNanos must not be negative");
+    }
+    this.delegates = ImmutableList.copyOf(delegates);
+    this.xorDeadlineNanos = xorDeadlineNanos;
+  }
+
+  /**
+   * Creates an instance that returns the first seed to arrive.
+   *
+   * @param delegates the delegates to request each seed from
+   */
+  @EntryPoint public HedgedSeedGenerator(SeedGenerator... delegates) {
+    this(Arrays.asList(delegates), 0);
+  }
+
+  @Override public void generateSeed(byte[] output) throws SeedException {
+    final long deadline = System.nanoTime() + xorDeadlineNanos;
+    final List<CompletableFuture<byte[]>> requests = sendRequests(output.length, REQUEST_EXECUTOR);
+    try {
+      final byte[] first;
+      try {
+        first = firstSuccess(requests).join();
+      } catch (final CompletionException e) {
+        throw asSeedException(e);
+      }
+      System.arraycopy(first, 0, output, 0, output.length);
+      if (xorDeadlineNanos > 0) {
+        xorSeedsBeforeDeadline(requests, first, output, deadline);
+      }
+    } finally {
+      requests.forEach(request -> request.cancel(true));
+    }
+  }
+
+  /**
+   * XORs into {@code output} each seed, other than {@code first}, that arrives by the deadline.
+   *
+   * @param requests the requests to the delegates
+   * @param first the seed already copied into {@code output}
+   * @param output the array to XOR the seeds into
+   * @param deadline the deadline as a {@link System#nanoTime()} value
+   */
+  private static void xorSeedsBeforeDeadline(final List<CompletableFuture<byte[]>> requests,
+      final byte[] first, final byte[] output, final long deadline) {
+    for (final CompletableFuture<byte[]> request : requests) {
+      final byte[] seed;
+      try {
+        seed = request.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (final ExecutionException | CancellationException | TimeoutException e) {
+        // Failed or arrived too late; once the deadline has passed, get() takes only those done
+        continue;
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (seed != first) {
+        for (int i = 0; i < output.length; i++) {
+          output[i] ^= seed[i];
+        }
+      }
+    }
+  }
+
+  /**
+   * If the XOR deadline is zero, completes with the first seed to arrive without blocking a thread
+   * of {@code executor} while waiting for it. Otherwise, waits for the deadline on {@code executor}
+   * as {@link #generateSeed(int)} does.
+   */
+  @Override public CompletableFuture<byte[]> generateSeedAsync(final int length,
+      final Executor executor) {
+    if (xorDeadlineNanos > 0) {
+      return CompletableFuture.supplyAsync(() -> generateSeed(length), executor);
+    }
+    final List<CompletableFuture<byte[]>> requests;
+    try {
+      requests = sendRequests(length, executor);
+    } catch (final SeedException e) {
+      final CompletableFuture<byte[]> failure = new CompletableFuture<>();
+      failure.completeExceptionally(e);
+      return failure;
+    }
+    final CompletableFuture<byte[]> result = firstSuccess(requests);
+    result.whenComplete((seed, failure) -> requests.forEach(request -> request.cancel(true)));
+    return result;
+  }
+
+  /**
+   * Sends a request to each delegate that's worth trying.
+   *
+   * @param length the length of the seed to request
+   * @param executor the executor to pass to {@link SeedGenerator#generateSeedAsync(int, Executor)}
+   * @return the requests
+   * @throws SeedException if no delegate is worth trying
+   */
+  private List<CompletableFuture<byte[]>> sendRequests(final int length, final Executor executor) {
+    final List<CompletableFuture<byte[]>> requests = new ArrayList<>(delegates.size());
+    for (final SeedGenerator delegate : delegates) {
+      if (delegate.isWorthTrying()) {
+        requests.add(delegate.generateSeedAsync(length, executor));
+      }
+    }
+    if (requests.isEmpty()) {
+      throw new SeedException("No seed generation strategies are available.");
+    }
+    return requests;
+  }
+
+  /**
+   * Returns a future that completes with the first of the given seeds to arrive, or exceptionally
+   * once all of them have failed.
+   *
+   * @param requests the requests to the delegates
+   * @return the first seed to arrive
+   */
+  private static CompletableFuture<byte[]> firstSuccess(
+      final List<CompletableFuture<byte[]>> requests) {
+    final CompletableFuture<byte[]> result = new CompletableFuture<>();
+    final AtomicInteger remaining = new AtomicInteger(requests.size());
+    for (final CompletableFuture<byte[]> request : requests) {
+      request.whenComplete((seed, failure) -> {
+        if (failure == null) {
+          result.complete(seed);
+        } else if (remaining.decrementAndGet() == 0) {
+          result.completeExceptionally(
+              new SeedException("All available seed generation strategies failed.", failure));
+        }
+      });
+    }
+    return result;
+  }
+
+  private static SeedException asSeedException(final CompletionException e) {
+    return (e.getCause() instanceof SeedException) ? (SeedException) e.getCause()
+        : new SeedException("All available seed generation strategies failed.", e);
+  }
+
+  @Override public boolean isWorthTrying() {
+    for (final SeedGenerator delegate : delegates) {
+      if (delegate.isWorthTrying()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override public String toString() {
+    return (xorDeadlineNanos > 0)
+        ? String.format("HedgedSeedGenerator(%s,%d)", delegates, xorDeadlineNanos)
+        : String.format("HedgedSeedGenerator(%s)", delegates);
+  }
+
+  @Override public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    HedgedSeedGenerator that = (HedgedSeedGenerator) o;
+    return xorDeadlineNanos == that.xorDeadlineNanos && delegates.equals(that.delegates);
+  }
+
+  @Override public int hashCode() {
+    return Objects.hash(delegates, xorDeadlineNanos);
+  }
+}
@@ -0,0 +1,34 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+import javax.annotation.Nullable;
+
+/**
+ * The transport a {@link WebSeedClient} uses to send its requests. {@link WebSeedClient} sets the
+ * request headers and socket factory on each connection it gets from here, reads the response to
+ * the end and closes it, but doesn't call {@link HttpURLConnection#disconnect()} unless the request
+ * fails; so the JVM's keep-alive cache can reuse the underlying connection, and its TLS session,
+ * for the next request to the same server.
+ */
+@FunctionalInterface
+public interface HttpConnectionFactory {
+
+  /**
+   * Opens connections with {@link URL#openConnection()} or {@link URL#openConnection(Proxy)}.
+   */
+  HttpConnectionFactory DEFAULT = (url, proxy) -> (HttpURLConnection)
+      ((proxy == null) ? url.openConnection() : url.openConnection(proxy));
+
+  /**
+   * Opens a connection that will make a request to the given URL.
+   *
+   * @param url the URL to connect to
+   * @param proxy the proxy to use, or null to use the JVM default
+   * @return a connection to the URL
+   * @throws IOException if the connection can't be opened
+   */
+  HttpURLConnection openConnection(URL url, @Nullable Proxy proxy) throws IOException;
+}
@@ -0,0 +1,97 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A seed generator that wraps another and records the latency, size and outcome of each request in
+ * the {@link SeedMetrics} with a given name. Wrapping each delegate of a {@link
+ * SeedGeneratorPreferenceList} shows which of them is serving requests and how quickly.
+ */
+public class InstrumentedSeedGenerator implements SeedGenerator {
+
+  private static final long serialVersionUID = -1549873205743197421L;
+
+  private final SeedGenerator delegate;
+  private final String metricsName;
+  private transient SeedMetrics metrics;
+
+  /**
+   * Creates an instance.
+   *
+   * @param delegate the seed generator to instrument
+   * @param metricsName the name of the {@link SeedMetrics} to record requests in
+   */
+  @EntryPoint public InstrumentedSeedGenerator(SeedGenerator delegate, String metricsName) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+    this.metricsName = Objects.requireNonNull(metricsName, "metricsName must not be null");
+    initTransientFields();
+  }
+
+  private void initTransientFields() {
+    metrics = SeedMetrics.forName(metricsName);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    initTransientFields();
+  }
+
+  @Override public void generateSeed(byte[] output) throws SeedException {
+    final long start = System.nanoTime();
+    try {
+      delegate.generateSeed(output);
+    } catch (final RuntimeException e) {
+      metrics.recordFailure(System.nanoTime() - start);
+      throw e;
+    }
+    metrics.recordSuccess(System.nanoTime() - start, output.length);
+  }
+
+  @Override public CompletableFuture<byte[]> generateSeedAsync(int length, Executor executor) {
+    final long start = System.nanoTime();
+    return delegate.generateSeedAsync(length, executor).whenComplete((seed, failure) -> {
+      if (failure == null) {
+        metrics.recordSuccess(System.nanoTime() - start, seed.length);
+      } else {
+        metrics.recordFailure(System.nanoTime() - start);
+      }
+    });
+  }
+
+  /**
+   * Returns the metrics that requests are recorded in.
+   *
+   * @return the metrics for this instance's name
+   */
+  public SeedMetrics getMetrics() {
+    return metrics;
+  }
+
+  @Override public boolean isWorthTrying() {
+    return delegate.isWorthTrying();
+  }
+
+  @Override public String toString() {
+    return String.format("InstrumentedSeedGenerator(%s,%s)", delegate, metricsName);
+  }
+
+  @Override public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    InstrumentedSeedGenerator that = (InstrumentedSeedGenerator) o;
+    return delegate.equals(that.delegate) && metricsName.equals(that.metricsName);
+  }
+
+  @Override public int hashCode() {
+    return Objects.hash(delegate, metricsName);
+  }
+}
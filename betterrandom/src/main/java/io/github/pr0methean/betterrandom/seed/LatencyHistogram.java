@@ -0,0 +1,149 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A lock-free histogram of durations in nanoseconds, in the style of HdrHistogram: each power of
+ * 2 is split into {@value #SUB_BUCKET_COUNT} equal buckets, so any recorded value can be read back
+ * with a relative error of at most 1/{@value #SUB_BUCKET_COUNT}, over the whole range of {@code
+ * long}, in a fixed amount of memory.</p>
+ *
+ * <p>Recording is wait-free. Reads made while values are being recorded may not include all of
+ * them, but are otherwise accurate.</p>
+ */
+public final class LatencyHistogram {
+
+  /**
+   * Number of buckets per power of 2.
+   */
+  private static final int SUB_BUCKET_COUNT = 16;
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int BUCKET_COUNT =
+      (Long.SIZE - 1 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Returns the index of the bucket containing the given value.
+   *
+   * @param value a non-negative value
+   * @return the bucket index
+   */
+  private static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /**
+   * Returns the largest value that's in the given bucket.
+   *
+   * @param index the bucket index
+   * @return the largest value in the bucket
+   */
+  private static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    final int shift = index / SUB_BUCKET_COUNT - 1;
+    final long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+
+  /**
+   * Records a duration. Negative durations, which {@link System#nanoTime()} can produce if the
+   * clock is adjusted, are recorded as 0.
+   *
+   * @param nanos the duration in nanoseconds
+   */
+  public void record(long nanos) {
+    final long value = Math.max(0, nanos);
+    counts.incrementAndGet(bucketIndex(value));
+    sum.add(value);
+    if (value > max.get()) {
+      max.accumulateAndGet(value, Math::max);
+    }
+  }
+
+  /**
+   * Returns the number of durations recorded.
+   *
+   * @return the number of durations recorded
+   */
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      count += counts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the mean of the recorded durations.
+   *
+   * @return the mean in nanoseconds, or 0 if none have been recorded
+   */
+  public double getMean() {
+    final long count = getCount();
+    return (count == 0) ? 0 : sum.doubleValue() / count;
+  }
+
+  /**
+   * Returns the longest recorded duration.
+   *
+   * @return the maximum in nanoseconds, or 0 if none have been recorded
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns a duration that the given percentage of recorded durations don't exceed, to within the
+   * histogram's precision.
+   *
+   * @param percentile the percentage, from 0 to 100
+   * @return the duration at that percentile in nanoseconds, or 0 if none have been recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("percentile must be between 0 and 100");
+    }
+    final long[] snapshot = new long[BUCKET_COUNT];
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        // The bucket's upper bound may exceed anything actually recorded
+        return Math.min(bucketUpperBound(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Discards all recorded durations.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts.set(i, 0);
+    }
+    sum.reset();
+    max.set(0);
+  }
+}
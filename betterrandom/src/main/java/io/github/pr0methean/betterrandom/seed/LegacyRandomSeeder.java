@@ -2,13 +2,17 @@ package io.github.pr0methean.betterrandom.seed;
 
 import io.github.pr0methean.betterrandom.ByteArrayReseedableRandom;
 import io.github.pr0methean.betterrandom.util.MoreCollections;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
-import org.slf4j.LoggerFactory;
 
 /**
  * A {@link RandomSeeder} that can reseed any instance of {@link Random}.
@@ -17,6 +21,12 @@ import org.slf4j.LoggerFactory;
  */
 public final class LegacyRandomSeeder extends RandomSeeder {
   private static final long serialVersionUID = 816480836156219842L;
+  /**
+   * The seeders from {@link #forSeedGenerator(SeedGenerator)}. Guarded by itself. Weak for the
+   * same reasons as those from {@link RandomSeeder#forSeedGenerator(SeedGenerator)}.
+   */
+  private static final Map<SeedGenerator, WeakReference<LegacyRandomSeeder>>
+      SHARED_LEGACY_SEEDERS = new WeakHashMap<>();
   private transient Set<Random> otherPrngs;
 
   @Override protected void initTransientFields() {
@@ -43,7 +53,7 @@ public final class LegacyRandomSeeder extends RandomSeeder {
     try {
       for (Object random : randoms) {
         if (random instanceof ByteArrayReseedableRandom) {
-          byteArrayPrngs.remove(random);
+          unregister((ByteArrayReseedableRandom) random);
         } else if (random instanceof Random) {
           otherPrngs.remove(random);
         }
@@ -73,7 +83,7 @@ public final class LegacyRandomSeeder extends RandomSeeder {
     try {
       for (final Random random : randoms) {
         if (random instanceof ByteArrayReseedableRandom) {
-          byteArrayPrngs.add((ByteArrayReseedableRandom) random);
+          register((ByteArrayReseedableRandom) random);
         } else {
           otherPrngs.add(random);
         }
@@ -117,35 +127,52 @@ public final class LegacyRandomSeeder extends RandomSeeder {
     this(seedGenerator, new DefaultThreadFactory("LegacyRandomSeeder for " + seedGenerator));
   }
 
+  /**
+   * Creates an instance that runs its iterations as tasks on the given executor, rather than on a
+   * thread of its own. If it's serialized and deserialized, the copy will run on the executor
+   * shared by the seeders from {@link #forSeedGenerator(SeedGenerator)} instead.
+   *
+   * @param seedGenerator the seed generator
+   * @param executor the executor to run this seeder's iterations
+   */
+  public LegacyRandomSeeder(final SeedGenerator seedGenerator,
+      final ScheduledExecutorService executor) {
+    super(seedGenerator, new DefaultThreadFactory("LegacyRandomSeeder for " + seedGenerator),
+        DEFAULT_STOP_IF_EMPTY_FOR_NANOS, 1, Objects.requireNonNull(executor));
+  }
+
+  /**
+   * Returns the {@link LegacyRandomSeeder} for the given {@link SeedGenerator} that runs on the
+   * executor shared by all the seeders from this method and {@link
+   * RandomSeeder#forSeedGenerator(SeedGenerator)}, creating it if this is the first call for an
+   * equal {@link SeedGenerator}.
+   *
+   * @param seedGenerator the seed generator
+   * @return a shared {@link LegacyRandomSeeder} for {@code seedGenerator}
+   */
+  public static LegacyRandomSeeder forSeedGenerator(final SeedGenerator seedGenerator) {
+    return getOrCreateShared(SHARED_LEGACY_SEEDERS, seedGenerator,
+        generator -> new LegacyRandomSeeder(generator, SHARED_EXECUTOR));
+  }
+
   @Override public boolean contains(Object random) {
     return super.contains(random) || (random instanceof Random && otherPrngs.contains(random));
   }
 
-  @Override protected boolean iterate() {
-    try {
-      Collection<ByteArrayReseedableRandom> byteArrayPrngsThisIteration = new ArrayList<>(byteArrayPrngs);
-      Collection<Random> otherPrngsThisIteration = new ArrayList<>(otherPrngs);
-      while (otherPrngsThisIteration.isEmpty() && byteArrayPrngsThisIteration.isEmpty()) {
-        if (stillEmptyAfterWaiting()) {
-          return false;
-        }
-        otherPrngsThisIteration.addAll(otherPrngs);
-        byteArrayPrngsThisIteration.addAll(byteArrayPrngs);
-      }
-      boolean entropyConsumed = reseedByteArrayReseedableRandoms(byteArrayPrngsThisIteration);
-      for (Random random : otherPrngsThisIteration) {
-        if (!stillDefinitelyHasEntropy(random)) {
-          entropyConsumed = true;
-          reseedWithLong(random);
-        }
+  @Override protected boolean reseedPrngs() {
+    Collection<Random> otherPrngsThisIteration = new ArrayList<>(otherPrngs);
+    boolean entropyConsumed = super.reseedPrngs();
+    for (Random random : otherPrngsThisIteration) {
+      if (!stillDefinitelyHasEntropy(random)) {
+        entropyConsumed = true;
+        reseedWithLong(random);
       }
-      waitForEntropyDrainOrUpdateFlag(entropyConsumed);
-      return true;
-    } catch (final Throwable t) {
-      LoggerFactory.getLogger(LegacyRandomSeeder.class)
-          .error("Disabling the LegacyRandomSeeder for " + seedGenerator, t);
-      return false;
     }
+    return entropyConsumed;
+  }
+
+  @Override protected boolean needsPolling() {
+    return super.needsPolling() || !otherPrngs.isEmpty();
   }
 
   @Override public boolean isEmpty() {
@@ -57,6 +57,14 @@ public final class RandomDotOrgApi2Client extends WebSeedClient {
     return JSON_REQUEST_URL;
   }
 
+  /**
+   * Returns 1 regardless of the configuration, since each response's advisory delay only applies
+   * to requests sent after it arrives.
+   */
+  @Override protected int getMaxConcurrentRequests() {
+    return 1;
+  }
+
   private static final AtomicLong REQUEST_ID = new AtomicLong(0);
   private static final AtomicReference<UUID> API_KEY = new AtomicReference<>(null);
   private static final Decoder BASE64 = Base64.getDecoder();
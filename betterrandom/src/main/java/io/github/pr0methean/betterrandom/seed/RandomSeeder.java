@@ -7,21 +7,52 @@ import io.github.pr0methean.betterrandom.util.BinaryUtils;
 import io.github.pr0methean.betterrandom.util.Looper;
 import io.github.pr0methean.betterrandom.util.MoreCollections;
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
+import java.util.function.Function;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Thread that loops over {@link ByteArrayReseedableRandom} instances and reseeds them. No {@link
  * EntropyCountingRandom} will be reseeded when it's already had more input than output.
+ * {@link BaseRandom} instances that use this seeder call {@link
+ * #requestReseed(ByteArrayReseedableRandom)} when they run out of entropy, and are reseeded in the
+ * order they ran out, so they cost nothing while they still have entropy. Other PRNGs are checked
+ * on every iteration.
+ *
+ * <p>By default, each seeder has a thread of its own. A seeder can instead run each iteration as a
+ * task on a {@link ScheduledExecutorService}, so that many seeders can share a bounded number of
+ * threads; such a seeder uses no thread at all while none of its PRNGs needs reseeding or polling.
+ * {@link #forSeedGenerator(SeedGenerator)} returns one such seeder per {@link SeedGenerator}, on
+ * an executor shared by all of them.</p>
  *
  * @author Chris Hennick
  */
@@ -56,6 +87,25 @@ public class RandomSeeder extends Looper {
    */
   protected transient Set<ByteArrayReseedableRandom> byteArrayPrngs;
 
+  /**
+   * The members of {@link #byteArrayPrngs} that aren't known to call {@link
+   * #requestReseed(ByteArrayReseedableRandom)} when they run out of entropy, and so are checked on
+   * every iteration.
+   */
+  protected transient Set<ByteArrayReseedableRandom> polledPrngs;
+
+  /**
+   * PRNGs that have called {@link #requestReseed(ByteArrayReseedableRandom)} and haven't been
+   * reseeded since, in the order they ran out of entropy.
+   */
+  private transient Queue<ByteArrayReseedableRandom> depletedPrngs;
+
+  /**
+   * The contents of {@link #depletedPrngs}, compared by identity, so that each PRNG is queued only
+   * once.
+   */
+  private transient Set<ByteArrayReseedableRandom> queuedPrngs;
+
   /**
    * Signaled when a PRNG is added.
    */
@@ -71,6 +121,109 @@ public class RandomSeeder extends Looper {
    */
   protected final long stopIfEmptyForNanos;
 
+  /**
+   * The most seeds this seeder will have requested and not yet received at once. If greater than
+   * 1, seeds are requested using {@link SeedGenerator#generateSeedAsync(int, Executor)} with a pool
+   * of up to this many threads from {@link #factory}.
+   */
+  protected final int maxSeedRequestsInFlight;
+
+  /**
+   * The most bytes of seed to request at once for a batch of PRNGs. A PRNG whose seed is longer than
+   * this gets a batch to itself.
+   */
+  protected static final int MAX_BATCH_SEED_LENGTH = 1024;
+
+  /**
+   * Number of threads in the executor shared by the seeders from {@link
+   * #forSeedGenerator(SeedGenerator)}.
+   */
+  private static final int SHARED_EXECUTOR_THREADS =
+      Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+  /**
+   * The executor shared by the seeders from {@link #forSeedGenerator(SeedGenerator)}, and used by
+   * all deserialized seeders that ran on an executor. Its threads are daemons, and exit when idle.
+   */
+  protected static final ScheduledExecutorService SHARED_EXECUTOR;
+
+  static {
+    final ScheduledThreadPoolExecutor sharedExecutor = new ScheduledThreadPoolExecutor(
+        SHARED_EXECUTOR_THREADS, new DefaultThreadFactory("Shared RandomSeeder executor"));
+    sharedExecutor.setKeepAliveTime(1, TimeUnit.SECONDS);
+    sharedExecutor.allowCoreThreadTimeOut(true);
+    sharedExecutor.setRemoveOnCancelPolicy(true);
+    SHARED_EXECUTOR = sharedExecutor;
+  }
+
+  /**
+   * The seeders from {@link #forSeedGenerator(SeedGenerator)}. Guarded by itself. Both keys and
+   * values are weak, so that a seeder and its seed generator can be collected once no PRNG or
+   * caller uses them; the value has to be weak too, since the seeder refers to its key.
+   */
+  private static final Map<SeedGenerator, WeakReference<RandomSeeder>> SHARED_SEEDERS =
+      new WeakHashMap<>();
+
+  /**
+   * True if this seeder is from {@link #forSeedGenerator(SeedGenerator)} or {@link
+   * LegacyRandomSeeder#forSeedGenerator(SeedGenerator)}, and so can't be shut down.
+   */
+  private transient boolean shared;
+
+  /**
+   * Whether this seeder runs its iterations on an executor rather than on a thread of its own.
+   */
+  private final boolean usesExecutor;
+
+  /**
+   * The executor that runs this seeder's iterations, or null if it has a thread of its own.
+   */
+  @Nullable private transient ScheduledExecutorService executor;
+
+  /**
+   * The next iteration on {@link #executor}, if one is scheduled. Guarded by {@link #threadLock}.
+   */
+  @Nullable private transient ScheduledFuture<?> nextIteration;
+
+  /**
+   * Whether an iteration is running on {@link #executor}. Guarded by {@link #threadLock}.
+   */
+  private transient boolean iterationRunning;
+
+  /**
+   * Whether {@link #start()} was called while an iteration was running on {@link #executor}, so
+   * that another should follow immediately. Guarded by {@link #threadLock}.
+   */
+  private transient boolean wakeUpPending;
+
+  /**
+   * Whether {@link #interrupt()} was called since {@link #start()} last was, so that no more
+   * iterations should be scheduled on {@link #executor}. Guarded by {@link #threadLock}.
+   */
+  private transient boolean interrupted;
+
+  /**
+   * The thread pool for seed requests, if {@link #maxSeedRequestsInFlight} is greater than 1 and
+   * any seeds have been requested yet.
+   */
+  private transient volatile ExecutorService seedRequestPool;
+
+  /**
+   * Name of the metrics that iterations are recorded in, or null for the default; see {@link
+   * #setIterationMetricsName(String)}.
+   */
+  @Nullable private volatile String iterationMetricsName;
+
+  /**
+   * Where iterations are recorded; created when first needed by {@link #getIterationMetrics()}.
+   */
+  @Nullable private transient volatile SeedMetrics iterationMetrics;
+
+  /**
+   * Number of seed bytes requested during the current iteration. Guarded by {@link #lock}.
+   */
+  private transient int iterationSeedBytes;
+
   /**
    * Creates an instance whose thread will terminate if no PRNGs have been associated with it for 5
    * seconds.
@@ -101,10 +254,104 @@ public class RandomSeeder extends Looper {
    */
   public RandomSeeder(SeedGenerator seedGenerator, ThreadFactory threadFactory,
       long stopIfEmptyForNanos) {
+    this(seedGenerator, threadFactory, stopIfEmptyForNanos, 1);
+  }
+
+  /**
+   * Creates an instance that can wait for several seeds at once.
+   *
+   * @param seedGenerator the seed generator
+   * @param threadFactory the {@link ThreadFactory} that will create this seeder's thread, and the
+   *     threads that request seeds if {@code maxSeedRequestsInFlight} is greater than 1
+   * @param stopIfEmptyForNanos time in nanoseconds after which this thread will terminate if no
+   *     PRNGs are attached
+   * @param maxSeedRequestsInFlight the most seeds to have requested and not yet received at once
+   */
+  public RandomSeeder(SeedGenerator seedGenerator, ThreadFactory threadFactory,
+      long stopIfEmptyForNanos, int maxSeedRequestsInFlight) {
+    this(seedGenerator, threadFactory, stopIfEmptyForNanos, maxSeedRequestsInFlight, null);
+  }
+
+  /**
+   * Creates an instance that runs its iterations as tasks on the given executor, rather than on a
+   * thread of its own. If it's serialized and deserialized, the copy will run on the executor
+   * shared by the seeders from {@link #forSeedGenerator(SeedGenerator)} instead.
+   *
+   * @param seedGenerator the seed generator
+   * @param executor the executor to run this seeder's iterations
+   */
+  public RandomSeeder(SeedGenerator seedGenerator, ScheduledExecutorService executor) {
+    this(seedGenerator, new RandomSeeder.DefaultThreadFactory(seedGenerator.toString()),
+        DEFAULT_STOP_IF_EMPTY_FOR_NANOS, 1, Objects.requireNonNull(executor));
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param seedGenerator the seed generator
+   * @param threadFactory the {@link ThreadFactory} that will create this seeder's thread if {@code
+   *     executor} is null, and the threads that request seeds if {@code maxSeedRequestsInFlight}
+   *     is greater than 1
+   * @param stopIfEmptyForNanos time in nanoseconds after which this thread will terminate if no
+   *     PRNGs are attached; ignored if {@code executor} isn't null
+   * @param maxSeedRequestsInFlight the most seeds to have requested and not yet received at once
+   * @param executor the executor to run this seeder's iterations, or null to give it a thread of
+   *     its own
+   */
+  protected RandomSeeder(SeedGenerator seedGenerator, ThreadFactory threadFactory,
+      long stopIfEmptyForNanos, int maxSeedRequestsInFlight,
+      @Nullable ScheduledExecutorService executor) {
     super(threadFactory);
     this.seedGenerator = seedGenerator;
     Objects.requireNonNull(seedGenerator, "randomSeeder must not be null");
+    if (maxSeedRequestsInFlight <= 0) {
+      throw new IllegalArgumentException("maxSeedRequestsInFlight must be positive");
+    }
     this.stopIfEmptyForNanos = stopIfEmptyForNanos;
+    this.maxSeedRequestsInFlight = maxSeedRequestsInFlight;
+    usesExecutor = executor != null;
+    this.executor = executor;
+  }
+
+  /**
+   * Returns the seeder for the given {@link SeedGenerator} that runs on an executor shared by all
+   * the seeders this method returns, creating it if this is the first call for an equal {@link
+   * SeedGenerator}. This bounds the number of threads used for reseeding, no matter how many
+   * seed generators or PRNGs are in use.
+   *
+   * @param seedGenerator the seed generator
+   * @return a shared {@link RandomSeeder} for {@code seedGenerator}
+   */
+  public static RandomSeeder forSeedGenerator(SeedGenerator seedGenerator) {
+    return getOrCreateShared(SHARED_SEEDERS, seedGenerator,
+        generator -> new RandomSeeder(generator, SHARED_EXECUTOR));
+  }
+
+  /**
+   * Returns the seeder in {@code seeders} for the given seed generator, or creates and adds one if
+   * there isn't one yet or it's been garbage-collected.
+   *
+   * @param seeders the shared seeders of one class
+   * @param seedGenerator the seed generator
+   * @param constructor creates a seeder from its seed generator
+   * @param <T> the class of the seeders
+   * @return the shared seeder for {@code seedGenerator}
+   */
+  static <T extends RandomSeeder> T getOrCreateShared(
+      final Map<SeedGenerator, WeakReference<T>> seeders, final SeedGenerator seedGenerator,
+      final Function<SeedGenerator, T> constructor) {
+    synchronized (seeders) {
+      final WeakReference<T> existing = seeders.get(seedGenerator);
+      T seeder = (existing == null) ? null : existing.get();
+      if (seeder == null) {
+        seeder = constructor.apply(seedGenerator);
+        ((RandomSeeder) seeder).shared = true;
+        // Remove first, because put() would keep the old key, which the new seeder doesn't refer to
+        seeders.remove(seedGenerator);
+        seeders.put(seedGenerator, new WeakReference<>(seeder));
+      }
+      return seeder;
+    }
   }
 
   static boolean stillDefinitelyHasEntropy(final Object random) {
@@ -134,7 +381,7 @@ public class RandomSeeder extends Looper {
     }
     lock.lock();
     try {
-      byteArrayPrngs.removeAll(randoms);
+      randoms.forEach(this::unregister);
     } finally {
       lock.unlock();
     }
@@ -168,13 +415,79 @@ public class RandomSeeder extends Looper {
     }
     lock.lock();
     try {
-      byteArrayPrngs.addAll(randoms);
+      randoms.forEach(this::register);
       wakeUp();
     } finally {
       lock.unlock();
     }
   }
 
+  /**
+   * Adds a PRNG to {@link #byteArrayPrngs}. If it's a {@link BaseRandom} that will call {@link
+   * #requestReseed(ByteArrayReseedableRandom)} on this seeder, queues it to be checked once, in
+   * case it's already out of entropy. Otherwise, adds it to {@link #polledPrngs}. Must be called
+   * while holding {@link #lock}.
+   *
+   * @param random the PRNG to start reseeding
+   */
+  protected void register(ByteArrayReseedableRandom random) {
+    byteArrayPrngs.add(random);
+    if (random instanceof BaseRandom && ((BaseRandom) random).getRandomSeeder() == this) {
+      polledPrngs.remove(random);
+      // May be called during deserialization, so don't check its entropy yet
+      requestReseed(random);
+    } else {
+      polledPrngs.add(random);
+    }
+  }
+
+  /**
+   * Removes a PRNG from {@link #byteArrayPrngs} and {@link #polledPrngs}. If it's been queued by
+   * {@link #requestReseed(ByteArrayReseedableRandom)}, it will be skipped. Must be called while
+   * holding {@link #lock}.
+   *
+   * @param random the PRNG to stop reseeding
+   */
+  protected void unregister(ByteArrayReseedableRandom random) {
+    byteArrayPrngs.remove(random);
+    polledPrngs.remove(random);
+  }
+
+  /**
+   * Called by a registered PRNG when it runs out of entropy, to have it reseeded after any others
+   * that ran out earlier. Doesn't block.
+   *
+   * @param random the PRNG that needs reseeding
+   */
+  public void requestReseed(ByteArrayReseedableRandom random) {
+    if (queuedPrngs.add(random)) {
+      depletedPrngs.add(random);
+    }
+    wakeUp();
+  }
+
+  /**
+   * Empties the queue of PRNGs from {@link #requestReseed(ByteArrayReseedableRandom)}. Returns
+   * those that are still registered, in the order they ran out of entropy, followed by {@link
+   * #polledPrngs}.
+   *
+   * @return the PRNGs to check for reseeding in this iteration
+   */
+  protected Collection<ByteArrayReseedableRandom> drainPrngsToCheck() {
+    final List<ByteArrayReseedableRandom> prngs = new ArrayList<>();
+    ByteArrayReseedableRandom random;
+    while ((random = depletedPrngs.poll()) != null) {
+      queuedPrngs.remove(random);
+      if (byteArrayPrngs.contains(random)) {
+        // Now known to request its own reseeding, so it needn't be polled
+        polledPrngs.remove(random);
+        prngs.add(random);
+      }
+    }
+    prngs.addAll(polledPrngs);
+    return prngs;
+  }
+
   /**
    * Ensures this seeder's thread is started, and signals conditions it may be waiting on.
    */
@@ -206,11 +519,12 @@ public class RandomSeeder extends Looper {
       return false;
     }
     RandomSeeder that = (RandomSeeder) o;
-    return seedGenerator.equals(that.seedGenerator) && factory.equals(that.factory);
+    return usesExecutor == that.usesExecutor && seedGenerator.equals(that.seedGenerator)
+        && factory.equals(that.factory);
   }
 
   @Override public int hashCode() {
-    return 31 * seedGenerator.hashCode() + factory.hashCode();
+    return 31 * (31 * seedGenerator.hashCode() + factory.hashCode()) + (usesExecutor ? 1 : 0);
   }
 
   /**
@@ -219,29 +533,228 @@ public class RandomSeeder extends Looper {
    */
   @Override protected void initTransientFields() {
     byteArrayPrngs = MoreCollections.createSynchronizedWeakHashSet();
+    polledPrngs = MoreCollections.createSynchronizedWeakHashSet();
+    depletedPrngs = new ConcurrentLinkedQueue<>();
+    queuedPrngs = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
     waitWhileEmpty = lock.newCondition();
     waitForEntropyDrain = lock.newCondition();
+    executor = usesExecutor ? SHARED_EXECUTOR : null;
   }
 
   @Override
   protected boolean iterate() {
-    Collection<ByteArrayReseedableRandom> byteArrayPrngsThisIteration = new ArrayList<>(byteArrayPrngs);
     try {
-      while (byteArrayPrngsThisIteration.isEmpty()) {
+      while (isEmpty()) {
         if (stillEmptyAfterWaiting()) {
           return false;
         }
-        byteArrayPrngsThisIteration.addAll(byteArrayPrngs);
       }
-      boolean entropyConsumed = reseedByteArrayReseedableRandoms(byteArrayPrngsThisIteration);
+      boolean entropyConsumed = reseedPrngsAndRecordMetrics();
       waitForEntropyDrainOrUpdateFlag(entropyConsumed);
       return true;
     } catch (final Throwable t) {
-      getLogger().error("Disabling the LegacyRandomSeeder for " + seedGenerator, t);
+      getLogger().error("Disabling the " + getClass().getSimpleName() + " for " + seedGenerator, t);
       return false;
     }
   }
 
+  /**
+   * Reseeds the PRNGs from {@link #drainPrngsToCheck()} that need it. Must be called while holding
+   * {@link #lock}.
+   *
+   * @return true if at least one PRNG was reseeded; false otherwise
+   */
+  protected boolean reseedPrngs() {
+    return reseedByteArrayReseedableRandoms(drainPrngsToCheck());
+  }
+
+  /**
+   * Calls {@link #reseedPrngs()} and records how long it took and how many seed bytes it used in
+   * {@link #getIterationMetrics()}. Must be called while holding {@link #lock}.
+   *
+   * @return the result of {@link #reseedPrngs()}
+   */
+  private boolean reseedPrngsAndRecordMetrics() {
+    iterationSeedBytes = 0;
+    final long start = System.nanoTime();
+    final boolean entropyConsumed;
+    try {
+      entropyConsumed = reseedPrngs();
+    } catch (final Throwable t) {
+      getIterationMetrics().recordFailure(System.nanoTime() - start);
+      throw t;
+    }
+    getIterationMetrics().recordSuccess(System.nanoTime() - start, iterationSeedBytes);
+    return entropyConsumed;
+  }
+
+  /**
+   * Returns the metrics that this seeder's iterations are recorded in. Unless {@link
+   * #setIterationMetricsName(String)} has been called, these are named after the class of this
+   * seeder and that of its {@link SeedGenerator}, such as {@code
+   * RandomSeeder(SecureRandomSeedGenerator)}; so they're shared by all seeders of the same class
+   * that use the same class of seed generator, and the number of metrics doesn't grow with the
+   * number of seed generator instances.
+   *
+   * @return the iteration metrics
+   */
+  public SeedMetrics getIterationMetrics() {
+    SeedMetrics metrics = iterationMetrics;
+    if (metrics == null) {
+      final String name = iterationMetricsName;
+      metrics = SeedMetrics.forName((name != null) ? name : String.format("%s(%s)",
+          getClass().getSimpleName(), seedGenerator.getClass().getSimpleName()));
+      iterationMetrics = metrics;
+    }
+    return metrics;
+  }
+
+  /**
+   * Makes this seeder record its iterations in the metrics with the given name, rather than those
+   * shared with other seeders of the same class and the same class of seed generator. Since
+   * metrics are never removed, the name should come from configuration.
+   *
+   * @param name the name of the metrics to use
+   */
+  public void setIterationMetricsName(String name) {
+    iterationMetricsName = Objects.requireNonNull(name, "name must not be null");
+    iterationMetrics = SeedMetrics.forName(name);
+  }
+
+  /**
+   * Returns whether any PRNGs are checked on every iteration, rather than only when they call
+   * {@link #requestReseed(ByteArrayReseedableRandom)}. If none are, a seeder that runs on an
+   * executor doesn't schedule another iteration until {@link #wakeUp()} is called.
+   *
+   * @return true if an iteration should run at least every {@link #REPEAT_POLL_INTERVAL} seconds
+   */
+  protected boolean needsPolling() {
+    return !polledPrngs.isEmpty();
+  }
+
+  /**
+   * Starts this seeder's thread, or if it runs on an executor, ensures an iteration will run
+   * immediately.
+   */
+  @Override protected void start() {
+    if (executor == null) {
+      super.start();
+      return;
+    }
+    threadLock.lock();
+    try {
+      interrupted = false;
+      if (iterationRunning) {
+        wakeUpPending = true;
+      } else if (nextIteration == null || nextIteration.isDone() || nextIteration.cancel(false)) {
+        // If cancel(false) failed, the iteration has just started and will find our PRNGs
+        scheduleIteration(0, TimeUnit.NANOSECONDS);
+      }
+    } finally {
+      threadLock.unlock();
+    }
+  }
+
+  /**
+   * Stops this seeder's thread, or if it runs on an executor, cancels the next iteration.
+   */
+  @Override public void interrupt() {
+    if (executor == null) {
+      super.interrupt();
+      return;
+    }
+    threadLock.lock();
+    try {
+      interrupted = true;
+      if (nextIteration != null) {
+        nextIteration.cancel(false);
+        nextIteration = null;
+      }
+    } finally {
+      threadLock.unlock();
+    }
+  }
+
+  /**
+   * Returns whether this seeder's thread is running, or if it runs on an executor, whether an
+   * iteration is running or scheduled.
+   *
+   * @return true if this seeder is running; false otherwise
+   */
+  @Override public boolean isRunning() {
+    if (executor == null) {
+      return super.isRunning();
+    }
+    threadLock.lock();
+    try {
+      return !interrupted && (iterationRunning || nextIteration != null);
+    } finally {
+      threadLock.unlock();
+    }
+  }
+
+  /**
+   * Schedules an iteration on {@link #executor}. Must be called while holding {@link #threadLock}.
+   *
+   * @param delay the delay before the iteration
+   * @param unit the unit of {@code delay}
+   */
+  private void scheduleIteration(long delay, TimeUnit unit) {
+    nextIteration = executor.schedule(this::runScheduledIteration, delay, unit);
+  }
+
+  /**
+   * Runs one iteration on {@link #executor}, then schedules the next: immediately if entropy was
+   * consumed or {@link #start()} was called meanwhile, after the polling interval if {@link
+   * #needsPolling()}, and otherwise not until {@link #wakeUp()} is called. An iteration that throws
+   * disables this seeder in the same way as on a thread of its own.
+   */
+  private void runScheduledIteration() {
+    threadLock.lock();
+    try {
+      if (interrupted) {
+        return;
+      }
+      iterationRunning = true;
+      wakeUpPending = false;
+    } finally {
+      threadLock.unlock();
+    }
+    boolean succeeded = false;
+    boolean entropyConsumed = false;
+    boolean needsPolling = false;
+    long pollInterval = FIRST_POLL_INTERVAL;
+    lock.lock();
+    try {
+      if (!isEmpty()) {
+        entropyConsumed = reseedPrngsAndRecordMetrics();
+        needsPolling = needsPolling();
+        pollInterval = alreadyPolled ? REPEAT_POLL_INTERVAL : FIRST_POLL_INTERVAL;
+        alreadyPolled = !entropyConsumed;
+      }
+      succeeded = true;
+    } catch (final Throwable t) {
+      getLogger().error("Disabling the " + getClass().getSimpleName() + " for " + seedGenerator, t);
+    } finally {
+      lock.unlock();
+    }
+    threadLock.lock();
+    try {
+      iterationRunning = false;
+      nextIteration = null;
+      if (!succeeded || interrupted) {
+        return;
+      }
+      if (entropyConsumed || wakeUpPending || !depletedPrngs.isEmpty()) {
+        scheduleIteration(0, TimeUnit.NANOSECONDS);
+      } else if (needsPolling) {
+        scheduleIteration(pollInterval, TimeUnit.SECONDS);
+      }
+    } finally {
+      threadLock.unlock();
+    }
+  }
+
   /**
    * Waits {@link #stopIfEmptyForNanos} for {@link #waitWhileEmpty} to be signaled
    * @return true if not signaled; false if signaled
@@ -261,7 +774,7 @@ public class RandomSeeder extends Looper {
   protected void waitForEntropyDrainOrUpdateFlag(boolean entropyConsumed) throws InterruptedException {
     if (entropyConsumed) {
       alreadyPolled = false;
-    } else {
+    } else if (depletedPrngs.isEmpty()) {
       waitForEntropyDrain.await(alreadyPolled ? REPEAT_POLL_INTERVAL : FIRST_POLL_INTERVAL,
           TimeUnit.SECONDS);
       alreadyPolled = true;
@@ -269,26 +782,113 @@ public class RandomSeeder extends Looper {
   }
 
   /**
-   * Reseeds all the PRNGs that need reseeding in {@code randoms}.
+   * Reseeds all the PRNGs that need reseeding in {@code randoms}. Rather than requesting a seed for
+   * each PRNG separately, requests seeds for up to {@link #MAX_BATCH_SEED_LENGTH} bytes' worth of
+   * PRNGs at once, and slices the result among them. If {@link #maxSeedRequestsInFlight} is
+   * greater than 1, up to that many batches are requested at once; either way, returns once all the
+   * PRNGs are reseeded.
    *
    * @param randoms the PRNGs to reseed
    * @return true if at least one PRNG was reseeded; false otherwise
    */
   protected boolean reseedByteArrayReseedableRandoms(Iterable<? extends ByteArrayReseedableRandom> randoms) {
+    final Deque<CompletableFuture<Void>> inFlight = new ArrayDeque<>(maxSeedRequestsInFlight);
+    List<ByteArrayReseedableRandom> batch = new ArrayList<>();
+    int batchLength = 0;
     boolean entropyConsumed = false;
     for (ByteArrayReseedableRandom random : randoms) {
       if (stillDefinitelyHasEntropy(random)) {
         continue;
       }
       entropyConsumed = true;
+      final int seedLength = random.preferSeedWithLong() ? Long.BYTES : random.getNewSeedLength();
+      if (batchLength > 0 && batchLength + seedLength > MAX_BATCH_SEED_LENGTH) {
+        reseedBatch(batch, batchLength, inFlight);
+        batch = new ArrayList<>();
+        batchLength = 0;
+      }
+      batch.add(random);
+      batchLength += seedLength;
+    }
+    if (!batch.isEmpty()) {
+      reseedBatch(batch, batchLength, inFlight);
+    }
+    while (!inFlight.isEmpty()) {
+      awaitReseed(inFlight.remove());
+    }
+    return entropyConsumed;
+  }
+
+  /**
+   * Generates one seed for a batch of PRNGs and slices it among them. If {@link
+   * #maxSeedRequestsInFlight} is greater than 1, the seed is requested asynchronously, and this
+   * method only waits if that many requests are already in flight.
+   *
+   * @param batch the PRNGs to reseed
+   * @param batchLength the total length of the seeds they need
+   * @param inFlight the asynchronous reseedings that haven't been waited for yet
+   */
+  private void reseedBatch(final List<ByteArrayReseedableRandom> batch, final int batchLength,
+      final Deque<CompletableFuture<Void>> inFlight) {
+    iterationSeedBytes += batchLength;
+    if (maxSeedRequestsInFlight <= 1) {
+      distributeSeed(batch, seedGenerator.generateSeed(batchLength));
+      return;
+    }
+    if (inFlight.size() >= maxSeedRequestsInFlight) {
+      awaitReseed(inFlight.remove());
+    }
+    inFlight.add(seedGenerator.generateSeedAsync(batchLength, getSeedRequestPool())
+        .thenAccept(seed -> distributeSeed(batch, seed)));
+  }
+
+  /**
+   * Reseeds each PRNG in a batch with its slice of a seed.
+   *
+   * @param batch the PRNGs to reseed
+   * @param seed the seed for the whole batch
+   */
+  private static void distributeSeed(final Iterable<ByteArrayReseedableRandom> batch,
+      final byte[] seed) {
+    int offset = 0;
+    for (ByteArrayReseedableRandom random : batch) {
       if (random.preferSeedWithLong()) {
-        reseedWithLong((Random) random);
+        ((Random) random).setSeed(BinaryUtils.convertBytesToLong(seed, offset));
+        offset += Long.BYTES;
       } else {
-        byte[] seed = seedGenerator.generateSeed(random.getNewSeedLength());
-        random.setSeed(seed);
+        final int seedLength = random.getNewSeedLength();
+        random.setSeed(Arrays.copyOfRange(seed, offset, offset + seedLength));
+        offset += seedLength;
       }
     }
-    return entropyConsumed;
+  }
+
+  /**
+   * Waits for a reseeding to finish, and rethrows any {@link SeedException} as-is.
+   *
+   * @param reseed the future for the reseeding
+   */
+  private static void awaitReseed(CompletableFuture<Void> reseed) {
+    try {
+      reseed.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof SeedException) {
+        throw (SeedException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private ExecutorService getSeedRequestPool() {
+    ExecutorService pool = seedRequestPool;
+    if (pool == null) {
+      final ThreadPoolExecutor newPool = new ThreadPoolExecutor(maxSeedRequestsInFlight,
+          maxSeedRequestsInFlight, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+      newPool.allowCoreThreadTimeOut(true);
+      pool = newPool;
+      seedRequestPool = pool;
+    }
+    return pool;
   }
 
   /**
@@ -296,15 +896,27 @@ public class RandomSeeder extends Looper {
    * @param random the PRNG to reseed
    */
   protected void reseedWithLong(final Random random) {
+    iterationSeedBytes += Long.BYTES;
     random.setSeed(BinaryUtils.convertBytesToLong(seedGenerator.generateSeed(Long.BYTES)));
   }
 
   /**
    * Shut down this thread even if {@link Random} instances are registered with it.
+   *
+   * @throws UnsupportedOperationException if this seeder is from {@link
+   *     #forSeedGenerator(SeedGenerator)}, since other callers may be using it
    */
   public void shutDown() {
+    if (shared) {
+      throw new UnsupportedOperationException(
+          "Shared seeders can't be shut down; remove the PRNGs from them instead");
+    }
     interrupt();
     clear();
+    final ExecutorService pool = seedRequestPool;
+    if (pool != null) {
+      pool.shutdown();
+    }
   }
 
   /**
@@ -315,6 +927,9 @@ public class RandomSeeder extends Looper {
     try {
       unregisterWithAll(byteArrayPrngs);
       byteArrayPrngs.clear();
+      polledPrngs.clear();
+      depletedPrngs.clear();
+      queuedPrngs.clear();
     } finally {
       lock.unlock();
     }
@@ -0,0 +1,317 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>A seed generator that keeps a seed file, in the style of {@code
+ * /var/lib/systemd/random-seed}, so that seeds are available immediately when the JVM starts
+ * rather than only once a slower source such as {@code /dev/random} or a web service responds.</p>
+ *
+ * <p>On first use, the whole file is read through a memory mapping and immediately overwritten with
+ * zeroes, so that its entropy is never used twice, even by another process. Its contents are never
+ * used as they are: like systemd, which mixes its seed file into the kernel's pool, this hashes them
+ * together with input local to this JVM (output from {@link SecureRandom}, the time, the process
+ * and host), so that copies of the file in a container image, VM snapshot or backup don't give
+ * every instance started from them the same seeds. Requests are then served from the result, each
+ * byte only once, and the file is refilled in the background from the wrapped source, ready for the
+ * next start. Once those bytes are used up, or if the file was missing, empty or all zeroes,
+ * requests go straight to the wrapped source.</p>
+ *
+ * <p>A seed file is only as secret as the file system it's stored on, so it should be readable only
+ * by the user running the JVM. Where the file system supports POSIX permissions, the file is created
+ * that way.</p>
+ */
+public class SeedFileSeedGenerator implements SeedGenerator {
+
+  private static final long serialVersionUID = 4296130475618724105L;
+
+  /**
+   * Default size of the seed file in bytes, which is the same as for systemd.
+   */
+  public static final int DEFAULT_FILE_SIZE = 512;
+
+  /**
+   * Runs the background refills of the seed files for all instances.
+   */
+  private static final ExecutorService REFILL_EXECUTOR = Executors.newCachedThreadPool(
+      new RandomSeeder.DefaultThreadFactory("SeedFileSeedGenerator refill"));
+
+  /**
+   * Provides the local input that the file's contents are mixed with. Uses {@link
+   * SecureRandom#nextBytes(byte[])}, which unlike {@link SecureRandom#generateSeed(int)} doesn't
+   * block waiting for the operating system's entropy, since a fast start is the point of this class.
+   */
+  private static final SecureRandom LOCAL_INPUT = new SecureRandom();
+
+  private static final String HASH_ALGORITHM = "SHA-512";
+  private static final FileAttribute<Set<PosixFilePermission>> OWNER_ONLY =
+      PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"));
+  private static final int HASH_LENGTH = 64;
+
+  private final File file;
+  private final SeedGenerator source;
+  private final int fileSize;
+  private final Lock lock = new ReentrantLock();
+  /**
+   * The entropy read from the file, or null if it hasn't been read yet. Transient, so that a
+   * deserialized instance reads the file again rather than reusing another JVM's entropy. Guarded
+   * by {@link #lock}.
+   */
+  private transient byte[] pool;
+  /**
+   * Index of the first unused byte in {@link #pool}. Guarded by {@link #lock}.
+   */
+  private transient int pos;
+
+  /**
+   * Creates an instance with a file of {@link #DEFAULT_FILE_SIZE} bytes.
+   *
+   * @param file the seed file, which will be created if it doesn't exist
+   * @param source the seed generator to refill the file from, and to use once the file's entropy
+   *     is used up
+   */
+  @EntryPoint public SeedFileSeedGenerator(File file, SeedGenerator source) {
+    this(file, source, DEFAULT_FILE_SIZE);
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param file the seed file, which will be created if it doesn't exist
+   * @param source the seed generator to refill the file from, and to use once the file's entropy
+   *     is used up
+   * @param fileSize the number of bytes to store in the file
+   */
+  @EntryPoint public SeedFileSeedGenerator(File file, SeedGenerator source, int fileSize) {
+    if (fileSize <= 0) {
+      throw new IllegalArgumentException("fileSize must be positive");
+    }
+    this.file = Objects.requireNonNull(file, "file must not be null");
+    this.source = Objects.requireNonNull(source, "source must not be null");
+    this.fileSize = fileSize;
+  }
+
+  @Override public void generateSeed(byte[] output) throws SeedException {
+    lock.lock();
+    try {
+      if (pool == null) {
+        pool = readAndEraseFile();
+        pos = 0;
+        refillFileInBackground();
+      }
+      if (pool.length - pos >= output.length) {
+        System.arraycopy(pool, pos, output, 0, output.length);
+        // Erase the used bytes, so they can't leak later
+        for (int i = pos; i < pos + output.length; i++) {
+          pool[i] = 0;
+        }
+        pos += output.length;
+        return;
+      }
+    } finally {
+      lock.unlock();
+    }
+    source.generateSeed(output);
+  }
+
+  /**
+   * Reads the seed file through a memory mapping and overwrites it with zeroes. Must be called
+   * while holding {@link #lock}.
+   *
+   * @return the entropy read, which is empty if the file was missing, too short, all zeroes or
+   *     unreadable
+   */
+  private byte[] readAndEraseFile() {
+    if (!file.isFile()) {
+      return EMPTY_SEED;
+    }
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      final FileLock fileLock = channel.lock();
+      try {
+        final int length = (int) Math.min(channel.size(), fileSize);
+        if (length < fileSize) {
+          return EMPTY_SEED;
+        }
+        final MappedByteBuffer mapping = channel.map(MapMode.READ_WRITE, 0, length);
+        final byte[] contents = new byte[length];
+        mapping.get(contents);
+        mapping.rewind();
+        mapping.put(new byte[length]);
+        mapping.force();
+        if (isAllZeroes(contents)) {
+          return EMPTY_SEED;
+        }
+        final byte[] entropy = mixWithLocalInput(contents);
+        Arrays.fill(contents, (byte) 0);
+        return entropy;
+      } finally {
+        fileLock.release();
+      }
+    } catch (final IOException | RuntimeException e) {
+      LoggerFactory.getLogger(SeedFileSeedGenerator.class)
+          .warn("Unable to read seed file " + file, e);
+      return EMPTY_SEED;
+    }
+  }
+
+  /**
+   * Hashes the file's contents together with input that differs between processes, even ones
+   * started from identical copies of the file, to produce as many bytes as were read. Each block of
+   * output is the hash of the contents, the local input and the block's index.
+   *
+   * @param contents the bytes read from the file
+   * @return bytes to serve requests from
+   */
+  private static byte[] mixWithLocalInput(byte[] contents) {
+    final MessageDigest hash;
+    try {
+      hash = MessageDigest.getInstance(HASH_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new InternalError("Required hash algorithm missing");
+    }
+    final byte[] random = new byte[HASH_LENGTH];
+    LOCAL_INPUT.nextBytes(random);
+    final ByteBuffer localInput = ByteBuffer.allocate(HASH_LENGTH + 3 * Long.BYTES);
+    localInput.put(random).putLong(System.nanoTime()).putLong(System.currentTimeMillis())
+        .putLong(Thread.currentThread().getId());
+    // Process ID and host name, in the form "pid@host" on most JVMs
+    final byte[] processAndHost =
+        ManagementFactory.getRuntimeMXBean().getName().getBytes(StandardCharsets.UTF_8);
+    final byte[] output = new byte[contents.length];
+    for (int offset = 0, block = 0; offset < output.length; offset += HASH_LENGTH, block++) {
+      hash.update(contents);
+      hash.update(localInput.array());
+      hash.update(processAndHost);
+      hash.update(BinaryUtils.convertIntToBytes(block));
+      final byte[] digest = hash.digest();
+      System.arraycopy(digest, 0, output, offset, Math.min(HASH_LENGTH, output.length - offset));
+    }
+    Arrays.fill(random, (byte) 0);
+    return output;
+  }
+
+  private static boolean isAllZeroes(byte[] bytes) {
+    for (final byte b : bytes) {
+      if (b != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Requests {@link #fileSize} bytes from the source in the background, and writes them to the
+   * seed file.
+   */
+  private void refillFileInBackground() {
+    source.generateSeedAsync(fileSize, REFILL_EXECUTOR).thenAcceptAsync(this::writeFile,
+        REFILL_EXECUTOR).exceptionally(e -> {
+          LoggerFactory.getLogger(SeedFileSeedGenerator.class)
+              .warn("Unable to refill seed file " + file, e);
+          return null;
+        });
+  }
+
+  /**
+   * Replaces the contents of the seed file. If the file doesn't exist yet and the file system
+   * supports POSIX permissions, it's created readable and writable only by its owner.
+   *
+   * @param seed the new contents
+   */
+  private void writeFile(byte[] seed) {
+    final Path path = file.toPath();
+    final Set<StandardOpenOption> options =
+        EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    final FileAttribute<?>[] attributes =
+        path.getFileSystem().supportedFileAttributeViews().contains("posix")
+            ? new FileAttribute<?>[] {OWNER_ONLY} : new FileAttribute<?>[0];
+    try (FileChannel channel = FileChannel.open(path, options, attributes)) {
+      final FileLock fileLock = channel.lock();
+      try {
+        final ByteBuffer buffer = ByteBuffer.wrap(seed);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer, buffer.position());
+        }
+        channel.truncate(seed.length);
+        channel.force(true);
+      } finally {
+        fileLock.release();
+      }
+    } catch (final IOException e) {
+      throw new SeedException("Unable to write seed file " + file, e);
+    }
+  }
+
+  /**
+   * Returns the number of bytes read from the file that haven't been used yet.
+   *
+   * @return the number of unused bytes from the file; 0 if it hasn't been read yet
+   */
+  public int getRemainingFileBytes() {
+    lock.lock();
+    try {
+      return (pool == null) ? 0 : pool.length - pos;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override public boolean isWorthTrying() {
+    lock.lock();
+    try {
+      if (pool == null ? file.isFile() : pos < pool.length) {
+        return true;
+      }
+    } finally {
+      lock.unlock();
+    }
+    return source.isWorthTrying();
+  }
+
+  @Override public String toString() {
+    return String.format("SeedFileSeedGenerator(%s,%s,%d)", file, source, fileSize);
+  }
+
+  @Override public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SeedFileSeedGenerator that = (SeedFileSeedGenerator) o;
+    return fileSize == that.fileSize && file.equals(that.file) && source.equals(that.source);
+  }
+
+  @Override public int hashCode() {
+    return Objects.hash(file, source, fileSize);
+  }
+}
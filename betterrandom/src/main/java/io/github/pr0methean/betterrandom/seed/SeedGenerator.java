@@ -16,6 +16,8 @@
 package io.github.pr0methean.betterrandom.seed;
 
 import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Strategy interface for seeding random number generators. Implementations that can have multiple
@@ -57,6 +59,20 @@ import java.io.Serializable;
     return output;
   }
 
+  /**
+   * Generates a seed value for a random number generator as a new array, without blocking the
+   * calling thread. This implementation calls {@link #generateSeed(int)} on the given executor;
+   * implementations that can avoid tying up a thread while waiting for I/O should override it.
+   *
+   * @param length The length of the seed to generate (in bytes).
+   * @param executor The executor on which to perform any blocking work.
+   * @return A future that will complete with the seed data, or exceptionally with a {@link
+   *     SeedException} if a seed cannot be generated for any reason.
+   */
+  default CompletableFuture<byte[]> generateSeedAsync(final int length, final Executor executor) {
+    return CompletableFuture.supplyAsync(() -> generateSeed(length), executor);
+  }
+
   /**
    * Returns true if we cannot determine quickly (i.e. without I/O calls) that this SeedGenerator
    * would throw a {@link SeedException} if {@link #generateSeed(int)} or {@link
@@ -2,18 +2,88 @@ package io.github.pr0methean.betterrandom.seed;
 
 import com.google.common.collect.ImmutableList;
 import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
 
 /**
- * A {@link SeedGenerator} implementation that iterates over multiple delegates until one succeeds.
+ * <p>A {@link SeedGenerator} implementation that iterates over multiple delegates until one
+ * succeeds.</p>
+ *
+ * <p>In adaptive mode, the latency and failure rate of each delegate are recorded, and delegates
+ * are tried in order of their mean latency rather than in the given order. A delegate that fails
+ * {@link #FAILURES_BEFORE_DEMOTION} times in a row, or that takes longer than {@link
+ * #MAX_HEALTHY_LATENCY_NANOS} to succeed, is demoted: like a circuit breaker that has opened, it's
+ * only tried as a last resort, after all the other delegates have failed. Once a demotion expires,
+ * the delegate is probed in the background, and it's promoted again if the probe succeeds quickly;
+ * otherwise it's demoted for twice as long as before, up to {@link #MAX_DEMOTION_NANOS}. Thus, the
+ * latency of a seed request tracks that of the fastest healthy delegate, and a slow or failing
+ * delegate doesn't add its timeout to every request.</p>
  */
 public class SeedGeneratorPreferenceList implements SeedGenerator {
 
+  /**
+   * In adaptive mode, the number of consecutive failures after which a delegate is demoted.
+   */
+  public static final int FAILURES_BEFORE_DEMOTION = 2;
+
+  /**
+   * In adaptive mode, a delegate that takes longer than this many nanoseconds to succeed is
+   * demoted.
+   */
+  public static final long MAX_HEALTHY_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+  /**
+   * In adaptive mode, the time in nanoseconds before a newly-demoted delegate is probed.
+   */
+  public static final long INITIAL_DEMOTION_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  /**
+   * In adaptive mode, the longest time in nanoseconds that a delegate can be demoted for before
+   * it's probed again.
+   */
+  public static final long MAX_DEMOTION_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+  /**
+   * Weight of the latest observation in the moving averages of latency and failure rate.
+   */
+  private static final double SMOOTHING = 0.2;
+
+  /**
+   * Length in bytes of the seeds requested when probing a demoted delegate.
+   */
+  private static final int PROBE_LENGTH = Long.BYTES;
+
+  /**
+   * Runs the probes of demoted delegates for all instances in adaptive mode.
+   */
+  private static final ExecutorService PROBE_EXECUTOR = Executors.newCachedThreadPool(
+      new RandomSeeder.DefaultThreadFactory("SeedGeneratorPreferenceList probe"));
+
   private final ImmutableList<SeedGenerator> delegates;
   private static final long serialVersionUID = -4429919137592899776L;
   private final boolean isAlwaysWorthTrying;
+  private final boolean adaptive;
+
+  /**
+   * The statistics for each delegate, in the same order as {@link #delegates}; null if not in
+   * adaptive mode.
+   */
+  @Nullable private transient DelegateHealth[] health;
 
   /**
    * Creates an instance.
@@ -24,8 +94,39 @@ public class SeedGeneratorPreferenceList implements SeedGenerator {
    */
   @EntryPoint public SeedGeneratorPreferenceList(Collection<? extends SeedGenerator> delegates,
       boolean isAlwaysWorthTrying) {
+    this(delegates, isAlwaysWorthTrying, false);
+  }
+
+  /**
+   * Creates an instance, which is in adaptive mode if {@code adaptive} is true.
+   *
+   * @param delegates the list of delegates, in the order they will be tried until one succeeds,
+   *     or in adaptive mode, the order they will be tried in until their latencies are known
+   * @param isAlwaysWorthTrying true if {@link #isWorthTrying()} should always return true rather
+   *     than delegating
+   * @param adaptive true if delegates should be tried in order of latency, and demoted when slow or
+   *     failing
+   */
+  @EntryPoint public SeedGeneratorPreferenceList(Collection<? extends SeedGenerator> delegates,
+      boolean isAlwaysWorthTrying, boolean adaptive) {
     this.delegates = ImmutableList.copyOf(delegates);
     this.isAlwaysWorthTrying = isAlwaysWorthTrying;
+    this.adaptive = adaptive;
+    initTransientFields();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    initTransientFields();
+  }
+
+  private void initTransientFields() {
+    if (adaptive) {
+      health = new DelegateHealth[delegates.size()];
+      for (int i = 0; i < health.length; i++) {
+        health[i] = new DelegateHealth();
+      }
+    }
   }
 
   /**
@@ -41,10 +142,11 @@ public class SeedGeneratorPreferenceList implements SeedGenerator {
   }
 
   @Override public void generateSeed(byte[] output) throws SeedException {
-    for (final SeedGenerator generator : delegates) {
+    for (final int index : delegateOrder()) {
+      final SeedGenerator generator = delegates.get(index);
       if (generator.isWorthTrying()) {
         try {
-          generator.generateSeed(output);
+          generateSeedAndRecord(index, output);
           return;
         } catch (final SeedException ignored) {
           // Try the next one
@@ -54,6 +156,161 @@ public class SeedGeneratorPreferenceList implements SeedGenerator {
     throw new SeedException("All available seed generation strategies failed.");
   }
 
+  /**
+   * Calls a delegate's {@link SeedGenerator#generateSeed(byte[])}, and in adaptive mode, records
+   * the outcome.
+   *
+   * @param index the index of the delegate
+   * @param output the array to fill
+   * @throws SeedException if the delegate fails
+   */
+  private void generateSeedAndRecord(final int index, final byte[] output) throws SeedException {
+    if (health == null) {
+      delegates.get(index).generateSeed(output);
+      return;
+    }
+    final long start = System.nanoTime();
+    try {
+      delegates.get(index).generateSeed(output);
+    } catch (final SeedException e) {
+      health[index].recordFailure();
+      throw e;
+    }
+    health[index].recordSuccess(System.nanoTime() - start);
+  }
+
+  /**
+   * Returns the indices of the delegates in the order to try them. In adaptive mode, that's the
+   * delegates that aren't demoted, in order of mean latency, followed by the demoted ones in the
+   * order they were given; and probes of demoted delegates are started if they're due.
+   *
+   * @return the indices of the delegates in the order to try them
+   */
+  private List<Integer> delegateOrder() {
+    final List<Integer> order = IntStream.range(0, delegates.size()).boxed()
+        .collect(Collectors.toList());
+    if (health == null) {
+      return order;
+    }
+    final List<Integer> demoted = new ArrayList<>();
+    final List<Integer> healthy = new ArrayList<>();
+    for (final int index : order) {
+      final DelegateHealth delegateHealth = health[index];
+      if (delegateHealth.isDemoted()) {
+        demoted.add(index);
+        if (delegateHealth.startProbeIfDue()) {
+          probe(index);
+        }
+      } else {
+        healthy.add(index);
+      }
+    }
+    // Stable sort, so that delegates without a known latency stay in the given order
+    healthy.sort(Comparator.comparingDouble(index -> health[index].getMeanLatencyNanos()));
+    healthy.addAll(demoted);
+    return healthy;
+  }
+
+  /**
+   * Requests a short seed from a demoted delegate in the background, so that it's promoted again
+   * if it succeeds quickly.
+   *
+   * @param index the index of the delegate
+   */
+  private void probe(final int index) {
+    final DelegateHealth delegateHealth = health[index];
+    PROBE_EXECUTOR.execute(() -> {
+      try {
+        if (delegates.get(index).isWorthTrying()) {
+          generateSeedAndRecord(index, new byte[PROBE_LENGTH]);
+        }
+      } catch (final SeedException ignored) {
+        // Already recorded
+      } finally {
+        delegateHealth.probeDone();
+      }
+    });
+  }
+
+  /**
+   * Tries each delegate's {@link SeedGenerator#generateSeedAsync(int, Executor)} in turn, starting
+   * the next one only once the previous one has failed. In adaptive mode, the delegates are tried
+   * in the same order as by {@link #generateSeed(byte[])}, and the outcomes are recorded.
+   */
+  @Override public CompletableFuture<byte[]> generateSeedAsync(final int length,
+      final Executor executor) {
+    return generateSeedAsync(length, executor, delegateOrder(), 0);
+  }
+
+  private CompletableFuture<byte[]> generateSeedAsync(final int length, final Executor executor,
+      final List<Integer> order, final int firstDelegate) {
+    for (int i = firstDelegate; i < order.size(); i++) {
+      final int index = order.get(i);
+      final SeedGenerator generator = delegates.get(index);
+      if (generator.isWorthTrying()) {
+        final int nextDelegate = i + 1;
+        final long start = System.nanoTime();
+        return generator.generateSeedAsync(length, executor)
+            .handle((seed, failure) -> {
+              if (health != null) {
+                if (failure == null) {
+                  health[index].recordSuccess(System.nanoTime() - start);
+                } else {
+                  health[index].recordFailure();
+                }
+              }
+              return (failure == null) ? CompletableFuture.completedFuture(seed)
+                  : generateSeedAsync(length, executor, order, nextDelegate);
+            })
+            .thenCompose(Function.identity());
+      }
+    }
+    final CompletableFuture<byte[]> failure = new CompletableFuture<>();
+    failure.completeExceptionally(
+        new SeedException("All available seed generation strategies failed."));
+    return failure;
+  }
+
+  /**
+   * Returns the moving average of a delegate's latency when it succeeds.
+   *
+   * @param index the index of the delegate in the list given to the constructor
+   * @return the mean latency in nanoseconds, or 0 if the delegate hasn't succeeded yet
+   * @throws IllegalStateException if not in adaptive mode
+   */
+  public double getMeanLatencyNanos(int index) {
+    return getHealth(index).getMeanLatencyNanos();
+  }
+
+  /**
+   * Returns the moving average of a delegate's failure rate, between 0 and 1.
+   *
+   * @param index the index of the delegate in the list given to the constructor
+   * @return the failure rate, or 0 if the delegate hasn't been tried yet
+   * @throws IllegalStateException if not in adaptive mode
+   */
+  public double getFailureRate(int index) {
+    return getHealth(index).getFailureRate();
+  }
+
+  /**
+   * Returns whether a delegate is demoted, so that it's only tried after all the others have failed.
+   *
+   * @param index the index of the delegate in the list given to the constructor
+   * @return true if the delegate is demoted
+   * @throws IllegalStateException if not in adaptive mode
+   */
+  public boolean isDemoted(int index) {
+    return getHealth(index).isDemoted();
+  }
+
+  private DelegateHealth getHealth(int index) {
+    if (health == null) {
+      throw new IllegalStateException("Not in adaptive mode");
+    }
+    return health[index];
+  }
+
   @Override public boolean isWorthTrying() {
     if (isAlwaysWorthTrying) {
       return true;
@@ -74,18 +331,92 @@ public class SeedGeneratorPreferenceList implements SeedGenerator {
       return false;
     }
     SeedGeneratorPreferenceList that = (SeedGeneratorPreferenceList) o;
-    return isAlwaysWorthTrying == that.isAlwaysWorthTrying && delegates.equals(that.delegates);
+    return isAlwaysWorthTrying == that.isAlwaysWorthTrying && adaptive == that.adaptive
+        && delegates.equals(that.delegates);
   }
 
   @Override public int hashCode() {
-    return Objects.hash(delegates, isAlwaysWorthTrying);
+    return Objects.hash(delegates, isAlwaysWorthTrying, adaptive);
+  }
+
+  /**
+   * The latency and failure statistics of one delegate in adaptive mode, and the state of its
+   * circuit breaker.
+   */
+  private static final class DelegateHealth {
+    private double meanLatencyNanos;
+    private double failureRate;
+    private int consecutiveFailures;
+    private boolean demoted;
+    private long demotionNanos;
+    private long demotedUntilNanos;
+    private boolean probing;
+
+    synchronized void recordSuccess(long latencyNanos) {
+      meanLatencyNanos = (meanLatencyNanos == 0) ? latencyNanos
+          : meanLatencyNanos + SMOOTHING * (latencyNanos - meanLatencyNanos);
+      failureRate -= SMOOTHING * failureRate;
+      consecutiveFailures = 0;
+      if (latencyNanos > MAX_HEALTHY_LATENCY_NANOS) {
+        demote();
+      } else {
+        demoted = false;
+      }
+    }
+
+    synchronized void recordFailure() {
+      failureRate += SMOOTHING * (1 - failureRate);
+      consecutiveFailures++;
+      if (consecutiveFailures >= FAILURES_BEFORE_DEMOTION) {
+        demote();
+      }
+    }
+
+    /**
+     * Demotes the delegate, for twice as long as last time if it's still demoted.
+     */
+    private void demote() {
+      demotionNanos = demoted ? Math.min(2 * demotionNanos, MAX_DEMOTION_NANOS)
+          : INITIAL_DEMOTION_NANOS;
+      demoted = true;
+      demotedUntilNanos = System.nanoTime() + demotionNanos;
+    }
+
+    synchronized boolean isDemoted() {
+      return demoted;
+    }
+
+    /**
+     * @return true if the caller should probe the delegate, because it's demoted, its demotion
+     *     has expired and it's not already being probed
+     */
+    synchronized boolean startProbeIfDue() {
+      if (demoted && !probing && System.nanoTime() - demotedUntilNanos >= 0) {
+        probing = true;
+        return true;
+      }
+      return false;
+    }
+
+    synchronized void probeDone() {
+      probing = false;
+    }
+
+    synchronized double getMeanLatencyNanos() {
+      return meanLatencyNanos;
+    }
+
+    synchronized double getFailureRate() {
+      return failureRate;
+    }
   }
 
   public static class Builder {
     private final ImmutableList.Builder<SeedGenerator> delegates = new ImmutableList.Builder<>();
     private boolean isAlwaysWorthTrying;
+    private boolean adaptive;
     public SeedGeneratorPreferenceList build() {
-      return new SeedGeneratorPreferenceList(delegates.build(), isAlwaysWorthTrying);
+      return new SeedGeneratorPreferenceList(delegates.build(), isAlwaysWorthTrying, adaptive);
     }
     public void add(SeedGenerator... seedGenerators) {
       delegates.add(seedGenerators);
@@ -96,5 +427,8 @@ public class SeedGeneratorPreferenceList implements SeedGenerator {
     public void setAlwaysWorthTrying(boolean alwaysWorthTrying) {
       isAlwaysWorthTrying = alwaysWorthTrying;
     }
+    public void setAdaptive(boolean adaptive) {
+      this.adaptive = adaptive;
+    }
   }
 }
@@ -0,0 +1,271 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import com.google.common.collect.ImmutableMap;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>Latency, throughput and failure counts for one kind of seed operation: requests to an {@link
+ * InstrumentedSeedGenerator}, iterations of a {@link RandomSeeder}, or batches downloaded by a
+ * {@link WebSeedClient}. Recording is lock-free, so it adds only a few atomic increments and two
+ * calls to {@link System#nanoTime()} to each operation.</p>
+ *
+ * <p>There is one instance per name, obtained with {@link #forName(String)}; each is registered as
+ * a JMX MBean named {@code io.github.pr0methean.betterrandom:type=SeedMetrics,name="<name>"}. Since
+ * instances are never removed, names should come from configuration rather than per-request
+ * data. {@link #snapshotAll()} reads all of them at once without JMX.</p>
+ */
+public final class SeedMetrics implements SeedMetricsMBean {
+
+  /**
+   * JMX domain of the MBeans.
+   */
+  public static final String JMX_DOMAIN = "io.github.pr0methean.betterrandom";
+
+  private static final ConcurrentMap<String, SeedMetrics> BY_NAME = new ConcurrentHashMap<>();
+
+  private final String name;
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder bytes = new LongAdder();
+  private volatile long startNanos = System.nanoTime();
+
+  private SeedMetrics(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Returns the metrics with the given name, creating and registering them with the platform MBean
+   * server if they don't exist yet.
+   *
+   * @param name the name of the metrics
+   * @return the metrics with that name
+   */
+  public static SeedMetrics forName(String name) {
+    Objects.requireNonNull(name, "name must not be null");
+    final SeedMetrics existing = BY_NAME.get(name);
+    if (existing != null) {
+      return existing;
+    }
+    return BY_NAME.computeIfAbsent(name, newName -> {
+      final SeedMetrics metrics = new SeedMetrics(newName);
+      metrics.registerMBean();
+      return metrics;
+    });
+  }
+
+  /**
+   * Returns snapshots of all the metrics created so far, keyed by name.
+   *
+   * @return a snapshot of every instance
+   */
+  public static Map<String, Snapshot> snapshotAll() {
+    final ImmutableMap.Builder<String, Snapshot> snapshots = ImmutableMap.builder();
+    BY_NAME.forEach((name, metrics) -> snapshots.put(name, metrics.snapshot()));
+    return snapshots.build();
+  }
+
+  private void registerMBean() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+          new ObjectName(JMX_DOMAIN + ":type=SeedMetrics,name=" + ObjectName.quote(name)));
+    } catch (final JMException | SecurityException | LinkageError e) {
+      // Still usable through snapshotAll() if JMX isn't available
+      LoggerFactory.getLogger(SeedMetrics.class)
+          .warn("Unable to register seed metrics " + name + " with JMX", e);
+    }
+  }
+
+  /**
+   * Records an operation that succeeded.
+   *
+   * @param nanos how long the operation took
+   * @param byteCount the number of seed bytes it produced
+   */
+  public void recordSuccess(long nanos, int byteCount) {
+    latency.record(nanos);
+    bytes.add(byteCount);
+  }
+
+  /**
+   * Records an operation that failed.
+   *
+   * @param nanos how long the operation took before failing
+   */
+  public void recordFailure(long nanos) {
+    latency.record(nanos);
+    failures.increment();
+  }
+
+  /**
+   * Returns a copy of the current values, for use without JMX.
+   *
+   * @return a snapshot of these metrics
+   */
+  public Snapshot snapshot() {
+    return new Snapshot(this);
+  }
+
+  @Override public String getName() {
+    return name;
+  }
+
+  @Override public long getRequestCount() {
+    return latency.getCount();
+  }
+
+  @Override public long getFailureCount() {
+    return failures.sum();
+  }
+
+  @Override public long getByteCount() {
+    return bytes.sum();
+  }
+
+  @Override public double getBytesPerSecond() {
+    final long elapsedNanos = System.nanoTime() - startNanos;
+    return (elapsedNanos <= 0) ? 0 : bytes.sum() * 1e9 / elapsedNanos;
+  }
+
+  @Override public double getMeanLatencyNanos() {
+    return latency.getMean();
+  }
+
+  @Override public long getMedianLatencyNanos() {
+    return latency.getValueAtPercentile(50);
+  }
+
+  @Override public long getP99LatencyNanos() {
+    return latency.getValueAtPercentile(99);
+  }
+
+  @Override public long getMaxLatencyNanos() {
+    return latency.getMax();
+  }
+
+  /**
+   * Returns the histogram of operation latencies, for percentiles other than those exposed through
+   * JMX.
+   *
+   * @return the latency histogram
+   */
+  public LatencyHistogram getLatencyHistogram() {
+    return latency;
+  }
+
+  @Override public void reset() {
+    latency.reset();
+    failures.reset();
+    bytes.reset();
+    startNanos = System.nanoTime();
+  }
+
+  @Override public String toString() {
+    return String.format("SeedMetrics(%s)", name);
+  }
+
+  /**
+   * Immutable copy of the values of a {@link SeedMetrics} at one point in time.
+   */
+  public static final class Snapshot {
+    private final String name;
+    private final long requestCount;
+    private final long failureCount;
+    private final long byteCount;
+    private final double bytesPerSecond;
+    private final double meanLatencyNanos;
+    private final long medianLatencyNanos;
+    private final long p99LatencyNanos;
+    private final long maxLatencyNanos;
+
+    private Snapshot(SeedMetrics metrics) {
+      name = metrics.getName();
+      requestCount = metrics.getRequestCount();
+      failureCount = metrics.getFailureCount();
+      byteCount = metrics.getByteCount();
+      bytesPerSecond = metrics.getBytesPerSecond();
+      meanLatencyNanos = metrics.getMeanLatencyNanos();
+      medianLatencyNanos = metrics.getMedianLatencyNanos();
+      p99LatencyNanos = metrics.getP99LatencyNanos();
+      maxLatencyNanos = metrics.getMaxLatencyNanos();
+    }
+
+    /**
+     * @return see {@link SeedMetrics#getName()}
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return see {@link SeedMetrics#getRequestCount()}
+     */
+    public long getRequestCount() {
+      return requestCount;
+    }
+
+    /**
+     * @return see {@link SeedMetrics#getFailureCount()}
+     */
+    public long getFailureCount() {
+      return failureCount;
+    }
+
+    /**
+     * @return see {@link SeedMetrics#getByteCount()}
+     */
+    public long getByteCount() {
+      return byteCount;
+    }
+
+    /**
+     * @return see {@link SeedMetrics#getBytesPerSecond()}
+     */
+    public double getBytesPerSecond() {
+      return bytesPerSecond;
+    }
+
+    /**
+     * @return see {@link SeedMetrics#getMeanLatencyNanos()}
+     */
+    public double getMeanLatencyNanos() {
+      return meanLatencyNanos;
+    }
+
+    /**
+     * @return see {@link SeedMetrics#getMedianLatencyNanos()}
+     */
+    public long getMedianLatencyNanos() {
+      return medianLatencyNanos;
+    }
+
+    /**
+     * @return see {@link SeedMetrics#getP99LatencyNanos()}
+     */
+    public long getP99LatencyNanos() {
+      return p99LatencyNanos;
+    }
+
+    /**
+     * @return see {@link SeedMetrics#getMaxLatencyNanos()}
+     */
+    public long getMaxLatencyNanos() {
+      return maxLatencyNanos;
+    }
+
+    @Override public String toString() {
+      return String.format(
+          "%s: %d requests, %d failures, %d bytes (%.1f B/s); latency mean %.0f ns, median %d ns,"
+              + " p99 %d ns, max %d ns",
+          name, requestCount, failureCount, byteCount, bytesPerSecond, meanLatencyNanos,
+          medianLatencyNanos, p99LatencyNanos, maxLatencyNanos);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package io.github.pr0methean.betterrandom.seed;
+
+/**
+ * JMX interface of {@link SeedMetrics}. Latencies are in nanoseconds.
+ */
+public interface SeedMetricsMBean {
+
+  /**
+   * Returns the name these metrics are registered under.
+   *
+   * @return the name of the metrics
+   */
+  String getName();
+
+  /**
+   * Returns the number of operations recorded, whether they succeeded or failed.
+   *
+   * @return the number of operations
+   */
+  long getRequestCount();
+
+  /**
+   * Returns the number of operations that failed.
+   *
+   * @return the number of failures
+   */
+  long getFailureCount();
+
+  /**
+   * Returns the number of seed bytes produced by successful operations.
+   *
+   * @return the number of bytes
+   */
+  long getByteCount();
+
+  /**
+   * Returns the number of seed bytes produced per second since creation or the last reset.
+   *
+   * @return the throughput in bytes per second
+   */
+  double getBytesPerSecond();
+
+  /**
+   * Returns the mean latency of all operations.
+   *
+   * @return the mean latency
+   */
+  double getMeanLatencyNanos();
+
+  /**
+   * Returns the median latency of all operations.
+   *
+   * @return the median latency
+   */
+  long getMedianLatencyNanos();
+
+  /**
+   * Returns the 99th-percentile latency of all operations.
+   *
+   * @return the 99th-percentile latency
+   */
+  long getP99LatencyNanos();
+
+  /**
+   * Returns the longest latency of any operation.
+   *
+   * @return the maximum latency
+   */
+  long getMaxLatencyNanos();
+
+  /**
+   * Discards everything recorded so far.
+   */
+  void reset();
+}
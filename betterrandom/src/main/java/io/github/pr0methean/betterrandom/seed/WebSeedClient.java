@@ -5,13 +5,24 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
 import java.net.HttpURLConnection;
 import java.net.Proxy;
 import java.net.URL;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nullable;
@@ -22,8 +33,13 @@ import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
 /**
- * A {@link SeedGenerator} that is a client for a Web random-number service. Contains many methods
- * for parsing JSON responses.
+ * <p>A {@link SeedGenerator} that is a client for a Web random-number service. Contains many
+ * methods for parsing JSON responses.</p>
+ *
+ * <p>Requests are sent through the configuration's {@link HttpConnectionFactory}, and connections
+ * are left open after successful requests so that they can be reused. A seed larger than {@link
+ * #getMaxRequestSize()} is downloaded in pieces, which are requested concurrently; no more than
+ * {@link WebSeedClientConfiguration#getMaxConcurrentRequests()} requests are sent at once.</p>
  */
 public abstract class WebSeedClient implements SeedGenerator {
   /**
@@ -36,20 +52,47 @@ public abstract class WebSeedClient implements SeedGenerator {
   protected static final Clock CLOCK = Clock.systemUTC();
   /**
    * Made available to parse JSON responses.
+   *
+   * @deprecated Not thread-safe, and batches of a large seed are now downloaded concurrently. Use
+   *     {@link #parseJsonResponse(HttpURLConnection)} or a new {@link JSONParser} instead.
    */
+  @Deprecated
   protected static final JSONParser JSON_PARSER = new JSONParser();
   private static final long serialVersionUID = 2216766353219231461L;
   /**
-   * Held while downloading, so that two requests to the same server won't be pending at the same
-   * time.
+   * Downloads the pieces of large seeds for {@link #generateSeed(byte[])}.
+   */
+  private static final ExecutorService BATCH_EXECUTOR = Executors.newCachedThreadPool(
+      new RandomSeeder.DefaultThreadFactory("WebSeedClient batch download"));
+  /**
+   * Formerly held while downloading, so that two requests to the same server wouldn't be pending
+   * at the same time.
+   *
+   * @deprecated No longer used, since batches are now downloaded concurrently; {@link
+   *     #getMaxConcurrentRequests()} limits how many requests are pending at once.
    */
+  @Deprecated
   protected final Lock lock = new ReentrantLock(true);
+  /**
+   * A permit is held while downloading, so that no more than {@link #getMaxConcurrentRequests()}
+   * requests to the same server will be pending at the same time.
+   */
+  private transient Semaphore requestPermits;
+  /**
+   * The result of {@link #getBatchMetrics()}, looked up once rather than for every batch.
+   */
+  private transient SeedMetrics batchMetrics;
   /**
    * The earliest time we'll try again if there's been a previous IOE, or when the server requests
    * throttling.
    */
   protected volatile Instant earliestNextAttempt = Instant.MIN;
   private final WebSeedClientConfiguration configuration;
+  /**
+   * Completes, successfully or not, when the last batch queued by {@link #generateSeedAsync(int,
+   * Executor)} is finished. Guarded by {@code this}.
+   */
+  @Nullable private transient CompletableFuture<Void> lastQueuedBatch;
 
   /**
    * The value for the HTTP User-Agent header.
@@ -78,6 +121,28 @@ public abstract class WebSeedClient implements SeedGenerator {
   protected WebSeedClient(WebSeedClientConfiguration webSeedClientConfiguration) {
     configuration = webSeedClientConfiguration;
     userAgent = getClass().getName();
+    initTransientFields();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    initTransientFields();
+  }
+
+  private void initTransientFields() {
+    requestPermits = new Semaphore(getMaxConcurrentRequests(), true);
+    batchMetrics = SeedMetrics.forName(getClass().getSimpleName() + " batches");
+  }
+
+  /**
+   * Returns the most requests to send to the server at once. Called from the constructor. Clients
+   * for a service that throttles them by setting {@link #earliestNextAttempt} after each response
+   * should override this to return 1, since concurrent requests wouldn't wait for it.
+   *
+   * @return {@link WebSeedClientConfiguration#getMaxConcurrentRequests()}
+   */
+  protected int getMaxConcurrentRequests() {
+    return configuration.getMaxConcurrentRequests();
   }
 
   protected WebSeedClient() {
@@ -127,7 +192,8 @@ public abstract class WebSeedClient implements SeedGenerator {
   protected static JSONObject parseJsonResponse(HttpURLConnection connection) throws IOException {
     final Object response;
     try (final BufferedReader reader = getResponseReader(connection)) {
-      response = JSON_PARSER.parse(reader);
+      // JSONParser isn't thread-safe, so each response gets its own
+      response = new JSONParser().parse(reader);
     } catch (final ParseException e) {
       throw new SeedException("Unparseable JSON response", e);
     }
@@ -146,20 +212,20 @@ public abstract class WebSeedClient implements SeedGenerator {
   protected abstract int getMaxRequestSize();
 
   /**
-   * Opens an {@link HttpsURLConnection} that will make a GET request to the given URL using this
-   * seed generator's current {@link Proxy}, {@link SeedGenerator} and User-Agent string, with the
-   * header {@code Content-Type: application/json}.
+   * Opens an {@link HttpURLConnection} that will make a GET request to the given URL using this
+   * seed generator's current {@link HttpConnectionFactory}, {@link Proxy}, {@link SSLSocketFactory}
+   * (if the connection is an {@link HttpsURLConnection}) and User-Agent string, with the header
+   * {@code Content-Type: application/json}.
    *
    * @param url the URL to connect to
    * @return a connection to the URL
-   * @throws IOException if thrown by {@link URL#openConnection()} or {@link URL#openConnection(Proxy)}
+   * @throws IOException if thrown by {@link HttpConnectionFactory#openConnection(URL, Proxy)}
    */
-  protected HttpsURLConnection openConnection(final URL url) throws IOException {
-    final HttpsURLConnection connection =
-        (HttpsURLConnection) ((getProxy() == null) ? url.openConnection() :
-            url.openConnection(getProxy()));
-    if (getSocketFactory() != null) {
-      connection.setSSLSocketFactory(getSocketFactory());
+  protected HttpURLConnection openConnection(final URL url) throws IOException {
+    final HttpURLConnection connection =
+        configuration.getConnectionFactory().openConnection(url, getProxy());
+    if (getSocketFactory() != null && connection instanceof HttpsURLConnection) {
+      ((HttpsURLConnection) connection).setSSLSocketFactory(getSocketFactory());
     }
     connection.setRequestProperty("Content-Type", "application/json");
     connection.setRequestProperty("User-Agent", userAgent);
@@ -181,34 +247,153 @@ public abstract class WebSeedClient implements SeedGenerator {
   protected abstract void downloadBytes(HttpURLConnection connection, byte[] seed, int offset,
       int length) throws IOException;
 
+  /**
+   * Downloads the seed, in concurrent batches if it's larger than {@link #getMaxRequestSize()}. The
+   * first batch is downloaded on the calling thread. If any batch fails, the ones that haven't
+   * started are skipped, and this waits for the rest to finish before throwing, so that none of
+   * them write to {@code seed} afterward.
+   */
   @Override public void generateSeed(final byte[] seed) throws SeedException {
     if (!isWorthTrying()) {
       throw new SeedException("Not using this again until " + earliestNextAttempt);
     }
-    final int length = seed.length;
+    if (seed.length == 0) {
+      return;
+    }
+    final List<Batch> batches = splitIntoBatches(seed.length);
+    final AtomicBoolean failed = new AtomicBoolean(false);
+    final CompletableFuture<?>[] otherBatches = new CompletableFuture<?>[batches.size() - 1];
+    for (int i = 0; i < otherBatches.length; i++) {
+      final Batch batch = batches.get(i + 1);
+      otherBatches[i] = CompletableFuture.runAsync(() -> downloadQueuedBatch(seed, batch, failed),
+          BATCH_EXECUTOR);
+    }
+    // Completes only once every batch has, even if some fail
+    final CompletableFuture<Void> allOtherBatches = CompletableFuture.allOf(otherBatches);
+    try {
+      downloadQueuedBatch(seed, batches.get(0), failed);
+    } catch (final RuntimeException e) {
+      failed.set(true);
+      try {
+        allOtherBatches.join();
+      } catch (final CompletionException | CancellationException ignored) {
+        // Already failing with e
+      }
+      throw e;
+    }
+    try {
+      allOtherBatches.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof SeedException) {
+        throw (SeedException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Splits a seed into the pieces to request separately.
+   *
+   * @param length the length of the seed
+   * @return the batches, each no larger than {@link #getMaxRequestSize()}
+   */
+  private List<Batch> splitIntoBatches(final int length) {
     final int batchSize = Math.min(length, getMaxRequestSize());
     final URL batchUrl = getConnectionUrl(batchSize);
     final int batches = divideRoundingUp(length, batchSize);
     final int lastBatchSize = modRange1ToM(length, batchSize);
     final URL lastBatchUrl = getConnectionUrl(lastBatchSize);
-    lock.lock();
+    final List<Batch> result = new ArrayList<>(batches);
+    for (int batch = 0; batch < batches - 1; batch++) {
+      result.add(new Batch(batch * batchSize, batchSize, batchUrl));
+    }
+    result.add(new Batch((batches - 1) * batchSize, lastBatchSize, lastBatchUrl));
+    return result;
+  }
+
+  /**
+   * Downloads the seed in the same batches as {@link #generateSeed(byte[])}, as tasks on {@code
+   * executor}. The batches for each call are queued behind those from the previous call, and are
+   * started in groups no larger than {@link #getMaxConcurrentRequests()}
+   * once the previous group has finished; so executor threads seldom wait for a permit to send a
+   * request.
+   */
+  @Override public CompletableFuture<byte[]> generateSeedAsync(final int length,
+      final Executor executor) {
+    if (length <= 0) {
+      return CompletableFuture.completedFuture(EMPTY_SEED);
+    }
+    if (!isWorthTrying()) {
+      final CompletableFuture<byte[]> failure = new CompletableFuture<>();
+      failure.completeExceptionally(
+          new SeedException("Not using this again until " + earliestNextAttempt));
+      return failure;
+    }
+    final byte[] seed = new byte[length];
+    final List<Batch> batches = splitIntoBatches(length);
+    final int groupSize = getMaxConcurrentRequests();
+    final AtomicBoolean failed = new AtomicBoolean(false);
+    CompletableFuture<Void> result;
+    synchronized (this) {
+      result = (lastQueuedBatch == null) ? CompletableFuture.completedFuture(null)
+          : lastQueuedBatch;
+      for (int group = 0; group < batches.size(); group += groupSize) {
+        final CompletableFuture<Void> previous = result;
+        result = CompletableFuture.allOf(
+            batches.subList(group, Math.min(group + groupSize, batches.size())).stream()
+                .map(batch -> previous.thenRunAsync(() -> downloadQueuedBatch(seed, batch, failed),
+                    executor))
+                .toArray(CompletableFuture[]::new));
+      }
+      // A failure shouldn't prevent later requests from being attempted
+      lastQueuedBatch = result.exceptionally(ignored -> null);
+    }
+    return result.thenApply(ignored -> seed);
+  }
+
+  /**
+   * Downloads a batch once a request permit is available, unless another batch of the same seed
+   * has failed by then.
+   *
+   * @param seed the seed to download into
+   * @param batch the part of the seed to download
+   * @param failed set when any batch of this seed fails
+   */
+  private void downloadQueuedBatch(byte[] seed, Batch batch, AtomicBoolean failed) {
+    // An earlier batch may have failed since this one was queued
+    if (!isWorthTrying()) {
+      throw new SeedException("Not using this again until " + earliestNextAttempt);
+    }
+    requestPermits.acquireUninterruptibly();
     try {
-      int batch;
-      for (batch = 0; batch < batches - 1; batch++) {
-        downloadBatch(seed, batch * batchSize, batchSize, batchUrl);
+      if (failed.get()) {
+        return;
       }
-      downloadBatch(seed, batch * batchSize, lastBatchSize, lastBatchUrl);
+      downloadBatch(seed, batch.offset, batch.length, batch.url);
     } catch (final IOException ex) {
-      if (getRetryDelayMs() > 0) {
-        earliestNextAttempt = CLOCK.instant().plusMillis(getRetryDelayMs());
-      }
-      throw new SeedException("Failed downloading bytes", ex);
+      failed.set(true);
+      throw downloadFailed(ex);
     } catch (final SecurityException ex) {
-      // Might be thrown if resource access is restricted (such as in an applet sandbox).
-      throw new SeedException("SecurityManager prevented access to a remote seed source", ex);
+      failed.set(true);
+      throw accessDenied(ex);
+    } catch (final RuntimeException ex) {
+      failed.set(true);
+      throw ex;
     } finally {
-      lock.unlock();
+      requestPermits.release();
+    }
+  }
+
+  private SeedException downloadFailed(final IOException ex) {
+    if (getRetryDelayMs() > 0) {
+      earliestNextAttempt = CLOCK.instant().plusMillis(getRetryDelayMs());
     }
+    return new SeedException("Failed downloading bytes", ex);
+  }
+
+  private static SeedException accessDenied(final SecurityException ex) {
+    // Might be thrown if resource access is restricted (such as in an applet sandbox).
+    return new SeedException("SecurityManager prevented access to a remote seed source", ex);
   }
 
   protected static int divideRoundingUp(int dividend, int divisor) {
@@ -223,12 +408,55 @@ public abstract class WebSeedClient implements SeedGenerator {
     return result;
   }
 
+  /**
+   * Downloads one batch, and records it in {@link #getBatchMetrics()}. The connection is only
+   * disconnected if the request fails, since otherwise it may be reused for the next request to the
+   * same server.
+   */
   private void downloadBatch(byte[] seed, int offset, int length, URL batchUrl) throws IOException {
-    HttpURLConnection connection = openConnection(batchUrl);
+    final long start = System.nanoTime();
+    boolean succeeded = false;
     try {
-      downloadBytes(connection, seed, offset, length);
+      HttpURLConnection connection = openConnection(batchUrl);
+      try {
+        downloadBytes(connection, seed, offset, length);
+        succeeded = true;
+      } finally {
+        if (!succeeded) {
+          connection.disconnect();
+        }
+      }
     } finally {
-      connection.disconnect();
+      if (succeeded) {
+        getBatchMetrics().recordSuccess(System.nanoTime() - start, length);
+      } else {
+        getBatchMetrics().recordFailure(System.nanoTime() - start);
+      }
+    }
+  }
+
+  /**
+   * Returns the metrics that this client's batch downloads are recorded in. These are named after
+   * the class, so they're shared by all instances of it.
+   *
+   * @return the batch metrics
+   */
+  public SeedMetrics getBatchMetrics() {
+    return batchMetrics;
+  }
+
+  /**
+   * A piece of a seed that's requested separately.
+   */
+  private static final class Batch {
+    final int offset;
+    final int length;
+    final URL url;
+
+    Batch(int offset, int length, URL url) {
+      this.offset = offset;
+      this.length = length;
+      this.url = url;
     }
   }
 
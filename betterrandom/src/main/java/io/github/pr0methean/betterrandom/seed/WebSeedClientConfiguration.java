@@ -20,9 +20,16 @@ public class WebSeedClientConfiguration implements Serializable {
    */
   public static final WebSeedClientConfiguration DEFAULT = new Builder().build();
 
+  /**
+   * Default maximum number of requests that one {@link WebSeedClient} will send at once.
+   */
+  public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+
   @Nullable private final transient Proxy proxy;
   @Nullable private final transient SSLSocketFactory socketFactory;
+  @Nullable private final transient HttpConnectionFactory connectionFactory;
   private final long retryDelayMs;
+  private final int maxConcurrentRequests;
 
   /**
    * @param proxy the proxy to use with this server, or null to use the JVM default
@@ -32,9 +39,28 @@ public class WebSeedClientConfiguration implements Serializable {
   protected WebSeedClientConfiguration(@Nullable Proxy proxy,
       @Nullable SSLSocketFactory socketFactory,
       long retryDelayMs) {
+    this(proxy, socketFactory, retryDelayMs, null, DEFAULT_MAX_CONCURRENT_REQUESTS);
+  }
+
+  /**
+   * @param proxy the proxy to use with this server, or null to use the JVM default
+   * @param socketFactory the socket factory, or null for the JVM default
+   * @param retryDelayMs time to wait before trying again after an IOException
+   * @param connectionFactory the transport for requests, or null for {@link
+   *     HttpConnectionFactory#DEFAULT}
+   * @param maxConcurrentRequests the most requests to send to the server at once
+   */
+  protected WebSeedClientConfiguration(@Nullable Proxy proxy,
+      @Nullable SSLSocketFactory socketFactory, long retryDelayMs,
+      @Nullable HttpConnectionFactory connectionFactory, int maxConcurrentRequests) {
+    if (maxConcurrentRequests <= 0) {
+      throw new IllegalArgumentException("maxConcurrentRequests must be positive");
+    }
     this.proxy = proxy;
     this.socketFactory = socketFactory;
     this.retryDelayMs = retryDelayMs;
+    this.connectionFactory = connectionFactory;
+    this.maxConcurrentRequests = maxConcurrentRequests;
   }
 
   @Nullable public Proxy getProxy() {
@@ -49,6 +75,20 @@ public class WebSeedClientConfiguration implements Serializable {
     return retryDelayMs;
   }
 
+  /**
+   * Returns the transport for requests. Not serialized; a deserialized configuration uses {@link
+   * HttpConnectionFactory#DEFAULT}.
+   *
+   * @return the transport for requests
+   */
+  public HttpConnectionFactory getConnectionFactory() {
+    return (connectionFactory == null) ? HttpConnectionFactory.DEFAULT : connectionFactory;
+  }
+
+  public int getMaxConcurrentRequests() {
+    return maxConcurrentRequests;
+  }
+
   @Override public boolean equals(Object o) {
     if (this == o) {
       return true;
@@ -57,18 +97,24 @@ public class WebSeedClientConfiguration implements Serializable {
       return false;
     }
     WebSeedClientConfiguration that = (WebSeedClientConfiguration) o;
-    return retryDelayMs == that.retryDelayMs && Objects.equals(proxy, that.proxy) &&
-        Objects.equals(socketFactory, that.socketFactory);
+    return retryDelayMs == that.retryDelayMs
+        && maxConcurrentRequests == that.maxConcurrentRequests
+        && Objects.equals(proxy, that.proxy)
+        && Objects.equals(socketFactory, that.socketFactory)
+        && Objects.equals(connectionFactory, that.connectionFactory);
   }
 
   @Override public int hashCode() {
-    return Objects.hash(proxy, socketFactory, retryDelayMs);
+    return Objects.hash(proxy, socketFactory, retryDelayMs, connectionFactory,
+        maxConcurrentRequests);
   }
 
   public static class Builder {
     @Nullable private Proxy proxy = null;
     @Nullable private SSLSocketFactory socketFactory = null;
     private long retryDelayMs = 0;
+    @Nullable private HttpConnectionFactory connectionFactory = null;
+    private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
 
     /**
      * Sets the proxy to use to connect to the server.
@@ -121,12 +167,39 @@ public class WebSeedClientConfiguration implements Serializable {
       return this;
     }
 
+    /**
+     * Sets the transport used to send requests to the server.
+     *
+     * @param connectionFactory the transport, or null (default) for {@link
+     *     HttpConnectionFactory#DEFAULT}
+     * @return this builder
+     */
+    public Builder setConnectionFactory(@Nullable HttpConnectionFactory connectionFactory) {
+      this.connectionFactory = connectionFactory;
+      return this;
+    }
+
+    /**
+     * Sets the most requests to send to the server at once, including those for the pieces of one
+     * large seed. Defaults to {@link #DEFAULT_MAX_CONCURRENT_REQUESTS}. Set this to 1 for a service
+     * that asks its clients not to send simultaneous requests. Ignored by {@link
+     * RandomDotOrgApi2Client}, which always sends one at a time.
+     *
+     * @param maxConcurrentRequests the most requests to send at once
+     * @return this builder
+     */
+    public Builder setMaxConcurrentRequests(int maxConcurrentRequests) {
+      this.maxConcurrentRequests = maxConcurrentRequests;
+      return this;
+    }
+
     /**
      * Builds a {@link WebSeedClientConfiguration} with this builder's parameters.
      * @return a {@link WebSeedClientConfiguration}
      */
     public WebSeedClientConfiguration build() {
-      return new WebSeedClientConfiguration(proxy, socketFactory, retryDelayMs);
+      return new WebSeedClientConfiguration(proxy, socketFactory, retryDelayMs, connectionFactory,
+          maxConcurrentRequests);
     }
 
   }
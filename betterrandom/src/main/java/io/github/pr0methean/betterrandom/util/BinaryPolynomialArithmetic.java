@@ -0,0 +1,208 @@
+package io.github.pr0methean.betterrandom.util;
+
+/**
+ * Collection of arithmetic methods that treat {@code long[]} arrays as polynomials over GF(2), with
+ * bit {@code i % 64} of element {@code i / 64} being the coefficient of z<sup>i</sup>. Used to jump
+ * ahead in PRNGs whose state transition is linear over GF(2), by computing z<sup>n</sup> modulo the
+ * transition's characteristic polynomial.
+ */
+public enum BinaryPolynomialArithmetic {
+  ;
+
+  /**
+   * Returns the degree of a polynomial.
+   *
+   * @param polynomial the polynomial
+   * @return the degree, or -1 if {@code polynomial} is zero
+   */
+  public static int degree(final long[] polynomial) {
+    for (int i = polynomial.length - 1; i >= 0; i--) {
+      if (polynomial[i] != 0) {
+        return (i * Long.SIZE) + (Long.SIZE - 1) - Long.numberOfLeadingZeros(polynomial[i]);
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the number of {@code long}s needed to hold any remainder modulo a polynomial of the
+   * given degree, with one bit to spare for the intermediate results of this class's methods.
+   *
+   * @param degree the degree of the modulus
+   * @return the length of arrays to pass to this class's methods along with that modulus
+   */
+  public static int wordsForModulus(final int degree) {
+    return (degree / Long.SIZE) + 1;
+  }
+
+  /**
+   * Returns z<sup>exponent</sup> modulo {@code modulus}.
+   *
+   * @param exponent the exponent; may be negative
+   * @param modulus the modulus; its length must be at least {@link #wordsForModulus(int)} of its
+   *     degree, and if {@code exponent} is negative, its constant term must be 1 so that z has an
+   *     inverse
+   * @return z<sup>exponent</sup> modulo {@code modulus}, as an array of
+   *     {@link #wordsForModulus(int)} {@code long}s
+   * @throws IllegalArgumentException if {@code exponent} is negative and the constant term of
+   *     {@code modulus} is zero
+   */
+  public static long[] powerOfZMod(final long exponent, final long[] modulus) {
+    if ((exponent < 0) && ((modulus[0] & 1) == 0)) {
+      throw new IllegalArgumentException("Modulus must have a constant term of 1");
+    }
+    final int degree = degree(modulus);
+    final long[] result = new long[wordsForModulus(degree)];
+    result[0] = 1;
+    // -Long.MIN_VALUE overflows back to Long.MIN_VALUE, which is still right as an unsigned value
+    final long magnitude = (exponent < 0) ? -exponent : exponent;
+    final long[][] shiftedModulus = shiftedCopies(modulus);
+    final long[] scratch = new long[2 * result.length];
+    for (int bit = (Long.SIZE - 1) - Long.numberOfLeadingZeros(magnitude); bit >= 0; bit--) {
+      squareModInto(result, shiftedModulus, degree, scratch);
+      if (((magnitude >>> bit) & 1) != 0) {
+        if (exponent > 0) {
+          multiplyByZModInto(result, modulus, degree);
+        } else {
+          divideByZModInto(result, modulus);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns {@code modulus} multiplied by each of z<sup>0</sup> through z<sup>63</sup>, for use
+   * with {@link #squareModInto(long[], long[][], int, long[])} and
+   * {@link #reduceInto(long[], long[][], int)}. Each copy is one {@code long} longer than
+   * {@code modulus}.
+   *
+   * @param modulus the modulus
+   * @return the shifted copies, indexed by shift
+   */
+  public static long[][] shiftedCopies(final long[] modulus) {
+    final long[][] copies = new long[Long.SIZE][modulus.length + 1];
+    System.arraycopy(modulus, 0, copies[0], 0, modulus.length);
+    for (int shift = 1; shift < Long.SIZE; shift++) {
+      final long[] copy = copies[shift];
+      copy[0] = modulus[0] << shift;
+      for (int i = 1; i < modulus.length; i++) {
+        copy[i] = (modulus[i] << shift) | (modulus[i - 1] >>> (Long.SIZE - shift));
+      }
+      copy[modulus.length] = modulus[modulus.length - 1] >>> (Long.SIZE - shift);
+    }
+    return copies;
+  }
+
+  /**
+   * {@code polynomial = polynomial * polynomial % modulus}
+   *
+   * @param polynomial the input and the result; must have degree less than {@code degree}
+   * @param shiftedModulus the modulus, as returned by {@link #shiftedCopies(long[])}
+   * @param degree the degree of the modulus
+   * @param scratch a temporary array at least twice as long as {@code polynomial}
+   */
+  public static void squareModInto(final long[] polynomial, final long[][] shiftedModulus,
+      final int degree, final long[] scratch) {
+    final int words = polynomial.length;
+    // Squaring over GF(2) just spreads out the bits, since the cross terms cancel
+    for (int i = 0; i < words; i++) {
+      scratch[2 * i] = spreadBits((int) polynomial[i]);
+      scratch[(2 * i) + 1] = spreadBits((int) (polynomial[i] >>> Integer.SIZE));
+    }
+    for (int i = 2 * words; i < scratch.length; i++) {
+      scratch[i] = 0;
+    }
+    reduceInto(scratch, shiftedModulus, degree);
+    System.arraycopy(scratch, 0, polynomial, 0, words);
+  }
+
+  /**
+   * {@code polynomial = polynomial * z % modulus}
+   *
+   * @param polynomial the input and the result; must have degree less than {@code degree} and be
+   *     long enough to hold a term of that degree
+   * @param modulus the modulus
+   * @param degree the degree of {@code modulus}
+   */
+  public static void multiplyByZModInto(final long[] polynomial, final long[] modulus,
+      final int degree) {
+    for (int i = polynomial.length - 1; i > 0; i--) {
+      polynomial[i] = (polynomial[i] << 1) | (polynomial[i - 1] >>> (Long.SIZE - 1));
+    }
+    polynomial[0] <<= 1;
+    if (((polynomial[degree / Long.SIZE] >>> (degree % Long.SIZE)) & 1) != 0) {
+      xorInto(polynomial, modulus);
+    }
+  }
+
+  /**
+   * {@code polynomial = polynomial / z % modulus}, where 1/z is the inverse of z modulo
+   * {@code modulus}.
+   *
+   * @param polynomial the input and the result; must have degree less than that of
+   *     {@code modulus}
+   * @param modulus the modulus, whose constant term must be 1
+   */
+  public static void divideByZModInto(final long[] polynomial, final long[] modulus) {
+    if ((polynomial[0] & 1) != 0) {
+      // Adding the modulus doesn't change the remainder, but makes the result divisible by z
+      xorInto(polynomial, modulus);
+    }
+    final int last = polynomial.length - 1;
+    for (int i = 0; i < last; i++) {
+      polynomial[i] = (polynomial[i] >>> 1) | (polynomial[i + 1] << (Long.SIZE - 1));
+    }
+    polynomial[last] >>>= 1;
+  }
+
+  /**
+   * {@code polynomial %= modulus}
+   *
+   * @param polynomial the input and the result
+   * @param shiftedModulus the modulus, as returned by {@link #shiftedCopies(long[])}
+   * @param degree the degree of the modulus
+   */
+  public static void reduceInto(final long[] polynomial, final long[][] shiftedModulus,
+      final int degree) {
+    final int lowestWord = degree / Long.SIZE;
+    final long lowestWordMask = -1L << (degree % Long.SIZE);
+    for (int i = polynomial.length - 1; i >= lowestWord; i--) {
+      while (true) {
+        final long highBits = (i == lowestWord) ? (polynomial[i] & lowestWordMask) : polynomial[i];
+        if (highBits == 0) {
+          break;
+        }
+        final int shift = (i * Long.SIZE) + (Long.SIZE - 1) - Long.numberOfLeadingZeros(highBits)
+            - degree;
+        final long[] source = shiftedModulus[shift % Long.SIZE];
+        final int wordShift = shift / Long.SIZE;
+        final int length = Math.min(source.length, polynomial.length - wordShift);
+        for (int j = 0; j < length; j++) {
+          polynomial[wordShift + j] ^= source[j];
+        }
+      }
+    }
+  }
+
+  private static void xorInto(final long[] target, final long[] source) {
+    final int length = Math.min(target.length, source.length);
+    for (int i = 0; i < length; i++) {
+      target[i] ^= source[i];
+    }
+  }
+
+  /**
+   * Returns a long whose even-numbered bits are the bits of the input, and whose odd-numbered bits
+   * are zero.
+   */
+  private static long spreadBits(final int input) {
+    long x = input & 0xFFFFFFFFL;
+    x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+    x = (x | (x << 8)) & 0x00FF00FF00FF00FFL;
+    x = (x | (x << 4)) & 0x0F0F0F0F0F0F0F0FL;
+    x = (x | (x << 2)) & 0x3333333333333333L;
+    x = (x | (x << 1)) & 0x5555555555555555L;
+    return x;
+  }
+}
@@ -3,6 +3,10 @@ package io.github.pr0methean.betterrandom.util;
 import static io.github.pr0methean.betterrandom.util.BinaryUtils.convertBytesToLong;
 import static io.github.pr0methean.betterrandom.util.BinaryUtils.convertLongToBytes;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
 /**
  * Collection of arithmetic methods that treat {@code byte[16]} arrays as 128-bit unsigned integers.
  */
@@ -18,6 +22,50 @@ public enum Byte16ArrayArithmetic {
   public static final byte[] ONE = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1};
   private static final long UNSIGNED_INT_TO_LONG_MASK = (1L << Integer.SIZE) - 1;
 
+  /**
+   * {@code Math.multiplyHigh(long, long)}, which is an intrinsic on JDK 9 and later; null on JDK 8.
+   */
+  private static final MethodHandle MULTIPLY_HIGH = findMultiplyHigh();
+
+  private static MethodHandle findMultiplyHigh() {
+    try {
+      return MethodHandles.publicLookup().findStatic(Math.class, "multiplyHigh",
+          MethodType.methodType(long.class, long.class, long.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the upper 64 bits of the 128-bit product of two unsigned 64-bit integers. Uses
+   * {@code Math.multiplyHigh} when it's available, and otherwise multiplies 32-bit halves.
+   *
+   * @param x the first input, treated as unsigned
+   * @param y the second input, treated as unsigned
+   * @return the upper 64 bits of {@code x * y}
+   */
+  public static long unsignedMultiplyHigh(final long x, final long y) {
+    if (MULTIPLY_HIGH != null) {
+      final long signedHigh;
+      try {
+        signedHigh = (long) MULTIPLY_HIGH.invokeExact(x, y);
+      } catch (final Throwable t) {
+        throw new AssertionError(t); // Math.multiplyHigh doesn't throw anything
+      }
+      // Convert signed to unsigned by adding y if x was negative and x if y was negative
+      return signedHigh + ((x >> (Long.SIZE - 1)) & y) + ((y >> (Long.SIZE - 1)) & x);
+    }
+    // https://stackoverflow.com/a/38880097/833771
+    final long x_high = x >>> 32;
+    final long x_low = x & UNSIGNED_INT_TO_LONG_MASK;
+    final long y_high = y >>> 32;
+    final long y_low = y & UNSIGNED_INT_TO_LONG_MASK;
+    final long t = x_high * y_low + (x_low * y_low >>> 32);
+    final long z1 = (t & UNSIGNED_INT_TO_LONG_MASK) + x_low * y_high;
+    final long z0 = t >>> 32;
+    return (x_high * y_high) + z0 + (z1 >>> 32);
+  }
+
   /**
    * {@code counter += delta}
    *  @param counter the variable-sized input and the result
@@ -86,19 +134,10 @@ public enum Byte16ArrayArithmetic {
       final byte[] counter, final byte[] mult, long addLow, long addHigh) {
     final long x = convertBytesToLong(counter, Long.BYTES);
     final long y = convertBytesToLong(mult, Long.BYTES);
-
-    // https://stackoverflow.com/a/38880097/833771
-    final long x_high = x >>> 32;
-    final long x_low = x & UNSIGNED_INT_TO_LONG_MASK;
-    final long y_high = y >>> 32;
-    final long y_low = y & UNSIGNED_INT_TO_LONG_MASK;
-    final long t = x_high * y_low + (x_low * y_low >>> 32);
-    final long z1 = (t & UNSIGNED_INT_TO_LONG_MASK) + x_low * y_high;
-    final long z0 = t >>> 32;
     final long lowProduct = x * y;
     final long lowOut = lowProduct + addLow;
     final long highOut =
-        (x_high * y_high) + z0 + (z1 >>> 32) + (convertBytesToLong(counter, 0) * y) +
+        unsignedMultiplyHigh(x, y) + (convertBytesToLong(counter, 0) * y) +
             (convertBytesToLong(mult, 0) * x) + addHigh +
             (Long.compareUnsigned(lowProduct, lowOut) > 0 ? 1 : 0);
 
@@ -17,10 +17,15 @@ package io.github.pr0methean.betterrandom.prng;
 
 
 import static io.github.pr0methean.betterrandom.TestUtils.fail;
+import static org.testng.Assert.assertEquals;
 
 import io.github.pr0methean.betterrandom.seed.SeedException;
+import java.security.GeneralSecurityException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
 /**
@@ -43,6 +48,33 @@ import org.testng.annotations.Test;
     }
   }
 
+  /**
+   * Checks that incrementing the counter carries from its low 64 bits into its high 64 bits.
+   */
+  @Test public void testCounterCarry() throws GeneralSecurityException {
+    if (MAX_SIZE < 48) {
+      throw new SkipException("Test requires 256-bit AES keys");
+    }
+    final byte[] key = new byte[32];
+    Arrays.fill(key, (byte) 0x5A);
+    final byte[] seed = new byte[48];
+    System.arraycopy(key, 0, seed, 0, 32);
+    // Counter starts at 2^64 - 2, so the 2nd value carries into the high 64 bits
+    Arrays.fill(seed, 40, 47, (byte) -1);
+    seed[47] = (byte) -2;
+    final AesCounterRandom rng = new AesCounterRandom(seed);
+    final byte[] actual = new byte[48];
+    rng.nextBytes(actual);
+    final byte[] counters = new byte[48];
+    Arrays.fill(counters, 8, 16, (byte) -1);
+    counters[23] = 1;
+    counters[39] = 1;
+    counters[47] = 1;
+    final Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
+    cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"));
+    assertEquals(actual, cipher.doFinal(counters));
+  }
+
   @Override protected int getExpectedMaxSize() {
     return MAX_SIZE;
   }
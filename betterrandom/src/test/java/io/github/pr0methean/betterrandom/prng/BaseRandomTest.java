@@ -15,6 +15,7 @@ import static org.powermock.api.mockito.PowerMockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -24,6 +25,7 @@ import com.google.common.testing.SerializableTester;
 import com.google.common.util.concurrent.Uninterruptibles;
 import io.github.pr0methean.betterrandom.FlakyRetryAnalyzer;
 import io.github.pr0methean.betterrandom.NamedFunction;
+import io.github.pr0methean.betterrandom.SplittableGenerator;
 import io.github.pr0methean.betterrandom.TestUtils;
 import io.github.pr0methean.betterrandom.prng.RandomTestUtils.EntropyCheckMode;
 import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
@@ -42,6 +44,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.SortedSet;
+import java.util.Spliterator;
 import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentSkipListSet;
@@ -53,7 +56,13 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.DoubleConsumer;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
 import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.apache.commons.math3.stat.descriptive.SynchronizedDescriptiveStatistics;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.api.mockito.mockpolicies.Slf4jMockPolicy;
@@ -63,6 +72,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.testng.PowerMockTestCase;
 import org.powermock.reflect.Whitebox;
 import org.testng.Reporter;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
 @MockPolicy(Slf4jMockPolicy.class) @PrepareForTest(DefaultSeedGenerator.class) @PowerMockIgnore(
@@ -286,6 +296,7 @@ public abstract class BaseRandomTest<T extends BaseRandom> extends PowerMockTest
     rng.gaussians(iterations).spliterator().forEachRemaining((DoubleConsumer) stats::addValue);
     final double observedSD = stats.getStandardDeviation();
     Reporter.log("Expected SD for Gaussians: 1, observed SD: " + observedSD);
+    assertFalse(Double.isNaN(observedSD), "nextGaussian() returned NaN");
     assertGreaterOrEqual(observedSD, 0.965);
     assertLessOrEqual(observedSD, 1.035);
     assertGreaterOrEqual(stats.getMax(), 2.0);
@@ -296,6 +307,184 @@ public abstract class BaseRandomTest<T extends BaseRandom> extends PowerMockTest
     assertGreaterOrEqual(median, -0.1);
     assertLessOrEqual(median, 0.1);
   }
+  /**
+   * Test to ensure that the output from the ziggurat method is broadly as expected, including its
+   * tail, which it samples separately.
+   */
+  @Test(timeOut = 40_000, groups = "non-deterministic")
+  public void testZigguratGaussiansStatistically() throws SeedException {
+    final BaseRandom rng = createRng();
+    if (!rng.useZigguratGaussians(true)) {
+      throw new SkipException(rng + " doesn't support the ziggurat method");
+    }
+    final int iterations = 200_000;
+    final double[] output = new double[iterations];
+    rng.nextGaussians(output, 0, iterations);
+    final DescriptiveStatistics stats = new DescriptiveStatistics(output);
+    final double observedSD = stats.getStandardDeviation();
+    Reporter.log("Expected SD for Gaussians: 1, observed SD: " + observedSD);
+    assertFalse(Double.isNaN(observedSD), "nextGaussians() returned NaN");
+    assertGreaterOrEqual(observedSD, 0.99);
+    assertLessOrEqual(observedSD, 1.01);
+    assertGreaterOrEqual(stats.getMean(), -0.01);
+    assertLessOrEqual(stats.getMean(), 0.01);
+    assertGreaterOrEqual(stats.getKurtosis(), -0.1); // excess kurtosis
+    assertLessOrEqual(stats.getKurtosis(), 0.1);
+    // Expect about 52 outputs past the start of the tail at 3.654
+    assertGreaterOrEqual(stats.getMax(), 3.654);
+    assertLessOrEqual(stats.getMin(), -3.654);
+  }
+
+  @Test public void testSplit() throws SeedException {
+    final BaseRandom rng = createRng();
+    if (!(rng instanceof SplittableGenerator)) {
+      throw new SkipException(rng + " isn't splittable");
+    }
+    final BaseRandom duplicateRNG = createRng(rng.getSeed());
+    final long oldEntropy = rng.getEntropyBits();
+    final Random child = ((SplittableGenerator<?>) rng).split();
+    checkEntropySpent(rng, oldEntropy, rng.getNewSeedLength() * (long) Byte.SIZE);
+    assertSame(child.getClass(), rng.getClass());
+    final Random duplicateChild = ((SplittableGenerator<?>) duplicateRNG).split();
+    RandomTestUtils.assertEquivalent(child, duplicateChild, TEST_BYTES_LENGTH,
+        "Splitting PRNGs with the same state gave different children");
+    RandomTestUtils.assertDistinct(rng, child, TEST_BYTES_LENGTH,
+        "Child has the same output as its parent");
+  }
+
+  /**
+   * Test that a stream backed by substreams has the same output whether it's consumed sequentially
+   * or split across any number of threads.
+   */
+  @Test(timeOut = 60_000) public void testSubstreamsIndependentOfThreadCount()
+      throws SeedException {
+    final BaseRandom rng = createRng();
+    final LongFunction<BaseRandom> substreams = rng.createSubstreams();
+    if (substreams == null) {
+      throw new SkipException(rng + " doesn't support substreams");
+    }
+    final int size = (3 * SubstreamSpliterator.SUBSTREAM_SIZE) + 5;
+    final Supplier<LongStream> stream = () -> StreamSupport.longStream(
+        new SubstreamSpliterator.OfLongs(substreams, size, BaseRandom::nextLong,
+            BaseRandom::nextLongs), false);
+    final long[] sequential = stream.get().toArray();
+    assertEquals(sequential.length, size);
+    assertNotEquals(sequential[0], sequential[SubstreamSpliterator.SUBSTREAM_SIZE],
+        "Substreams 0 and 1 start with the same output");
+    assertEquals(pool.submit(() -> stream.get().parallel().toArray()).join(), sequential,
+        "Output changed with 2 threads");
+    final ForkJoinPool largerPool = new ForkJoinPool(4);
+    try {
+      assertEquals(largerPool.submit(() -> stream.get().parallel().toArray()).join(), sequential,
+          "Output changed with 4 threads");
+    } finally {
+      largerPool.shutdown();
+    }
+  }
+
+  /**
+   * Test that {@link Spliterator#forEachRemaining(Consumer)} works after {@link
+   * Spliterator#tryAdvance(Consumer)} has stopped short of a substream boundary, so that its first
+   * chunk is shorter than the later ones, and that it continues from where tryAdvance left off.
+   */
+  @Test(timeOut = 15_000) public void testSubstreamForEachRemainingAfterTryAdvance()
+      throws SeedException {
+    final BaseRandom rng = createRng();
+    final LongFunction<BaseRandom> substreams = rng.createSubstreams();
+    if (substreams == null) {
+      throw new SkipException(rng + " doesn't support substreams");
+    }
+    final int size = SubstreamSpliterator.SUBSTREAM_SIZE + SubstreamSpliterator.CHUNK_SIZE;
+    // Leaves a partial chunk before the boundary
+    final int advances = SubstreamSpliterator.SUBSTREAM_SIZE - (SubstreamSpliterator.CHUNK_SIZE / 2)
+        - 1;
+    final Supplier<Spliterator.OfInt> ints = () -> new SubstreamSpliterator.OfInts(substreams,
+        size, BaseRandom::nextInt, BaseRandom::nextInts);
+    final int[] expectedInts = StreamSupport.intStream(ints.get(), false).toArray();
+    final int[] actualInts = new int[size];
+    final int[] intCount = {0};
+    final Spliterator.OfInt intSpliterator = ints.get();
+    for (int i = 0; i < advances; i++) {
+      assertTrue(intSpliterator.tryAdvance((IntConsumer) x -> actualInts[intCount[0]++] = x));
+    }
+    intSpliterator.forEachRemaining((IntConsumer) x -> actualInts[intCount[0]++] = x);
+    assertEquals(intCount[0], size);
+    assertEquals(actualInts, expectedInts, "ints");
+    final Supplier<Spliterator.OfLong> longs = () -> new SubstreamSpliterator.OfLongs(substreams,
+        size, BaseRandom::nextLong, BaseRandom::nextLongs);
+    final long[] expectedLongs = StreamSupport.longStream(longs.get(), false).toArray();
+    final long[] actualLongs = new long[size];
+    final int[] longCount = {0};
+    final Spliterator.OfLong longSpliterator = longs.get();
+    for (int i = 0; i < advances; i++) {
+      assertTrue(longSpliterator.tryAdvance((LongConsumer) x -> actualLongs[longCount[0]++] = x));
+    }
+    longSpliterator.forEachRemaining((LongConsumer) x -> actualLongs[longCount[0]++] = x);
+    assertEquals(longCount[0], size);
+    assertEquals(actualLongs, expectedLongs, "longs");
+    final Supplier<Spliterator.OfDouble> doubles = () -> new SubstreamSpliterator.OfDoubles(
+        substreams, size, BaseRandom::nextDouble, BaseRandom::nextDoubles);
+    final double[] expectedDoubles = StreamSupport.doubleStream(doubles.get(), false).toArray();
+    final double[] actualDoubles = new double[size];
+    final int[] doubleCount = {0};
+    final Spliterator.OfDouble doubleSpliterator = doubles.get();
+    for (int i = 0; i < advances; i++) {
+      assertTrue(doubleSpliterator.tryAdvance(
+          (DoubleConsumer) x -> actualDoubles[doubleCount[0]++] = x));
+    }
+    doubleSpliterator.forEachRemaining((DoubleConsumer) x -> actualDoubles[doubleCount[0]++] = x);
+    assertEquals(doubleCount[0], size);
+    assertEquals(actualDoubles, expectedDoubles, "doubles");
+  }
+
+  /**
+   * Test that substreams at indices whose offset doesn't fit in a {@code long} don't wrap around to
+   * earlier ones; substream 2<sup>32</sup> would otherwise start where substream 0 does.
+   */
+  @Test(timeOut = 15_000) public void testSubstreamIndexBoundary() throws SeedException {
+    final BaseRandom rng = createRng();
+    final LongFunction<BaseRandom> substreams = rng.createSubstreams();
+    if (substreams == null) {
+      throw new SkipException(rng + " doesn't support substreams");
+    }
+    RandomTestUtils.assertDistinct(substreams.apply(0), substreams.apply(Integer.MAX_VALUE),
+        TEST_BYTES_LENGTH, "Last seekable substream has the same output as substream 0");
+    final BaseRandom beyondBoundary;
+    try {
+      beyondBoundary = substreams.apply(1L << 32);
+    } catch (final ArithmeticException expected) {
+      return; // seekingSubstreams refuses indices it can't reach without overlap
+    }
+    RandomTestUtils.assertDistinct(substreams.apply(0), beyondBoundary, TEST_BYTES_LENGTH,
+        "Substream 2^32 has the same output as substream 0");
+  }
+
+  @Test public void testZigguratGaussiansRepeatability() throws SeedException {
+    final BaseRandom rng = createRng();
+    final BaseRandom duplicateRNG = createRng(rng.getSeed());
+    if (!rng.useZigguratGaussians(true)) {
+      assertFalse(rng.usesZigguratGaussians());
+      throw new SkipException(rng + " doesn't support the ziggurat method");
+    }
+    assertTrue(duplicateRNG.useZigguratGaussians(true));
+    assertTrue(rng.usesZigguratGaussians());
+    final double[] gaussians = new double[STREAM_SIZE];
+    final double[] expectedGaussians = new double[STREAM_SIZE];
+    final long oldEntropy = rng.getEntropyBits();
+    rng.nextGaussians(gaussians, 0, STREAM_SIZE);
+    checkEntropySpent(rng, oldEntropy, STREAM_SIZE * (long) ENTROPY_OF_DOUBLE);
+    Arrays.setAll(expectedGaussians, ignored -> duplicateRNG.nextGaussian());
+    assertEquals(gaussians, expectedGaussians, "nextGaussians");
+    if (!rng.usesParallelStreams()) {
+      final int streamSize = 2500; // spans 3 chunks
+      final double[] expectedStream = new double[streamSize];
+      Arrays.setAll(expectedStream, ignored -> duplicateRNG.nextGaussian());
+      assertEquals(rng.gaussians(streamSize).toArray(), expectedStream, "gaussians(long)");
+    }
+    assertTrue(rng.useZigguratGaussians(false));
+    assertFalse(rng.usesZigguratGaussians());
+  }
+
 
   /**
    * Make sure that the RNG does not accept seeds that are too small since this could affect the
@@ -636,6 +825,285 @@ public abstract class BaseRandomTest<T extends BaseRandom> extends PowerMockTest
     createRng().nextDouble(3.5, 3.5);
   }
 
+  @Test public void testNextInts() {
+    final BaseRandom prng = createRng();
+    final int[] output = new int[STREAM_SIZE + 2];
+    final long oldEntropy = prng.getEntropyBits();
+    prng.nextInts(output, 1, STREAM_SIZE);
+    checkEntropySpent(prng, oldEntropy, STREAM_SIZE * (long) Integer.SIZE);
+    assertEquals(output[0], 0);
+    assertEquals(output[STREAM_SIZE + 1], 0);
+    assertFalse(Arrays.equals(output, new int[STREAM_SIZE + 2]));
+  }
+
+  @Test public void testNextInts2() {
+    final BaseRandom prng = createRng();
+    final int[] output = new int[STREAM_SIZE];
+    final long oldEntropy = prng.getEntropyBits();
+    prng.nextInts(output, 0, STREAM_SIZE, 1 << 27, 1 << 29);
+    checkEntropySpent(prng, oldEntropy, STREAM_SIZE * 29L);
+    for (final int value : output) {
+      assertGreaterOrEqual(value, 1 << 27);
+      TestUtils.assertLess(value, 1 << 29);
+    }
+  }
+
+  @Test public void testNextInts2HugeRange() {
+    final BaseRandom prng = createRng();
+    final int[] output = new int[STREAM_SIZE];
+    final long oldEntropy = prng.getEntropyBits();
+    prng.nextInts(output, 0, STREAM_SIZE, Integer.MIN_VALUE, 1 << 29);
+    checkEntropySpent(prng, oldEntropy, STREAM_SIZE * (long) Integer.SIZE);
+    for (final int value : output) {
+      TestUtils.assertLess(value, 1 << 29);
+    }
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testNextIntsInvalidRange() {
+    createRng().nextInts(new int[4], 2, 3);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNextInts2InvalidBound() {
+    createRng().nextInts(new int[4], 0, 4, 1, 1);
+  }
+
+  @Test public void testNextLongs() {
+    final BaseRandom prng = createRng();
+    final long[] output = new long[STREAM_SIZE + 2];
+    final long oldEntropy = prng.getEntropyBits();
+    prng.nextLongs(output, 1, STREAM_SIZE);
+    checkEntropySpent(prng, oldEntropy, STREAM_SIZE * (long) Long.SIZE);
+    assertEquals(output[0], 0);
+    assertEquals(output[STREAM_SIZE + 1], 0);
+    assertFalse(Arrays.equals(output, new long[STREAM_SIZE + 2]));
+  }
+
+  @Test public void testNextLongs2() {
+    final BaseRandom prng = createRng();
+    final long[] output = new long[STREAM_SIZE];
+    final long oldEntropy = prng.getEntropyBits();
+    prng.nextLongs(output, 0, STREAM_SIZE, 1L << 40, 1L << 42);
+    checkEntropySpent(prng, oldEntropy, STREAM_SIZE * 42L);
+    for (final long value : output) {
+      assertGreaterOrEqual(value, 1L << 40);
+      TestUtils.assertLess(value, 1L << 42);
+    }
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void testNextLongsInvalidRange() {
+    createRng().nextLongs(new long[4], -1, 2);
+  }
+
+  @Test public void testNextDoubles() {
+    final BaseRandom prng = createRng();
+    final double[] output = new double[STREAM_SIZE];
+    final long oldEntropy = prng.getEntropyBits();
+    prng.nextDoubles(output, 0, STREAM_SIZE);
+    checkEntropySpent(prng, oldEntropy, STREAM_SIZE * (long) ENTROPY_OF_DOUBLE);
+    for (final double value : output) {
+      assertGreaterOrEqual(value, 0.0);
+      TestUtils.assertLess(value, 1.0);
+    }
+  }
+
+  @Test public void testNextDoubles2() {
+    final BaseRandom prng = createRng();
+    final double[] output = new double[STREAM_SIZE];
+    final long oldEntropy = prng.getEntropyBits();
+    prng.nextDoubles(output, 0, STREAM_SIZE, -1.0, 13.37);
+    checkEntropySpent(prng, oldEntropy, STREAM_SIZE * (long) ENTROPY_OF_DOUBLE);
+    for (final double value : output) {
+      assertGreaterOrEqual(value, -1.0);
+      TestUtils.assertLess(value, 13.37);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNextDoubles2InvalidBound() {
+    createRng().nextDoubles(new double[4], 0, 4, 3.5, 3.5);
+  }
+
+  /**
+   * Test that the bulk methods produce the same output as the corresponding single-value methods.
+   */
+  @Test(timeOut = 15_000) public void testBulkRepeatability() throws SeedException {
+    final BaseRandom rng = createRng();
+    final BaseRandom duplicateRNG = createRng(rng.getSeed());
+    final int[] ints = new int[STREAM_SIZE];
+    final int[] expectedInts = new int[STREAM_SIZE];
+    rng.nextInts(ints, 0, STREAM_SIZE);
+    Arrays.setAll(expectedInts, ignored -> duplicateRNG.nextInt());
+    assertEquals(ints, expectedInts, "nextInts");
+    rng.nextInts(ints, 0, STREAM_SIZE, 1 << 27, 1 << 29);
+    Arrays.setAll(expectedInts, ignored -> duplicateRNG.nextInt(1 << 27, 1 << 29));
+    assertEquals(ints, expectedInts, "nextInts with bounds");
+    rng.nextInts(ints, 0, STREAM_SIZE, Integer.MIN_VALUE, 1 << 29);
+    Arrays.setAll(expectedInts, ignored -> duplicateRNG.nextInt(Integer.MIN_VALUE, 1 << 29));
+    assertEquals(ints, expectedInts, "nextInts with huge range");
+    final long[] longs = new long[STREAM_SIZE];
+    final long[] expectedLongs = new long[STREAM_SIZE];
+    rng.nextLongs(longs, 0, STREAM_SIZE);
+    Arrays.setAll(expectedLongs, ignored -> duplicateRNG.nextLong());
+    assertEquals(longs, expectedLongs, "nextLongs");
+    rng.nextLongs(longs, 0, STREAM_SIZE, 1L << 40, 3L << 40);
+    Arrays.setAll(expectedLongs, ignored -> duplicateRNG.nextLong(1L << 40, 3L << 40));
+    assertEquals(longs, expectedLongs, "nextLongs with bounds");
+    final double[] doubles = new double[STREAM_SIZE];
+    final double[] expectedDoubles = new double[STREAM_SIZE];
+    rng.nextDoubles(doubles, 0, STREAM_SIZE);
+    Arrays.setAll(expectedDoubles, ignored -> duplicateRNG.nextDouble());
+    assertEquals(doubles, expectedDoubles, "nextDoubles");
+    rng.nextDoubles(doubles, 0, STREAM_SIZE, -1.0, 13.37);
+    Arrays.setAll(expectedDoubles, ignored -> duplicateRNG.nextDouble(-1.0, 13.37));
+    assertEquals(doubles, expectedDoubles, "nextDoubles with bounds");
+    if (!rng.usesParallelStreams()) {
+      final int streamSize = 2500; // spans 3 chunks
+      final long[] expectedStream = new long[streamSize];
+      Arrays.setAll(expectedStream, ignored -> duplicateRNG.nextLong());
+      assertEquals(rng.longs(streamSize).toArray(), expectedStream, "longs(long)");
+    }
+  }
+
+  @Test public void testMakeUnshared() throws SeedException {
+    final BaseRandom prng = createRng();
+    if (!prng.makeUnshared()) {
+      assertTrue(prng.isShared());
+      return;
+    }
+    assertFalse(prng.isShared());
+    checkRangeAndEntropy(prng, 64, (Supplier<? extends Number>) prng::nextLong, Long.MIN_VALUE,
+        Long.MAX_VALUE + 1.0, getEntropyCheckMode());
+    prng.makeShared();
+    assertTrue(prng.isShared());
+    checkRangeAndEntropy(prng, 64, (Supplier<? extends Number>) prng::nextLong, Long.MIN_VALUE,
+        Long.MAX_VALUE + 1.0, getEntropyCheckMode());
+  }
+
+  @Test public void testUnsharedDeserializesShared() throws SeedException {
+    final BaseRandom prng = createRng();
+    if (!prng.makeUnshared()) {
+      return;
+    }
+    final BaseRandom copy = SerializableTester.reserialize(prng);
+    assertTrue(copy.isShared());
+    assertFalse(copy.lock.isHeldByCurrentThread(), "Deserialized lock doesn't really lock");
+    assertFalse(prng.isShared());
+  }
+
+  @Test public void testSetRandomSeederMakesShared() throws SeedException {
+    final BaseRandom prng = createRng();
+    if (!prng.makeUnshared()) {
+      return;
+    }
+    final RandomSeeder seeder = new RandomSeeder(getTestSeedGenerator());
+    try {
+      prng.setRandomSeeder(seeder);
+      assertTrue(prng.isShared());
+      assertFalse(prng.makeUnshared());
+    } finally {
+      prng.setRandomSeeder(null);
+      seeder.shutDown();
+    }
+  }
+
+  @Test public void testDeferEntropyDebits() throws SeedException {
+    final BaseRandom prng = createRng();
+    if (!prng.deferEntropyDebits(1024)) {
+      assertEquals(prng.getMaxDeferredEntropyBits(), 0);
+      return;
+    }
+    assertEquals(prng.getMaxDeferredEntropyBits(), 1024);
+    for (int i = 0; i < 20; i++) {
+      checkRangeAndEntropy(prng, 64, (Supplier<? extends Number>) prng::nextLong, Long.MIN_VALUE,
+          Long.MAX_VALUE + 1.0, getEntropyCheckMode());
+    }
+    final long entropy = prng.getEntropyBits();
+    prng.deferEntropyDebits(0);
+    assertEquals(prng.getMaxDeferredEntropyBits(), 0);
+    assertEquals(prng.getEntropyBits(), entropy);
+    checkRangeAndEntropy(prng, 64, (Supplier<? extends Number>) prng::nextLong, Long.MIN_VALUE,
+        Long.MAX_VALUE + 1.0, getEntropyCheckMode());
+  }
+
+  @Test(timeOut = 30_000) public void testDeferEntropyDebitsConcurrently() throws SeedException {
+    final BaseRandom prng = createRng();
+    if (getEntropyCheckMode() != EntropyCheckMode.EXACT || !prng.deferEntropyDebits(1 << 20)) {
+      throw new SkipException("Deferring entropy debits isn't supported or can't be checked");
+    }
+    final long oldEntropy = prng.getEntropyBits();
+    final int callsPerThread = 1000;
+    final ForkJoinTask<?> first = pool.submit(() -> {
+      for (int i = 0; i < callsPerThread; i++) {
+        prng.nextLong();
+      }
+    });
+    final ForkJoinTask<?> second = pool.submit(() -> {
+      for (int i = 0; i < callsPerThread; i++) {
+        prng.nextInt();
+      }
+    });
+    first.join();
+    second.join();
+    assertEquals(prng.getEntropyBits(),
+        oldEntropy - ((long) callsPerThread * (Long.SIZE + Integer.SIZE)));
+    prng.deferEntropyDebits(0);
+    assertEquals(prng.getEntropyBits(),
+        oldEntropy - ((long) callsPerThread * (Long.SIZE + Integer.SIZE)));
+  }
+
+  /**
+   * Test that debits stay deferred once the PRNG has spent its seed's entropy, rather than being
+   * applied one by one, which would make deferral slower than not deferring.
+   */
+  @Test public void testDeferEntropyDebitsWhenDepleted() throws SeedException {
+    final BaseRandom prng = createRng();
+    if (getEntropyCheckMode() != EntropyCheckMode.EXACT || !prng.deferEntropyDebits(1 << 20)) {
+      throw new SkipException("Deferring entropy debits isn't supported or can't be checked");
+    }
+    final int calls = 10;
+    prng.deferEntropyDebits(0);
+    prng.entropyBits.set(0);
+    prng.deferEntropyDebits(1 << 20);
+    for (int i = 0; i < calls; i++) {
+      prng.nextLong();
+    }
+    assertEquals(prng.entropyBits.get(), 0, "Debits were applied before reaching the limit");
+    assertEquals(prng.getEntropyBits(), -(long) calls * Long.SIZE);
+    prng.deferEntropyDebits(0);
+    assertEquals(prng.entropyBits.get(), -(long) calls * Long.SIZE);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testDeferEntropyDebitsNegative() throws SeedException {
+    final BaseRandom prng = createRng();
+    if (!prng.deferEntropyDebits(1024)) {
+      throw new SkipException("Deferring entropy debits isn't supported");
+    }
+    prng.deferEntropyDebits(-1);
+  }
+
+  private void checkEntropySpent(final BaseRandom prng, final long oldEntropy,
+      final long expectedEntropySpent) {
+    final long entropy = prng.getEntropyBits();
+    final long expectedEntropy = oldEntropy - expectedEntropySpent;
+    EntropyCheckMode entropyCheckMode = getEntropyCheckMode();
+    switch (entropyCheckMode) {
+      case EXACT:
+        assertEquals(entropy, expectedEntropy);
+        break;
+      case LOWER_BOUND:
+        assertGreaterOrEqual(entropy, expectedEntropy);
+        break;
+      case OFF:
+        break;
+      default:
+        fail("Unhandled entropy check mode " + entropyCheckMode);
+    }
+  }
+
   @Test(timeOut = 10_000) public void testNextGaussian() {
     final BaseRandom prng = createRng();
     // TODO: Find out the actual Shannon entropy of nextGaussian() and adjust the entropy count to
@@ -0,0 +1,100 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableMap;
+import io.github.pr0methean.betterrandom.TestUtils;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import org.bouncycastle.crypto.engines.ChaChaEngine;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@Test(testName = "ChaCha20CounterRandom")
+public class ChaCha20CounterRandomTest extends CipherCounterRandomTest<ChaCha20CounterRandom> {
+
+  @DataProvider(name = "roundsAndKeyLengths")
+  public static Object[][] getRoundsAndKeyLengths() {
+    return new Object[][]{{8, 16}, {8, 32}, {12, 16}, {12, 32}, {20, 16}, {20, 32}};
+  }
+
+  @Override protected int getExpectedMaxSize() {
+    return ChaCha20CounterRandom.MAX_SEED_LENGTH_BYTES;
+  }
+
+  @Override protected Class<? extends ChaCha20CounterRandom> getClassUnderTest() {
+    return ChaCha20CounterRandom.class;
+  }
+
+  @Override protected ChaCha20CounterRandom createRng() throws SeedException {
+    return new ChaCha20CounterRandom(getTestSeedGenerator().generateSeed(seedSizeBytes));
+  }
+
+  @Override protected ChaCha20CounterRandom createRng(final byte[] seed) throws SeedException {
+    return new ChaCha20CounterRandom(seed);
+  }
+
+  /**
+   * The constructor that takes a number of rounds can't get it from {@link #constructorParams()},
+   * which maps {@code int} to the seed length, so it's tested separately.
+   */
+  @Override @Test(timeOut = 120_000) public void testAllPublicConstructors() throws SeedException {
+    final Constructor<?>[] constructors = ChaCha20CounterRandom.class.getDeclaredConstructors();
+    final ArrayList<Constructor<?>> relevantConstructors = new ArrayList<>(constructors.length);
+    for (final Constructor<?> constructor : constructors) {
+      if (constructor.getParameterCount() < 2) {
+        relevantConstructors.add(constructor);
+      }
+    }
+    mockDefaultSeedGenerator();
+    try {
+      TestUtils.testConstructors(false, ImmutableMap.copyOf(constructorParams()),
+          (Consumer<? super ChaCha20CounterRandom>) BaseRandom::nextInt, relevantConstructors);
+    } finally {
+      unmockDefaultSeedGenerator();
+    }
+    assertEquals(new ChaCha20CounterRandom(new byte[seedSizeBytes], 8).getRounds(), 8);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidRounds() {
+    new ChaCha20CounterRandom(new byte[32], 10);
+  }
+
+  /**
+   * Checks the output against Bouncy Castle's implementation of the original ChaCha, whose 64-bit
+   * nonce is the high half of our counter. With a 32-byte key, the seed can set the counter to -1,
+   * so the first block also checks the carry into the high half. A 16-byte key is only used when
+   * the seed is shorter than 32 bytes, so the counter starts at zero and the first block is ChaCha's
+   * block 1.
+   */
+  @Test(dataProvider = "roundsAndKeyLengths")
+  public void testMatchesBouncyCastle(final int rounds, final int keyLength) {
+    final byte[] key = getTestSeedGenerator().generateSeed(keyLength);
+    final byte[] seed;
+    final int blocksToSkip;
+    if (keyLength == ChaCha20CounterRandom.MAX_SEED_LENGTH_BYTES
+        - ChaCha20CounterRandom.COUNTER_SIZE_BYTES) {
+      seed = Arrays.copyOf(key, ChaCha20CounterRandom.MAX_SEED_LENGTH_BYTES);
+      Arrays.fill(seed, keyLength, seed.length, (byte) -1);
+      blocksToSkip = 0;
+    } else {
+      seed = key;
+      blocksToSkip = 1;
+    }
+    final ChaCha20CounterRandom rng = new ChaCha20CounterRandom(seed, rounds);
+    final byte[] actual = new byte[3 * rng.getBytesAtOnce() + 64];
+    rng.nextBytes(actual);
+    final ChaChaEngine engine = new ChaChaEngine(rounds);
+    engine.init(true, new ParametersWithIV(new KeyParameter(key), new byte[8]));
+    engine.skip(64L * blocksToSkip);
+    final byte[] expected = new byte[actual.length];
+    engine.processBytes(new byte[actual.length], 0, actual.length, expected, 0);
+    assertEquals(actual, expected);
+  }
+}
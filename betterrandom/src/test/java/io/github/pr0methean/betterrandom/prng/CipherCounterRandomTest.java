@@ -2,11 +2,14 @@ package io.github.pr0methean.betterrandom.prng;
 
 import static io.github.pr0methean.betterrandom.TestUtils.assertGreaterOrEqual;
 import static io.github.pr0methean.betterrandom.TestUtils.assertLessOrEqual;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertTrue;
 
 import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import java.util.Arrays;
 import java.util.Random;
 import org.testng.SkipException;
 import org.testng.annotations.BeforeClass;
@@ -49,9 +52,28 @@ public abstract class CipherCounterRandomTest<T extends CipherCounterRandom>
         .generateSeed(getExpectedMaxSize() + 1)); // Should throw an exception.
   }
 
-  @Override @Test(enabled = false) public void testRepeatabilityNextGaussian()
+  @Override @Test(timeOut = 15_000) public void testRepeatabilityNextGaussian()
       throws SeedException {
-    // No-op: can't be tested because setSeed merges with the existing seed
+    checkRepeatabilityNextGaussianForCipher(this);
+  }
+
+  /**
+   * Version of {@link BaseRandomTest#testRepeatabilityNextGaussian()} for PRNGs whose setSeed
+   * merges with the existing seed, so that no PRNG created from the new seed matches. Instead, a
+   * duplicate PRNG shows what the Gaussian cached before setSeed was, and the next output after
+   * setSeed must differ from it.
+   *
+   * @param test the test instance
+   */
+  public static void checkRepeatabilityNextGaussianForCipher(BaseRandomTest<?> test) {
+    final BaseRandom rng = test.createRng();
+    final BaseRandom duplicateRNG = test.createRng(rng.getSeed());
+    final byte[] seed = test.getTestSeedGenerator().generateSeed(test.getNewSeedLength());
+    assertEquals(rng.nextGaussian(), duplicateRNG.nextGaussian());
+    final double cachedGaussian = duplicateRNG.nextGaussian();
+    rng.setSeed(seed);
+    assertNotEquals(rng.nextGaussian(), cachedGaussian,
+        "nextGaussian() returned a value cached before setSeed");
   }
 
   @Override @Test(timeOut = 40_000)
@@ -103,6 +125,30 @@ public abstract class CipherCounterRandomTest<T extends CipherCounterRandom>
         "Shouldn't allow a key longer than " + getExpectedMaxSize() + "bytes");
   }
 
+  /**
+   * nextBytes copies straight out of the cipher output, so it should match the big-endian ints that
+   * nextInt returns, and an odd-length request should skip ahead to the next whole int.
+   */
+  @Test(timeOut = 15000) public void testNextBytesMatchesNextInt() {
+    final T rng = createRng();
+    final T duplicateRng = createRng(rng.getSeed());
+    final int length = 3 * rng.getBytesAtOnce() + Integer.BYTES;
+    final byte[] bytes = new byte[length];
+    rng.nextBytes(bytes);
+    final byte[] expected = new byte[length];
+    for (int i = 0; i < length; i += Integer.BYTES) {
+      BinaryUtils.convertIntToBytes(duplicateRng.nextInt(), expected, i);
+    }
+    assertEquals(bytes, expected);
+    final byte[] oddBytes = new byte[Integer.BYTES + 3];
+    rng.nextBytes(oddBytes);
+    final byte[] expectedOdd = new byte[2 * Integer.BYTES];
+    BinaryUtils.convertIntToBytes(duplicateRng.nextInt(), expectedOdd, 0);
+    BinaryUtils.convertIntToBytes(duplicateRng.nextInt(), expectedOdd, Integer.BYTES);
+    assertEquals(oddBytes, Arrays.copyOf(expectedOdd, oddBytes.length));
+    assertEquals(rng.nextInt(), duplicateRng.nextInt());
+  }
+
   @Override public void testInitialEntropy() {
     checkInitialEntropyForCipher(this, createRng().getCounterSizeBytes());
   }
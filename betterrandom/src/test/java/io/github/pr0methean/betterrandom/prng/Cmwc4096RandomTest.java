@@ -15,7 +15,12 @@
 // ============================================================================
 package io.github.pr0methean.betterrandom.prng;
 
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.testing.SerializableTester;
 import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import java.lang.reflect.Field;
 import org.testng.annotations.Test;
 
 /**
@@ -42,4 +47,84 @@ import org.testng.annotations.Test;
   @Override @Test(enabled = false) public void testRandomSeederIntegration() {
     // No-op: can't be made to reliably finish in time because the seed is too large.
   }
+
+  /**
+   * Checks the block-at-a-time output against the original algorithm, which updated and returned
+   * one state word per call.
+   */
+  @Test public void testMatchesOneWordAtATime() {
+    final byte[] seed = getTestSeedGenerator().generateSeed(16384);
+    final int[] state = BinaryUtils.convertBytesToInts(seed);
+    int carry = 362436;
+    int index = 4095;
+    final int[] expected = new int[(3 * 4096) + 5];
+    for (int i = 0; i < expected.length; i++) {
+      index = (index + 1) & 4095;
+      final long t = (18782L * (state[index] & 0xFFFFFFFFL)) + carry;
+      carry = (int) (t >> 32);
+      int x = ((int) t) + carry;
+      if (x < carry) {
+        x++;
+        carry++;
+      }
+      state[index] = 0xFFFFFFFE - x;
+      expected[i] = state[index];
+    }
+    final Cmwc4096Random rng = createRng(seed);
+    final int[] actual = new int[expected.length];
+    actual[0] = rng.nextInt();
+    rng.nextInts(actual, 1, 4100);
+    for (int i = 4101; i < 4111; i += 2) {
+      assertEquals(rng.nextLong(), ((long) expected[i] << 32) + expected[i + 1]);
+      actual[i] = expected[i];
+      actual[i + 1] = expected[i + 1];
+    }
+    rng.nextInts(actual, 4111, actual.length - 4111);
+    assertEquals(actual, expected);
+  }
+
+  /**
+   * Checks that an instance serialized by the one-word-at-a-time implementation, partway through
+   * its state, continues with the same output after deserialization.
+   */
+  @Test public void testDeserializeOneWordAtATimeFormat() throws Exception {
+    final byte[] seed = getTestSeedGenerator().generateSeed(16384);
+    final int[] state = BinaryUtils.convertBytesToInts(seed);
+    int carry = 362436;
+    final int wordsBeforeSerializing = 1000;
+    final int[] expected = new int[5000];
+    Cmwc4096Random deserialized = null;
+    for (int i = 0; i < wordsBeforeSerializing + expected.length; i++) {
+      final int index = i & 4095;
+      final long t = (18782L * (state[index] & 0xFFFFFFFFL)) + carry;
+      carry = (int) (t >> 32);
+      int x = ((int) t) + carry;
+      if (x < carry) {
+        x++;
+        carry++;
+      }
+      state[index] = 0xFFFFFFFE - x;
+      if (i == wordsBeforeSerializing - 1) {
+        // Put the instance in the state the old implementation would have serialized
+        final Cmwc4096Random rng = createRng(seed);
+        setField(rng, "state", state.clone());
+        setField(rng, "carry", carry);
+        setField(rng, "index", index);
+        setField(rng, "indexIsNextWord", false);
+        deserialized = SerializableTester.reserialize(rng);
+      } else if (i >= wordsBeforeSerializing) {
+        expected[i - wordsBeforeSerializing] = state[index];
+      }
+    }
+    final int[] actual = new int[expected.length];
+    deserialized.nextInts(actual, 0, actual.length);
+    assertEquals(actual, expected);
+  }
+
+  private static void setField(final Cmwc4096Random rng, final String name, final Object value)
+      throws ReflectiveOperationException {
+    final Field field = Cmwc4096Random.class.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(rng, value);
+  }
 }
@@ -15,7 +15,13 @@
 // ============================================================================
 package io.github.pr0methean.betterrandom.prng;
 
+import static org.testng.Assert.assertEquals;
+
 import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.util.BinaryPolynomialArithmetic;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import org.testng.annotations.Test;
 
 /**
@@ -25,7 +31,9 @@ import org.testng.annotations.Test;
  * @author Chris Hennick
  */
 @Test(testName = "MersenneTwisterRandom") public class MersenneTwisterRandomTest
-    extends BaseRandomTest<MersenneTwisterRandom> {
+    extends SeekableRandomTest<MersenneTwisterRandom> {
+
+  private static final int POLYNOMIAL_WORDS = BinaryPolynomialArithmetic.wordsForModulus(19937);
 
   @Override protected Class<? extends MersenneTwisterRandom> getClassUnderTest() {
     return MersenneTwisterRandom.class;
@@ -38,4 +46,66 @@ import org.testng.annotations.Test;
   @Override protected MersenneTwisterRandom createRng(final byte[] seed) throws SeedException {
     return new MersenneTwisterRandom(seed);
   }
+
+  /**
+   * Checks the jump-polynomial path against the stepping path, which is only used for small
+   * forward advances.
+   */
+  @Test public void testAdvanceLargeForward() {
+    final MersenneTwisterRandom copy1 = createRng();
+    final MersenneTwisterRandom copy2 = createRng(copy1.getSeed());
+    copy1.nextInt();
+    copy2.nextInt();
+    copy1.advance(1 << 24);
+    copy1.advance(1000);
+    copy2.advance((1 << 24) + 1000);
+    RandomTestUtils.assertEquivalent(copy1, copy2, 64, "Output mismatch after large advance");
+  }
+
+  @Test public void testAdvanceLargeBackward() {
+    final MersenneTwisterRandom copy1 = createRng();
+    final MersenneTwisterRandom copy2 = createRng(copy1.getSeed());
+    copy1.advance(1L << 40);
+    copy1.advance(-(1L << 40));
+    RandomTestUtils.assertEquivalent(copy1, copy2, 64,
+        "Output mismatch after advancing forward and back");
+  }
+
+  @Test public void testJump() {
+    final MersenneTwisterRandom copy1 = createRng();
+    final MersenneTwisterRandom copy2 = createRng(copy1.getSeed());
+    copy1.jump();
+    copy2.advance(Long.MAX_VALUE);
+    copy2.advance(Long.MAX_VALUE);
+    copy2.advance(2);
+    RandomTestUtils.assertEquivalent(copy1, copy2, 64, "Output mismatch after jump");
+  }
+
+  @Test public void testJumpPolynomialResources() throws IOException {
+    final long[] characteristic = loadPolynomial("mt19937.poly");
+    assertEquals(BinaryPolynomialArithmetic.degree(characteristic), 19937);
+    final long[] jump = loadPolynomial("mt19937-jump64.poly");
+    final long[] expectedJump = BinaryPolynomialArithmetic.powerOfZMod(1, characteristic);
+    final long[][] shiftedModulus = BinaryPolynomialArithmetic.shiftedCopies(characteristic);
+    final long[] scratch = new long[2 * POLYNOMIAL_WORDS];
+    for (int i = 0; i < 64; i++) {
+      BinaryPolynomialArithmetic.squareModInto(expectedJump, shiftedModulus, 19937, scratch);
+    }
+    assertEquals(jump, expectedJump);
+    for (int i = 0; i < 64; i++) {
+      BinaryPolynomialArithmetic.squareModInto(expectedJump, shiftedModulus, 19937, scratch);
+    }
+    assertEquals(loadPolynomial("mt19937-jump128.poly"), expectedJump);
+  }
+
+  private static long[] loadPolynomial(final String name) throws IOException {
+    try (InputStream in = MersenneTwisterRandom.class.getResourceAsStream(name)) {
+      final DataInputStream dataIn = new DataInputStream(in);
+      final long[] polynomial = new long[POLYNOMIAL_WORDS];
+      for (int i = 0; i < polynomial.length; i++) {
+        polynomial[i] = dataIn.readLong();
+      }
+      return polynomial;
+    }
+  }
 }
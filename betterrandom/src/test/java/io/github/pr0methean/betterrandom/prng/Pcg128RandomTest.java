@@ -1,6 +1,19 @@
 package io.github.pr0methean.betterrandom.prng;
 
+import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.multiplyInto;
+import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.multiplyIntoAndAddInto;
+import static org.testng.Assert.assertEquals;
+
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic;
+import org.testng.annotations.Test;
+
 public class Pcg128RandomTest extends SeekableRandomTest<Pcg128Random> {
+  private static final byte[] MULTIPLIER = BinaryUtils.convertHexStringToBytes(
+      "2360ED051FC65DA44385DF649FCCF645");
+  private static final byte[] INCREMENT = BinaryUtils.convertHexStringToBytes(
+      "5851F42D4C957F2D14057B7EF767814F");
+
   @Override protected Class<? extends Pcg128Random> getClassUnderTest() {
     return Pcg128Random.class;
   }
@@ -12,4 +25,45 @@ public class Pcg128RandomTest extends SeekableRandomTest<Pcg128Random> {
   @Override protected Pcg128Random createRng(final byte[] seed) {
     return new Pcg128Random(seed);
   }
-}
\ No newline at end of file
+
+  /**
+   * Checks that the state transition matches the one originally done on {@code byte[]}s with
+   * {@link Byte16ArrayArithmetic}, by comparing the seed after every step.
+   */
+  @Test public void testMatchesByteArrayArithmetic() {
+    final byte[] state = getTestSeedGenerator().generateSeed(16);
+    final Pcg128Random rng = createRng(state);
+    for (int i = 0; i < 100; i++) {
+      rng.nextLong();
+      multiplyIntoAndAddInto(state, MULTIPLIER, INCREMENT);
+      assertEquals(rng.getSeed(), state);
+    }
+  }
+
+  @Test public void testAdvanceMatchesByteArrayArithmetic() {
+    final byte[] state = getTestSeedGenerator().generateSeed(16);
+    final Pcg128Random rng = createRng(state);
+    final long highDelta = 0x0123_4567_89AB_CDEFL;
+    final long lowDelta = 0xFEDC_BA98_7654_3210L;
+    rng.advance(highDelta, lowDelta);
+    // Same algorithm as Pcg128Random.advance, but on byte[]s
+    final byte[] curMult = MULTIPLIER.clone();
+    final byte[] accMult = Byte16ArrayArithmetic.ONE.clone();
+    final byte[] curPlus = INCREMENT.clone();
+    final byte[] accPlus = new byte[16];
+    final byte[] adjMult = new byte[16];
+    for (int bit = 0; bit < 128; bit++) {
+      final long word = (bit < 64) ? lowDelta : highDelta;
+      if (((word >>> (bit % 64)) & 1) == 1) {
+        multiplyInto(accMult, curMult);
+        multiplyIntoAndAddInto(accPlus, curMult, curPlus);
+      }
+      System.arraycopy(curMult, 0, adjMult, 0, 16);
+      Byte16ArrayArithmetic.addInto(adjMult, Byte16ArrayArithmetic.ONE);
+      multiplyInto(curPlus, adjMult);
+      multiplyInto(curMult, curMult);
+    }
+    multiplyIntoAndAddInto(state, accMult, accPlus);
+    assertEquals(rng.getSeed(), state);
+  }
+}
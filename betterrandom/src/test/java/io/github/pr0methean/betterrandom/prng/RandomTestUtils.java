@@ -35,7 +35,6 @@ import io.github.pr0methean.betterrandom.util.Dumpable;
 import java.util.Arrays;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.BaseStream;
 import java.util.stream.Stream;
@@ -90,22 +89,22 @@ public enum RandomTestUtils {
   public static void checkStream(final BaseRandom prng, final long maxEntropySpentPerNumber,
       final Stream<? extends Number> stream, final int expectedCount, final double origin,
       final double bound, final boolean checkEntropyCount) {
-    final AtomicLong entropy = new AtomicLong(prng.getEntropyBits());
+    final long oldEntropy = prng.getEntropyBits();
     final Stream<? extends Number> streamToUse =
         (expectedCount < 0) ? stream.sequential().limit(STREAM_SIZE) : stream.sequential();
     final long count = streamToUse.mapToLong((number) -> {
       TestUtils.assertGreaterOrEqual(number.doubleValue(), origin);
       TestUtils.assertLess(number.doubleValue(), bound);
-      if (checkEntropyCount) {
-        long newEntropy = prng.getEntropyBits();
-        TestUtils.assertGreaterOrEqual(newEntropy,
-            entropy.getAndSet(newEntropy) - maxEntropySpentPerNumber);
-      }
       return 1;
     }).sum();
     if (expectedCount >= 0) {
       assertEquals(count, expectedCount);
     }
+    if (checkEntropyCount) {
+      // Streams debit entropy a chunk at a time, so only the total is meaningful
+      TestUtils.assertGreaterOrEqual(prng.getEntropyBits(),
+          oldEntropy - (maxEntropySpentPerNumber * count));
+    }
   }
 
   /**
@@ -24,7 +24,40 @@ import org.testng.annotations.Test;
  * @author Daniel Dyer
  */
 @Test(testName = "XorShiftRandom") public class XorShiftRandomTest
-    extends BaseRandomTest<XorShiftRandom> {
+    extends SeekableRandomTest<XorShiftRandom> {
+
+  @Override @Test(dataProvider = "deltas", expectedExceptions = UnsupportedOperationException.class)
+  public void testAdvanceBackward(final int delta) {
+    createRng().advance(-delta);
+  }
+
+  @Test public void testAdvanceLargeForward() {
+    final XorShiftRandom copy1 = createRng();
+    final XorShiftRandom copy2 = createRng(copy1.getSeed());
+    for (int i = 0; i < 1000; i++) {
+      copy1.nextInt();
+    }
+    copy2.advance(1000);
+    RandomTestUtils.assertEquivalent(copy1, copy2, 64, "Output mismatch after large advance");
+  }
+
+  @Test public void testJump() {
+    final XorShiftRandom copy1 = createRng();
+    final XorShiftRandom copy2 = createRng(copy1.getSeed());
+    copy1.jump();
+    copy2.advance(Long.MAX_VALUE);
+    copy2.advance(Long.MAX_VALUE);
+    copy2.advance(2);
+    RandomTestUtils.assertEquivalent(copy1, copy2, 64, "Output mismatch after jump");
+  }
+
+  @Test public void testLongJump() {
+    final XorShiftRandom copy1 = createRng();
+    final XorShiftRandom copy2 = createRng(copy1.getSeed());
+    copy1.longJump();
+    copy2.jump();
+    RandomTestUtils.assertDistinct(copy1, copy2, 64, "longJump() was the same as jump()");
+  }
 
   @Override protected Class<? extends XorShiftRandom> getClassUnderTest() {
     return XorShiftRandom.class;
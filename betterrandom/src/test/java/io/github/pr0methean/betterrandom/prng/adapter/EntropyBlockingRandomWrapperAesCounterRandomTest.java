@@ -1,6 +1,7 @@
 package io.github.pr0methean.betterrandom.prng.adapter;
 
 import static io.github.pr0methean.betterrandom.prng.CipherCounterRandomTest.checkInitialEntropyForCipher;
+import static io.github.pr0methean.betterrandom.prng.CipherCounterRandomTest.checkRepeatabilityNextGaussianForCipher;
 import static io.github.pr0methean.betterrandom.prng.CipherCounterRandomTest.checkSetSeedForCipher;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -199,4 +200,12 @@ public class EntropyBlockingRandomWrapperAesCounterRandomTest
   @Override @Test(enabled = false) public void testSetSeedAfterNextInt() {
     // No-op.
   }
+
+  @Override @Test(enabled = false) public void testBulkRepeatability() {
+    // No-op: Reseeds itself on the calling thread when it runs low on entropy.
+  }
+
+  @Override @Test(timeOut = 15_000) public void testRepeatabilityNextGaussian() {
+    checkRepeatabilityNextGaussianForCipher(this);
+  }
 }
@@ -1,6 +1,7 @@
 package io.github.pr0methean.betterrandom.prng.adapter;
 
 import static io.github.pr0methean.betterrandom.prng.CipherCounterRandomTest.checkInitialEntropyForCipher;
+import static io.github.pr0methean.betterrandom.prng.CipherCounterRandomTest.checkRepeatabilityNextGaussianForCipher;
 import static io.github.pr0methean.betterrandom.prng.CipherCounterRandomTest.checkSetSeedForCipher;
 import static org.testng.Assert.assertSame;
 
@@ -61,4 +62,8 @@ import org.testng.annotations.Test;
   @Override @Test(enabled = false) public void testSetSeedAfterNextInt() {
     // No-op.
   }
+
+  @Override @Test(timeOut = 15_000) public void testRepeatabilityNextGaussian() {
+    checkRepeatabilityNextGaussianForCipher(this);
+  }
 }
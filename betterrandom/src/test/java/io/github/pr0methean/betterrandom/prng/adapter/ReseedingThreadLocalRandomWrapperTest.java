@@ -1,5 +1,7 @@
 package io.github.pr0methean.betterrandom.prng.adapter;
 
+import static org.testng.Assert.assertTrue;
+
 import io.github.pr0methean.betterrandom.FlakyRetryAnalyzer;
 import io.github.pr0methean.betterrandom.prng.BaseRandom;
 import io.github.pr0methean.betterrandom.prng.Pcg64Random;
@@ -81,4 +83,15 @@ public class ReseedingThreadLocalRandomWrapperTest extends ThreadLocalRandomWrap
   @Override protected ReseedingThreadLocalRandomWrapper<Pcg64Random> createRng() throws SeedException {
     return new ReseedingThreadLocalRandomWrapper<>(getTestSeedGenerator(), supplier);
   }
+
+  /**
+   * Each thread's PRNG stays shared, because the {@link RandomSeeder} reseeds it.
+   */
+  @Override @Test public void testWrappedPrngIsUnshared() throws SeedException {
+    assertTrue(createRng().getWrapped().isShared());
+  }
+
+  @Override @Test(enabled = false) public void testBulkRepeatability() {
+    // No-op: May be reseeded between the bulk and single calls.
+  }
 }
@@ -3,7 +3,6 @@ package io.github.pr0methean.betterrandom.prng.adapter;
 import static io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator.DEFAULT_INSTANCE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.testng.Assert.assertEquals;
 
 import io.github.pr0methean.betterrandom.TestUtils;
 import io.github.pr0methean.betterrandom.prng.BaseRandom;
@@ -11,6 +10,7 @@ import io.github.pr0methean.betterrandom.prng.RandomTestUtils;
 import io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import java.util.SplittableRandom;
 import org.mockito.Mockito;
 import org.testng.annotations.Test;
 
@@ -45,16 +45,12 @@ public class SplittableRandomAdapterNullTest extends SplittableRandomAdapterTest
     RandomTestUtils.assertEquivalent(rng, duplicateRNG, 1000, "Generated sequences do not match");
   }
 
-  @Override @Test public void testRepeatabilityNextGaussian()
-      throws SeedException {
-    final BaseRandom rng = createRng();
-    final byte[] seed = getTestSeedGenerator().generateSeed(getNewSeedLength());
-    rng.nextGaussian();
-    rng.setSeed(seed);
-    // Create second RNG using same seed.
-    final BaseRandom duplicateRNG = createRng();
-    duplicateRNG.setSeed(seed);
-    assertEquals(rng.nextGaussian(), duplicateRNG.nextGaussian());
+  /**
+   * {@link SplittableRandomAdapter#setSeed(byte[])} doesn't replace the calling thread's existing
+   * {@link SplittableRandom}, so a cached Gaussian can't be invalidated by it either.
+   */
+  @Override @Test(enabled = false) public void testRepeatabilityNextGaussian() {
+    // No-op.
   }
 
   @Override public void testSetSeedGeneratorNoOp() {
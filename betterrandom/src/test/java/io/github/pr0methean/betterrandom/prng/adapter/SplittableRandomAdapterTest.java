@@ -88,6 +88,10 @@ public class SplittableRandomAdapterTest
     // No-op.
   }
 
+  @Override @Test(enabled = false) public void testBulkRepeatability() {
+    // No-op.
+  }
+
   @Override @Test(retryAnalyzer = FlakyRetryAnalyzer.class)
   public void testReseeding() {
     SeedGenerator generator = new PseudorandomSeedGenerator(ThreadLocalRandom.current(), "testReseeding");
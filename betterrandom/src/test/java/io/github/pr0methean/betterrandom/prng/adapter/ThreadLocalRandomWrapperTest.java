@@ -1,6 +1,7 @@
 package io.github.pr0methean.betterrandom.prng.adapter;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertSame;
 
 import com.google.common.testing.SerializableTester;
@@ -112,6 +113,10 @@ public abstract class ThreadLocalRandomWrapperTest<T extends BaseRandom>
         .getNewSeedLength(), 200);
   }
 
+  @Test public void testWrappedPrngIsUnshared() throws SeedException {
+    assertFalse(createRng().getWrapped().isShared());
+  }
+
   @Test public void testWrapLegacy() throws SeedException {
     ThreadLocalRandomWrapper.wrapLegacy(Random::new, getTestSeedGenerator()).nextInt();
   }
@@ -5,7 +5,9 @@ import static org.testng.Assert.fail;
 
 import com.google.common.util.concurrent.Uninterruptibles;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import nl.jqno.equalsverifier.api.SingleTypeEqualsVerifierApi;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -48,6 +50,40 @@ import org.testng.annotations.Test;
     assertEquals(FAKE_SEED_GENERATOR.countCalls(), 2);
   }
 
+  @Test public void testHitAndMissCounts() {
+    final int smallRequestSize = BUFFER_SIZE / 2;
+    generateAndCheckFakeSeed(smallRequestSize);
+    generateAndCheckFakeSeed(smallRequestSize, smallRequestSize);
+    generateAndCheckFakeSeed(2 * BUFFER_SIZE);
+    assertEquals(seedGenerator.getHitCount(), 1);
+    assertEquals(seedGenerator.getMissCount(), 2);
+  }
+
+  @Test public void testPrefetch() {
+    final int smallRequestSize = BUFFER_SIZE / 2;
+    // Completes prefetches immediately, so that they're always ready when needed
+    final FakeSeedGenerator delegate = new FakeSeedGenerator("testPrefetch") {
+      private static final long serialVersionUID = -3466428384858718207L;
+
+      @Override public CompletableFuture<byte[]> generateSeedAsync(int length, Executor executor) {
+        return CompletableFuture.completedFuture(generateSeed(length));
+      }
+    };
+    seedGenerator = new BufferedSeedGenerator(delegate, BUFFER_SIZE, smallRequestSize);
+    generateAndCheckFakeSeed(smallRequestSize);
+    assertEquals(seedGenerator.getMissCount(), 1);
+    assertEquals(delegate.countCalls(), 2, "Should have prefetched the spare buffer");
+    generateAndCheckFakeSeed(smallRequestSize, smallRequestSize);
+    generateAndCheckFakeSeed(smallRequestSize);
+    assertEquals(seedGenerator.getHitCount(), 2);
+    assertEquals(seedGenerator.getMissCount(), 1);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testLowWaterMarkTooHigh() {
+    new BufferedSeedGenerator(FAKE_SEED_GENERATOR, BUFFER_SIZE, BUFFER_SIZE);
+  }
+
   @Test public void testThreadSafety() throws InterruptedException {
     final CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
     Thread[] threads = new Thread[THREAD_COUNT];
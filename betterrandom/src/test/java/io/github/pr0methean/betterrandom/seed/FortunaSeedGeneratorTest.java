@@ -0,0 +1,99 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import nl.jqno.equalsverifier.api.SingleTypeEqualsVerifierApi;
+import org.testng.annotations.Test;
+
+public class FortunaSeedGeneratorTest extends SeedGeneratorTest<FortunaSeedGenerator> {
+
+  private static final Duration COLLECTION_INTERVAL = Duration.ofMillis(10);
+
+  @Override protected FortunaSeedGenerator initializeSeedGenerator() {
+    return new FortunaSeedGenerator(Arrays.asList(new FakeSeedGenerator("fortuna")),
+        COLLECTION_INTERVAL);
+  }
+
+  @Override protected SingleTypeEqualsVerifierApi<? extends SeedGenerator> createEqualsVerifier() {
+    try {
+      return super.createEqualsVerifier().withIgnoredFields("lock").withPrefabValues(
+          MessageDigest.class, MessageDigest.getInstance("SHA-256"),
+          MessageDigest.getInstance("SHA-384"));
+    } catch (final NoSuchAlgorithmException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private void waitForReseeds(long count) {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (seedGenerator.getReseedCount() < count) {
+      assertTrue(System.nanoTime() < deadline, "Not enough reseeds");
+      // Reseeds only happen when a seed is requested
+      seedGenerator.generateSeed(1);
+      Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Test public void testSeedsDiffer() {
+    final byte[] first = seedGenerator.generateSeed(64);
+    final byte[] second = seedGenerator.generateSeed(64);
+    assertFalse(Arrays.equals(first, second), "Same seed generated twice");
+    assertFalse(Arrays.equals(first, new byte[64]), "Seed is all zeroes");
+  }
+
+  @Test public void testReseedsInBackground() {
+    seedGenerator.generateSeed(32);
+    assertEquals(seedGenerator.getReseedCount(), 1);
+    waitForReseeds(3);
+  }
+
+  @Test(timeOut = 20_000) public void testDoesNotWaitForSlowSource() {
+    final FakeSeedGenerator slow = new FakeSeedGenerator("slow") {
+      private static final long serialVersionUID = 6532848212906738546L;
+
+      @Override public void generateSeed(byte[] output) throws SeedException {
+        Uninterruptibles.sleepUninterruptibly(1, TimeUnit.MINUTES);
+        super.generateSeed(output);
+      }
+    };
+    seedGenerator = new FortunaSeedGenerator(Arrays.asList(new FakeSeedGenerator("fast"), slow),
+        COLLECTION_INTERVAL);
+    seedGenerator.generateSeed(32);
+    waitForReseeds(3);
+  }
+
+  @Test public void testOneSourceFails() {
+    final FakeSeedGenerator failing = new FakeSeedGenerator("failing");
+    failing.setThrowException(true);
+    seedGenerator = new FortunaSeedGenerator(
+        Arrays.asList(failing, new FakeSeedGenerator("working")), COLLECTION_INTERVAL);
+    seedGenerator.generateSeed(32);
+    waitForReseeds(3);
+  }
+
+  @Test public void testAllSourcesFail() {
+    final FakeSeedGenerator failing = new FakeSeedGenerator("failing");
+    failing.setThrowException(true);
+    seedGenerator = new FortunaSeedGenerator(Arrays.asList(failing), COLLECTION_INTERVAL);
+    try {
+      seedGenerator.generateSeed(32);
+      fail("Should have thrown SeedException");
+    } catch (final SeedException expected) {
+    }
+  }
+
+  @Test public void testIsWorthTrying() {
+    seedGenerator = new FortunaSeedGenerator(FailingSeedGenerator.DEFAULT_INSTANCE);
+    assertFalse(seedGenerator.isWorthTrying());
+    assertTrue(initializeSeedGenerator().isWorthTrying());
+  }
+}
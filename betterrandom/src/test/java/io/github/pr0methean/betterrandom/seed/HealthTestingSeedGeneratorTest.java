@@ -0,0 +1,149 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.time.Duration;
+import java.util.Arrays;
+import nl.jqno.equalsverifier.api.SingleTypeEqualsVerifierApi;
+import org.testng.annotations.Test;
+
+public class HealthTestingSeedGeneratorTest extends SeedGeneratorTest<HealthTestingSeedGenerator> {
+
+  private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+  /**
+   * Returns the same byte every time.
+   */
+  private static class StuckSeedGenerator extends FakeSeedGenerator {
+    private static final long serialVersionUID = -6180914346358423434L;
+
+    StuckSeedGenerator() {
+      super("stuck");
+    }
+
+    @Override public void generateSeed(byte[] output) throws SeedException {
+      statusChecks();
+      Arrays.fill(output, (byte) 0x55);
+    }
+  }
+
+  /**
+   * Returns the same byte every other time, which passes the repetition count test but not the
+   * adaptive proportion test.
+   */
+  private static class BiasedSeedGenerator extends FakeSeedGenerator {
+    private static final long serialVersionUID = 3427017617322719418L;
+
+    BiasedSeedGenerator() {
+      super("biased");
+    }
+
+    @Override public void generateSeed(byte[] output) throws SeedException {
+      statusChecks();
+      for (int i = 0; i < output.length; i++) {
+        output[i] = (i % 2 == 0) ? 0x55 : (byte) i;
+      }
+    }
+  }
+
+  @Override protected HealthTestingSeedGenerator initializeSeedGenerator() {
+    return new HealthTestingSeedGenerator(new FakeSeedGenerator("healthy"),
+        HealthTestingSeedGenerator.DEFAULT_ENTROPY_PER_BYTE, RETRY_DELAY);
+  }
+
+  @Override protected SingleTypeEqualsVerifierApi<? extends SeedGenerator> createEqualsVerifier() {
+    return super.createEqualsVerifier().withIgnoredFields("lock");
+  }
+
+  private void expectFailure(int length) {
+    try {
+      seedGenerator.generateSeed(length);
+      fail("Should have thrown SeedException");
+    } catch (final SeedException expected) {
+    }
+    assertEquals(seedGenerator.getFailureCount(), 1);
+    assertFalse(seedGenerator.isWorthTrying(), "Should not be worth trying after a failure");
+  }
+
+  @Test public void testCutoffs() {
+    // Values for a false-positive rate of 2^-30 from SP 800-90B's formulas
+    assertEquals(seedGenerator.getRepetitionCountCutoff(), 5);
+    assertEquals(new HealthTestingSeedGenerator(new FakeSeedGenerator(), 1, RETRY_DELAY)
+        .getRepetitionCountCutoff(), 31);
+    final int highEntropyCutoff = seedGenerator.getAdaptiveProportionCutoff();
+    final int lowEntropyCutoff = new HealthTestingSeedGenerator(new FakeSeedGenerator(), 1,
+        RETRY_DELAY).getAdaptiveProportionCutoff();
+    assertTrue(highEntropyCutoff > 2 && highEntropyCutoff < 20, "Cutoff " + highEntropyCutoff);
+    assertTrue(lowEntropyCutoff > 256 && lowEntropyCutoff < 512, "Cutoff " + lowEntropyCutoff);
+  }
+
+  @Test public void testHealthyPasses() {
+    for (int i = 0; i < 100; i++) {
+      generateAndCheckFakeSeed(256);
+    }
+    assertEquals(seedGenerator.getFailureCount(), 0);
+    assertTrue(seedGenerator.isWorthTrying());
+  }
+
+  @Test public void testStuckFailsRepetitionCount() {
+    seedGenerator = new HealthTestingSeedGenerator(new StuckSeedGenerator(),
+        HealthTestingSeedGenerator.DEFAULT_ENTROPY_PER_BYTE, RETRY_DELAY);
+    expectFailure(seedGenerator.getRepetitionCountCutoff());
+  }
+
+  @Test public void testRepetitionCountedAcrossRequests() {
+    seedGenerator = new HealthTestingSeedGenerator(new StuckSeedGenerator(),
+        HealthTestingSeedGenerator.DEFAULT_ENTROPY_PER_BYTE, RETRY_DELAY);
+    for (int i = 1; i < seedGenerator.getRepetitionCountCutoff(); i++) {
+      seedGenerator.generateSeed(1);
+    }
+    expectFailure(1);
+  }
+
+  @Test public void testBiasedFailsAdaptiveProportion() {
+    seedGenerator = new HealthTestingSeedGenerator(new BiasedSeedGenerator(),
+        HealthTestingSeedGenerator.DEFAULT_ENTROPY_PER_BYTE, RETRY_DELAY);
+    expectFailure(512);
+  }
+
+  @Test public void testAsync() {
+    seedGenerator = new HealthTestingSeedGenerator(new StuckSeedGenerator(),
+        HealthTestingSeedGenerator.DEFAULT_ENTROPY_PER_BYTE, RETRY_DELAY);
+    try {
+      seedGenerator.generateSeedAsync(32, Runnable::run).join();
+      fail("Should have failed");
+    } catch (final RuntimeException expected) {
+    }
+    assertEquals(seedGenerator.getFailureCount(), 1);
+  }
+
+  @Test public void testWorthTryingAfterRetryDelay() {
+    seedGenerator = new HealthTestingSeedGenerator(new StuckSeedGenerator(),
+        HealthTestingSeedGenerator.DEFAULT_ENTROPY_PER_BYTE, Duration.ZERO);
+    try {
+      seedGenerator.generateSeed(32);
+      fail("Should have thrown SeedException");
+    } catch (final SeedException expected) {
+    }
+    assertTrue(seedGenerator.isWorthTrying());
+  }
+
+  @Test public void testFailoverInPreferenceList() {
+    final HealthTestingSeedGenerator stuck = new HealthTestingSeedGenerator(
+        new StuckSeedGenerator(), HealthTestingSeedGenerator.DEFAULT_ENTROPY_PER_BYTE,
+        RETRY_DELAY);
+    final FakeSeedGenerator healthy = new FakeSeedGenerator("healthy");
+    final SeedGeneratorPreferenceList preferenceList = new SeedGeneratorPreferenceList(false,
+        new BufferedSeedGenerator(stuck, 64), healthy);
+    final byte[] seed = preferenceList.generateSeed(32);
+    for (int i = 0; i < seed.length; i++) {
+      assertEquals(seed[i], (byte) i, "Seed should have come from the healthy delegate");
+    }
+    assertEquals(stuck.getFailureCount(), 1);
+    preferenceList.generateSeed(32);
+    assertEquals(healthy.countCalls(), 2);
+  }
+}
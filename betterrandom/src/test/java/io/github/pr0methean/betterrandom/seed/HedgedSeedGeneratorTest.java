@@ -0,0 +1,97 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import static io.github.pr0methean.betterrandom.TestUtils.fail;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+public class HedgedSeedGeneratorTest extends SeedGeneratorTest<HedgedSeedGenerator> {
+
+  private static FakeSeedGenerator createFailingSeedGenerator(String name) {
+    final FakeSeedGenerator failing = new FakeSeedGenerator(name);
+    failing.setThrowException(true);
+    return failing;
+  }
+
+  private static FakeSeedGenerator createSlowSeedGenerator(String name) {
+    return new FakeSeedGenerator(name) {
+      private static final long serialVersionUID = -2694826366493167281L;
+
+      @Override public void generateSeed(byte[] output) throws SeedException {
+        Uninterruptibles.sleepUninterruptibly(2, TimeUnit.SECONDS);
+        super.generateSeed(output);
+      }
+    };
+  }
+
+  @Test public void testOneFails() {
+    seedGenerator = new HedgedSeedGenerator(createFailingSeedGenerator("failing"),
+        new FakeSeedGenerator("working"));
+    generateAndCheckFakeSeed(32);
+  }
+
+  @Test(timeOut = 1500) public void testFastestWins() {
+    seedGenerator = new HedgedSeedGenerator(createSlowSeedGenerator("slow"),
+        new FakeSeedGenerator("fast"));
+    generateAndCheckFakeSeed(32);
+  }
+
+  @Test(timeOut = 1500) public void testFastestWinsAsync() {
+    seedGenerator = new HedgedSeedGenerator(createSlowSeedGenerator("slow"),
+        new FakeSeedGenerator("fast"));
+    final byte[] seed = seedGenerator.generateSeedAsync(32, ForkJoinPool.commonPool()).join();
+    for (int i = 0; i < seed.length; i++) {
+      assertEquals(seed[i], (byte) i, "Failed to populate index " + i);
+    }
+  }
+
+  @Test public void testXorBeforeDeadline() {
+    final FakeSeedGenerator first = new FakeSeedGenerator("first");
+    final FakeSeedGenerator second = new FakeSeedGenerator("second");
+    seedGenerator = new HedgedSeedGenerator(Arrays.asList(first, second),
+        TimeUnit.SECONDS.toNanos(10));
+    // Both produce the same output, so they cancel out
+    assertEquals(seedGenerator.generateSeed(32), new byte[32]);
+    assertEquals(first.countCalls(), 1);
+    assertEquals(second.countCalls(), 1);
+  }
+
+  @Test(timeOut = 1500) public void testSlowOneMissesDeadline() {
+    seedGenerator = new HedgedSeedGenerator(
+        Arrays.asList(createSlowSeedGenerator("slow"), new FakeSeedGenerator("fast")),
+        TimeUnit.MILLISECONDS.toNanos(100));
+    generateAndCheckFakeSeed(32);
+  }
+
+  @Test(expectedExceptions = SeedException.class) public void testAllFail() {
+    seedGenerator.generateSeed(32);
+  }
+
+  @Test public void testAllFailAsync() {
+    final CompletableFuture<byte[]> seed = seedGenerator.generateSeedAsync(32, Runnable::run);
+    try {
+      seed.join();
+      throw fail("Should have thrown SeedException");
+    } catch (final CompletionException expected) {
+      assertTrue(expected.getCause() instanceof SeedException);
+    }
+  }
+
+  @Test public void testIsWorthTrying() {
+    assertTrue(seedGenerator.isWorthTrying());
+    assertFalse(new HedgedSeedGenerator(FailingSeedGenerator.DEFAULT_INSTANCE).isWorthTrying());
+  }
+
+  @Override protected HedgedSeedGenerator initializeSeedGenerator() {
+    return new HedgedSeedGenerator(createFailingSeedGenerator("failing1"),
+        createFailingSeedGenerator("failing2"));
+  }
+}
@@ -0,0 +1,94 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletionException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import nl.jqno.equalsverifier.api.SingleTypeEqualsVerifierApi;
+import org.testng.annotations.Test;
+
+public class InstrumentedSeedGeneratorTest extends SeedGeneratorTest<InstrumentedSeedGenerator> {
+
+  private static final String METRICS_NAME = "InstrumentedSeedGeneratorTest";
+
+  private final FakeSeedGenerator delegate = new FakeSeedGenerator("instrumented");
+
+  @Override protected InstrumentedSeedGenerator initializeSeedGenerator() {
+    final InstrumentedSeedGenerator generator =
+        new InstrumentedSeedGenerator(delegate, METRICS_NAME);
+    generator.getMetrics().reset();
+    delegate.setThrowException(false);
+    return generator;
+  }
+
+  @Override protected SingleTypeEqualsVerifierApi<? extends SeedGenerator> createEqualsVerifier() {
+    return super.createEqualsVerifier().withNonnullFields("delegate", "metricsName");
+  }
+
+  @Test public void testRecordsRequests() {
+    generateAndCheckFakeSeed(16);
+    generateAndCheckFakeSeed(32);
+    final SeedMetrics.Snapshot snapshot = seedGenerator.getMetrics().snapshot();
+    assertEquals(snapshot.getRequestCount(), 2);
+    assertEquals(snapshot.getByteCount(), 48);
+    assertEquals(snapshot.getFailureCount(), 0);
+    assertTrue(snapshot.getMaxLatencyNanos() >= snapshot.getMedianLatencyNanos());
+    assertTrue(snapshot.getBytesPerSecond() > 0);
+  }
+
+  @Test public void testRecordsFailures() {
+    delegate.setThrowException(true);
+    try {
+      seedGenerator.generateSeed(16);
+      fail("Should have thrown SeedException");
+    } catch (final SeedException expected) {
+    }
+    try {
+      seedGenerator.generateSeedAsync(16, Runnable::run).join();
+      fail("Should have thrown CompletionException");
+    } catch (final CompletionException expected) {
+    }
+    final SeedMetrics.Snapshot snapshot = seedGenerator.getMetrics().snapshot();
+    assertEquals(snapshot.getRequestCount(), 2);
+    assertEquals(snapshot.getFailureCount(), 2);
+    assertEquals(snapshot.getByteCount(), 0);
+  }
+
+  @Test public void testRecordsAsyncRequests() {
+    seedGenerator.generateSeedAsync(16, Runnable::run).join();
+    assertEquals(seedGenerator.getMetrics().getRequestCount(), 1);
+    assertEquals(seedGenerator.getMetrics().getByteCount(), 16);
+  }
+
+  @Test public void testSnapshotAll() {
+    generateAndCheckFakeSeed(16);
+    assertEquals(SeedMetrics.snapshotAll().get(METRICS_NAME).getByteCount(), 16);
+  }
+
+  @Test public void testJmx() throws JMException {
+    generateAndCheckFakeSeed(16);
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    final ObjectName name = new ObjectName(SeedMetrics.JMX_DOMAIN + ":type=SeedMetrics,name="
+        + ObjectName.quote(METRICS_NAME));
+    assertEquals(server.getAttribute(name, "ByteCount"), 16L);
+    assertEquals(server.getAttribute(name, "RequestCount"), 1L);
+    server.invoke(name, "reset", new Object[0], new String[0]);
+    assertEquals(seedGenerator.getMetrics().getRequestCount(), 0);
+  }
+
+  @Test public void testDefaultSeedGeneratorInstrumented() {
+    DefaultSeedGenerator.DEFAULT_SEED_GENERATOR.generateSeed(16);
+    long requests = 0;
+    for (final SeedMetrics.Snapshot snapshot : SeedMetrics.snapshotAll().values()) {
+      if (snapshot.getName().startsWith(DefaultSeedGenerator.METRICS_PREFIX)) {
+        requests += snapshot.getRequestCount();
+      }
+    }
+    assertTrue(requests > 0, "No requests to DefaultSeedGenerator's sources recorded");
+  }
+}
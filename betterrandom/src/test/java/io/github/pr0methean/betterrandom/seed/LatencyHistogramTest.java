@@ -0,0 +1,66 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.testng.annotations.Test;
+
+public class LatencyHistogramTest {
+
+  @Test public void testEmpty() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(histogram.getCount(), 0);
+    assertEquals(histogram.getMean(), 0.0);
+    assertEquals(histogram.getMax(), 0);
+    assertEquals(histogram.getValueAtPercentile(50), 0);
+  }
+
+  @Test public void testSmallValuesExact() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 10; i++) {
+      histogram.record(i);
+    }
+    assertEquals(histogram.getCount(), 10);
+    assertEquals(histogram.getMean(), 5.5);
+    assertEquals(histogram.getValueAtPercentile(50), 5);
+    assertEquals(histogram.getValueAtPercentile(100), 10);
+    assertEquals(histogram.getMax(), 10);
+  }
+
+  @Test public void testRelativeError() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 1000; i++) {
+      final long value = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE >> 1);
+      histogram.reset();
+      histogram.record(value);
+      histogram.record(Long.MAX_VALUE);
+      final long recorded = histogram.getValueAtPercentile(50);
+      assertTrue(recorded >= value && recorded - value <= value / 16,
+          "Recorded " + value + " as " + recorded);
+    }
+  }
+
+  @Test public void testPercentiles() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 99; i++) {
+      histogram.record(1000);
+    }
+    histogram.record(1_000_000_000);
+    assertTrue(Math.abs(histogram.getValueAtPercentile(99) - 1000) <= 1000 / 16);
+    assertEquals(histogram.getValueAtPercentile(100), 1_000_000_000);
+    assertEquals(histogram.getMax(), 1_000_000_000);
+  }
+
+  @Test public void testNegativeRecordedAsZero() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-5);
+    assertEquals(histogram.getCount(), 1);
+    assertEquals(histogram.getMax(), 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidPercentile() {
+    new LatencyHistogram().getValueAtPercentile(101);
+  }
+}
@@ -3,6 +3,8 @@ package io.github.pr0methean.betterrandom.seed;
 import com.google.common.collect.ImmutableMap;
 import io.github.pr0methean.betterrandom.TestUtils;
 import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import org.testng.annotations.Test;
 
@@ -11,7 +13,8 @@ public class LegacyRandomSeederTest extends RandomSeederTest {
     TestUtils.testConstructors(LegacyRandomSeeder.class, false, ImmutableMap
         .of(SeedGenerator.class, new FakeSeedGenerator("testConstructors"), ThreadFactory.class,
             new RandomSeeder.DefaultThreadFactory("testConstructors"), long.class,
-            100_000_000L), RandomSeeder::stopIfEmpty);
+            100_000_000L, ScheduledExecutorService.class,
+            Executors.newSingleThreadScheduledExecutor()), RandomSeeder::stopIfEmpty);
   }
 
   @Override protected LegacyRandomSeeder createRandomSeeder(SeedGenerator seedGenerator) {
@@ -19,6 +22,11 @@ public class LegacyRandomSeederTest extends RandomSeederTest {
         new RandomSeeder.DefaultThreadFactory("LegacyRandomSeederTest", Thread.MAX_PRIORITY));
   }
 
+  @Override protected LegacyRandomSeeder createRandomSeeder(SeedGenerator seedGenerator,
+      ScheduledExecutorService executor) {
+    return new LegacyRandomSeeder(seedGenerator, executor);
+  }
+
   @Test(timeOut = 25_000) public void testAddRemoveAndIsEmpty_Random() {
     final Random prng = new Random(TEST_SEED);
     final SeedGenerator seedGenerator = new FakeSeedGenerator("testAddRemoveAndIsEmpty");
@@ -152,6 +152,13 @@ public class RandomDotOrgApi2ClientHermeticTest
     return RESPONSE_32;
   }
 
+  @Test public void testOneRequestAtATime() {
+    final RandomDotOrgApi2Client client = new RandomDotOrgApi2Client(
+        new WebSeedClientConfiguration.Builder().setMaxConcurrentRequests(4).build(),
+        UUID.randomUUID());
+    Assert.assertEquals(client.getMaxConcurrentRequests(), 1);
+  }
+
   @Test public void testNullApiKey() {
     try {
       new RandomDotOrgApi2Client(null);
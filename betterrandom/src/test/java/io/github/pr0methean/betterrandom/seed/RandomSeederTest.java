@@ -2,6 +2,8 @@ package io.github.pr0methean.betterrandom.seed;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableMap;
@@ -15,8 +17,13 @@ import io.github.pr0methean.betterrandom.prng.Pcg64Random;
 import io.github.pr0methean.betterrandom.prng.RandomTestUtils;
 import io.github.pr0methean.betterrandom.prng.adapter.SingleThreadSplittableRandomAdapter;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
@@ -38,7 +45,8 @@ public class RandomSeederTest extends PowerMockTestCase {
     TestUtils.testConstructors(RandomSeeder.class, false, ImmutableMap
         .of(SeedGenerator.class, new FakeSeedGenerator("testConstructors"),
             ThreadFactory.class, new RandomSeeder.DefaultThreadFactory("testConstructors"),
-            long.class, 100_000_000L),
+            long.class, 100_000_000L, int.class, 2,
+            ScheduledExecutorService.class, Executors.newSingleThreadScheduledExecutor()),
         RandomSeeder::stopIfEmpty);
   }
 
@@ -58,6 +66,102 @@ public class RandomSeederTest extends PowerMockTestCase {
     checkAddRemoveAndIsEmpty(prng, randomSeeder, randomSeeder::add);
   }
 
+  @Test(timeOut = 25_000) public void testAddRemoveAndIsEmptyOnExecutor() {
+    final SingleThreadSplittableRandomAdapter prng
+        = new SingleThreadSplittableRandomAdapter(TEST_SEED);
+    final SeedGenerator seedGenerator = new PseudorandomSeedGenerator(
+        ThreadLocalRandom.current(), "testAddRemoveAndIsEmptyOnExecutor");
+    final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      final RandomSeeder randomSeeder = createRandomSeeder(seedGenerator, executor);
+      checkAddRemoveAndIsEmpty(prng, randomSeeder, randomSeeder::add);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(timeOut = 25_000) public void testIdleOnExecutorUntilRequested() {
+    final FakeSeedGenerator seedGenerator =
+        new FakeSeedGenerator("testIdleOnExecutorUntilRequested");
+    final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      final RandomSeeder randomSeeder = createRandomSeeder(seedGenerator, executor);
+      final Pcg64Random random = new Pcg64Random();
+      random.setRandomSeeder(randomSeeder);
+      try {
+        while (randomSeeder.isRunning()) {
+          Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(seedGenerator.countCalls(), 0,
+            "PRNG with entropy left shouldn't have been reseeded");
+        assertFalse(randomSeeder.isEmpty());
+        random.nextBytes(new byte[2 * Long.BYTES]); // Drain the entropy
+        while (random.getEntropyBits() <= 0) {
+          Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(seedGenerator.countCalls(), 1);
+      } finally {
+        RandomTestUtils.removeAndAssertEmpty(randomSeeder, random);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(timeOut = 25_000) public void testIterationMetrics() {
+    final FakeSeedGenerator seedGenerator = new FakeSeedGenerator(
+        getClass().getSimpleName() + ".testIterationMetrics");
+    final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      final RandomSeeder randomSeeder = createRandomSeeder(seedGenerator, executor);
+      assertEquals(randomSeeder.getIterationMetrics().getName(),
+          randomSeeder.getClass().getSimpleName() + "(FakeSeedGenerator)");
+      // Keep other tests' seeders out of these metrics
+      randomSeeder.setIterationMetricsName(seedGenerator.toString());
+      final SeedMetrics metrics = randomSeeder.getIterationMetrics();
+      assertEquals(metrics.getName(), seedGenerator.toString());
+      metrics.reset();
+      final Pcg64Random random = new Pcg64Random();
+      random.setRandomSeeder(randomSeeder);
+      try {
+        random.nextBytes(new byte[2 * Long.BYTES]); // Drain the entropy
+        while (metrics.getByteCount() == 0) {
+          Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(metrics.getByteCount(), random.getNewSeedLength());
+        assertTrue(metrics.getRequestCount() > 0);
+        assertEquals(metrics.getFailureCount(), 0);
+      } finally {
+        RandomTestUtils.removeAndAssertEmpty(randomSeeder, random);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test public void testForSeedGenerator() {
+    final RandomSeeder seeder =
+        RandomSeeder.forSeedGenerator(new FakeSeedGenerator("testForSeedGenerator"));
+    assertSame(RandomSeeder.forSeedGenerator(new FakeSeedGenerator("testForSeedGenerator")),
+        seeder, "Should reuse the seeder for an equal SeedGenerator");
+    assertNotSame(RandomSeeder.forSeedGenerator(new FakeSeedGenerator("testForSeedGenerator2")),
+        seeder);
+    assertEquals(seeder, new RandomSeeder(seeder.getSeedGenerator(), RandomSeeder.SHARED_EXECUTOR));
+    assertFalse(seeder.equals(new RandomSeeder(seeder.getSeedGenerator())),
+        "Seeders on an executor shouldn't equal seeders with their own threads");
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testSharedSeederCantShutDown() {
+    RandomSeeder.forSeedGenerator(new FakeSeedGenerator("testSharedSeederCantShutDown")).shutDown();
+  }
+
+  @Test(timeOut = 30_000) public void testSharedSeederCollectable() {
+    final WeakReference<RandomSeeder> seeder = new WeakReference<>(
+        RandomSeeder.forSeedGenerator(new FakeSeedGenerator("testSharedSeederCollectable")));
+    GcFinalization.awaitClear(seeder);
+  }
+
   protected static <T extends Random> void checkAddRemoveAndIsEmpty(T prng,
       RandomSeeder randomSeeder, Consumer<? super T> addPrng) {
     final byte[] firstBytesWithOldSeed = new byte[TEST_OUTPUT_SIZE];
@@ -209,11 +313,130 @@ public class RandomSeederTest extends PowerMockTestCase {
     }
   }
 
+  @Test(timeOut = 30_000L)
+  public void testConcurrentSeedRequests() throws InterruptedException {
+    FakeRandomForTestEqual random1 = new FakeRandomForTestEqual();
+    FakeRandomForTestEqual random2 = new FakeRandomForTestEqual() {
+      @Override public int hashCode() {
+        return 0xc0ffee;
+      }
+
+      @Override public boolean equals(Object obj) {
+        return this == obj;
+      }
+    };
+    final FakeSeedGenerator seedGenerator = new FakeSeedGenerator("testConcurrentSeedRequests");
+    final RandomSeeder seeder = new RandomSeeder(seedGenerator,
+        new RandomSeeder.DefaultThreadFactory("RandomSeederTest", Thread.MAX_PRIORITY),
+        RandomSeeder.DEFAULT_STOP_IF_EMPTY_FOR_NANOS, 2);
+    try {
+      seeder.add(random1, random2);
+      seeder.wakeUp();
+      random1.waitUntilReseeded();
+      random2.waitUntilReseeded();
+    } finally {
+      seeder.shutDown();
+    }
+  }
+
+  /**
+   * Records the seeds it receives, and never has any entropy left.
+   */
+  private static class SeedRecordingRandom extends Random implements ByteArrayReseedableRandom {
+    private static final long serialVersionUID = 5271364926410340235L;
+    private final int seedLength;
+    private final boolean preferSeedWithLong;
+    public volatile byte[] lastSeed;
+    public volatile long lastLongSeed;
+
+    SeedRecordingRandom(int seedLength, boolean preferSeedWithLong) {
+      this.seedLength = seedLength;
+      this.preferSeedWithLong = preferSeedWithLong;
+    }
+
+    @Override public void setSeed(byte[] seed) {
+      lastSeed = seed.clone();
+    }
+
+    @Override public synchronized void setSeed(long seed) {
+      lastLongSeed = seed;
+    }
+
+    @Override public int getNewSeedLength() {
+      return seedLength;
+    }
+
+    @Override public boolean preferSeedWithLong() {
+      return preferSeedWithLong;
+    }
+  }
+
+  @Test public void testBatchedSeedRequests() {
+    final FakeSeedGenerator seedGenerator = new FakeSeedGenerator("testBatchedSeedRequests");
+    final RandomSeeder seeder = createRandomSeeder(seedGenerator);
+    final SeedRecordingRandom first = new SeedRecordingRandom(16, false);
+    final SeedRecordingRandom second = new SeedRecordingRandom(Long.BYTES, true);
+    final SeedRecordingRandom third = new SeedRecordingRandom(32, false);
+    assertTrue(seeder.reseedByteArrayReseedableRandoms(Arrays.asList(first, second, third)));
+    assertEquals(seedGenerator.countCalls(), 1, "Should have generated one seed for all PRNGs");
+    // FakeSeedGenerator outputs 0, 1, 2, ...
+    final byte[] expected = new byte[56];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = (byte) i;
+    }
+    assertEquals(first.lastSeed, Arrays.copyOfRange(expected, 0, 16));
+    assertEquals(second.lastLongSeed, BinaryUtils.convertBytesToLong(expected, 16));
+    assertEquals(third.lastSeed, Arrays.copyOfRange(expected, 24, 56));
+  }
+
+  @Test public void testLargeBatchSplit() {
+    final FakeSeedGenerator seedGenerator = new FakeSeedGenerator("testLargeBatchSplit");
+    final RandomSeeder seeder = createRandomSeeder(seedGenerator);
+    final SeedRecordingRandom first =
+        new SeedRecordingRandom(RandomSeeder.MAX_BATCH_SEED_LENGTH, false);
+    final SeedRecordingRandom second = new SeedRecordingRandom(16, false);
+    assertTrue(seeder.reseedByteArrayReseedableRandoms(Arrays.asList(first, second)));
+    assertEquals(seedGenerator.countCalls(), 2, "Should have split the seed requests");
+    assertEquals(second.lastSeed.length, 16);
+  }
+
+  @Test public void testDepletedPrngsCheckedInOrder() {
+    final RandomSeeder seeder =
+        new RandomSeeder(new FakeSeedGenerator("testDepletedPrngsCheckedInOrder")) {
+          private static final long serialVersionUID = 4185204466343937711L;
+
+          @Override protected void start() {
+            // This test calls drainPrngsToCheck() itself
+          }
+        };
+    final Pcg64Random first = new Pcg64Random();
+    final Pcg64Random second = new Pcg64Random();
+    final SeedRecordingRandom polled = new SeedRecordingRandom(16, false);
+    first.setRandomSeeder(seeder);
+    second.setRandomSeeder(seeder);
+    seeder.add(polled);
+    assertEquals(new ArrayList<>(seeder.drainPrngsToCheck()), Arrays.asList(first, second, polled),
+        "Newly registered PRNGs should be checked once");
+    assertEquals(new ArrayList<>(seeder.drainPrngsToCheck()), Collections.singletonList(polled),
+        "PRNGs with entropy left shouldn't be checked");
+    second.nextBytes(new byte[2 * Long.BYTES]);
+    first.nextBytes(new byte[2 * Long.BYTES]);
+    second.nextLong(); // Shouldn't queue it again
+    assertEquals(new ArrayList<>(seeder.drainPrngsToCheck()), Arrays.asList(second, first, polled),
+        "Depleted PRNGs should be checked in the order they ran out of entropy");
+    assertEquals(new ArrayList<>(seeder.drainPrngsToCheck()), Collections.singletonList(polled));
+  }
+
   protected RandomSeeder createRandomSeeder(SeedGenerator seedGenerator) {
     return new RandomSeeder(seedGenerator,
         new RandomSeeder.DefaultThreadFactory("RandomSeederTest", Thread.MAX_PRIORITY));
   }
 
+  protected RandomSeeder createRandomSeeder(SeedGenerator seedGenerator,
+      ScheduledExecutorService executor) {
+    return new RandomSeeder(seedGenerator, executor);
+  }
+
   /**
    * Making this a subroutine ensures that {@code prng} can be GCed on exit.
    */
@@ -0,0 +1,180 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import nl.jqno.equalsverifier.api.SingleTypeEqualsVerifierApi;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class SeedFileSeedGeneratorTest extends SeedGeneratorTest<SeedFileSeedGenerator> {
+
+  private static final int FILE_SIZE = 64;
+
+  private FakeSeedGenerator source;
+  private File file;
+
+  @Override protected SeedFileSeedGenerator initializeSeedGenerator() {
+    return new SeedFileSeedGenerator(file, source, FILE_SIZE);
+  }
+
+  @BeforeMethod @Override public void setUp() {
+    source = new FakeSeedGenerator("source");
+    try {
+      file = Files.createTempFile("SeedFileSeedGeneratorTest", ".seed").toFile();
+    } catch (final IOException e) {
+      throw new AssertionError(e);
+    }
+    super.setUp();
+  }
+
+  @AfterMethod @Override public void tearDown() {
+    super.tearDown();
+    file.delete();
+  }
+
+  @Override protected SingleTypeEqualsVerifierApi<? extends SeedGenerator> createEqualsVerifier() {
+    return super.createEqualsVerifier().withIgnoredFields("lock");
+  }
+
+  private static byte[] createTestFileContents() {
+    final byte[] contents = new byte[FILE_SIZE];
+    for (int i = 0; i < FILE_SIZE; i++) {
+      contents[i] = (byte) (i + 1);
+    }
+    return contents;
+  }
+
+  private void writeTestFile() throws IOException {
+    Files.write(file.toPath(), createTestFileContents());
+  }
+
+  /**
+   * Checks that a seed came from the file, rather than from the fake source, and isn't a copy of
+   * the file's contents.
+   */
+  private static void checkNotFromSourceOrVerbatim(byte[] seed) {
+    final byte[] fromSource = new FakeSeedGenerator().generateSeed(seed.length);
+    assertFalse(Arrays.equals(seed, fromSource), "Seed came from the source");
+    assertFalse(Arrays.equals(seed, Arrays.copyOf(createTestFileContents(), seed.length)),
+        "Seed is the file's contents verbatim");
+  }
+
+  private byte[] waitForRefill() throws IOException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (true) {
+      if (file.isFile()) {
+        final byte[] contents = Files.readAllBytes(file.toPath());
+        if (contents.length == FILE_SIZE && contents[FILE_SIZE - 1] != 0) {
+          return contents;
+        }
+      }
+      assertTrue(System.nanoTime() < deadline, "Seed file wasn't refilled");
+      Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Test public void testServesFileOnce() throws IOException {
+    writeTestFile();
+    final byte[] first = seedGenerator.generateSeed(FILE_SIZE / 2);
+    checkNotFromSourceOrVerbatim(first);
+    assertEquals(seedGenerator.getRemainingFileBytes(), FILE_SIZE / 2);
+    final byte[] second = seedGenerator.generateSeed(FILE_SIZE / 2);
+    checkNotFromSourceOrVerbatim(second);
+    assertFalse(Arrays.equals(first, second), "Same seed served twice");
+    assertEquals(seedGenerator.getRemainingFileBytes(), 0);
+    waitForRefill();
+    assertEquals(source.countCalls(), 1, "Source should only have been used for the refill");
+    // File's entropy is used up, so this must come from the source
+    generateAndCheckFakeSeed(FILE_SIZE / 2);
+    assertEquals(source.countCalls(), 2);
+  }
+
+  @Test public void testCopiesOfFileGiveDifferentSeeds() throws IOException {
+    writeTestFile();
+    final byte[] first = seedGenerator.generateSeed(FILE_SIZE);
+    // As if another container had started from the same image
+    final File copy = Files.createTempFile("SeedFileSeedGeneratorTest", ".seed").toFile();
+    try {
+      Files.write(copy.toPath(), createTestFileContents());
+      final SeedFileSeedGenerator fromCopy = new SeedFileSeedGenerator(copy,
+          FailingSeedGenerator.DEFAULT_INSTANCE, FILE_SIZE);
+      final byte[] second = fromCopy.generateSeed(FILE_SIZE);
+      assertEquals(fromCopy.getRemainingFileBytes(), 0);
+      assertFalse(Arrays.equals(first, second), "Copies of the file gave the same seed");
+    } finally {
+      copy.delete();
+    }
+  }
+
+  @Test public void testCreatedOwnerOnly() throws IOException {
+    if (!file.toPath().getFileSystem().supportedFileAttributeViews().contains("posix")) {
+      throw new SkipException("POSIX permissions not supported");
+    }
+    assertTrue(file.delete());
+    seedGenerator.generateSeed(1);
+    waitForRefill();
+    assertEquals(Files.getPosixFilePermissions(file.toPath()),
+        PosixFilePermissions.fromString("rw-------"));
+  }
+
+  @Test public void testFileRefilled() throws IOException {
+    writeTestFile();
+    seedGenerator.generateSeed(1);
+    final byte[] expected = new byte[FILE_SIZE];
+    for (int i = 0; i < FILE_SIZE; i++) {
+      expected[i] = (byte) i;
+    }
+    assertTrue(Arrays.equals(waitForRefill(), expected), "Wrong seed file contents after refill");
+  }
+
+  @Test public void testFileErasedWhenRead() throws IOException {
+    writeTestFile();
+    // Failing source, so that the refill doesn't overwrite the erased contents
+    new SeedFileSeedGenerator(file, FailingSeedGenerator.DEFAULT_INSTANCE, FILE_SIZE)
+        .generateSeed(1);
+    assertTrue(Arrays.equals(Files.readAllBytes(file.toPath()), new byte[FILE_SIZE]),
+        "Seed file wasn't erased");
+    // Another instance mustn't reuse the same entropy
+    generateAndCheckFakeSeed(16);
+    assertEquals(seedGenerator.getRemainingFileBytes(), 0);
+  }
+
+  @Test public void testMissingFile() throws IOException {
+    assertTrue(file.delete());
+    generateAndCheckFakeSeed(16);
+    assertEquals(seedGenerator.getRemainingFileBytes(), 0);
+    waitForRefill();
+  }
+
+  @Test public void testShortFile() throws IOException {
+    Files.write(file.toPath(), new byte[] {1, 2, 3});
+    generateAndCheckFakeSeed(2);
+    assertEquals(seedGenerator.getRemainingFileBytes(), 0);
+  }
+
+  @Test public void testLargeRequestGoesToSource() throws IOException {
+    writeTestFile();
+    generateAndCheckFakeSeed(2 * FILE_SIZE);
+    assertEquals(seedGenerator.getRemainingFileBytes(), FILE_SIZE);
+  }
+
+  @Test public void testIsWorthTrying() throws IOException {
+    seedGenerator =
+        new SeedFileSeedGenerator(file, FailingSeedGenerator.DEFAULT_INSTANCE, FILE_SIZE);
+    assertTrue(file.delete());
+    assertFalse(seedGenerator.isWorthTrying());
+    writeTestFile();
+    assertTrue(seedGenerator.isWorthTrying());
+  }
+}
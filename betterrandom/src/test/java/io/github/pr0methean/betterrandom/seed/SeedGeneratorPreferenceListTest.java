@@ -3,10 +3,15 @@ package io.github.pr0methean.betterrandom.seed;
 import static io.github.pr0methean.betterrandom.TestUtils.fail;
 import static io.github.pr0methean.betterrandom.seed.FailingSeedGenerator.DEFAULT_INSTANCE;
 import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import org.testng.annotations.Test;
 
 public class SeedGeneratorPreferenceListTest extends SeedGeneratorTest<SeedGeneratorPreferenceList> {
@@ -31,6 +36,74 @@ public class SeedGeneratorPreferenceListTest extends SeedGeneratorTest<SeedGener
     generateAndCheckFakeSeed(32);
   }
 
+  @Test public void testSecondSucceedsAsync() {
+    seedGenerator = new SeedGeneratorPreferenceList(
+        Arrays.asList(DEFAULT_INSTANCE, new FakeSeedGenerator()), true);
+    final byte[] seed = seedGenerator.generateSeedAsync(32, Runnable::run).join();
+    assertEquals(seed.length, 32, "Wrong seed length");
+    for (int i = 0; i < seed.length; i++) {
+      assertEquals(seed[i], (byte) i, "Failed to populate index " + i);
+    }
+  }
+
+  @Test public void testAllFailAsync() {
+    final CompletableFuture<byte[]> seed = seedGenerator.generateSeedAsync(32, Runnable::run);
+    assertTrue(seed.isCompletedExceptionally());
+    try {
+      seed.join();
+      throw fail("Should have thrown SeedException");
+    } catch (final CompletionException expected) {
+      assertTrue(expected.getCause() instanceof SeedException);
+    }
+  }
+
+  @Test public void testAdaptivePrefersFaster() {
+    final FakeSeedGenerator slow = new FakeSeedGenerator("slow") {
+      private static final long serialVersionUID = -6353858340432390380L;
+
+      @Override public void generateSeed(byte[] output) throws SeedException {
+        Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+        super.generateSeed(output);
+      }
+    };
+    final FakeSeedGenerator fast = new FakeSeedGenerator("fast");
+    seedGenerator = new SeedGeneratorPreferenceList(Arrays.asList(slow, fast), true, true);
+    for (int i = 0; i < 5; i++) {
+      generateAndCheckFakeSeed(32);
+    }
+    assertEquals(slow.countCalls(), 1, "Should have switched to the faster delegate");
+    assertEquals(fast.countCalls(), 4);
+    assertTrue(seedGenerator.getMeanLatencyNanos(0) > seedGenerator.getMeanLatencyNanos(1));
+  }
+
+  @Test(timeOut = 30_000) public void testAdaptiveDemotesFailing() {
+    final FakeSeedGenerator failing = new FakeSeedGenerator("failing");
+    failing.setThrowException(true);
+    final FakeSeedGenerator working = new FakeSeedGenerator("working");
+    seedGenerator = new SeedGeneratorPreferenceList(Arrays.asList(failing, working), true, true);
+    for (int i = 0; i < 5; i++) {
+      generateAndCheckFakeSeed(32);
+    }
+    assertEquals(failing.countCalls(), SeedGeneratorPreferenceList.FAILURES_BEFORE_DEMOTION,
+        "Should have stopped trying the failing delegate");
+    assertTrue(seedGenerator.isDemoted(0));
+    assertFalse(seedGenerator.isDemoted(1));
+    assertTrue(seedGenerator.getFailureRate(0) > 0);
+    assertEquals(seedGenerator.getFailureRate(1), 0.0);
+    failing.setThrowException(false);
+    Uninterruptibles.sleepUninterruptibly(
+        SeedGeneratorPreferenceList.INITIAL_DEMOTION_NANOS, TimeUnit.NANOSECONDS);
+    while (seedGenerator.isDemoted(0)) {
+      generateAndCheckFakeSeed(32); // Starts a probe if one isn't running
+      Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testNotAdaptive() {
+    seedGenerator.isDemoted(0);
+  }
+
   @Test public void testAlwaysWorthTrying() {
     FakeSeedGenerator doNotCall = new FakeSeedGenerator() {
       private static final long serialVersionUID = 7594951403926684340L;
@@ -12,6 +12,8 @@ import io.github.pr0methean.betterrandom.TestUtils;
 import java.net.Proxy;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLSocketFactory;
@@ -116,6 +118,9 @@ public abstract class WebSeedClientHermeticTest<T extends WebSeedClient>
     byte[] seed = seedGenerator.generateSeed(seedLength);
     Assert.assertEquals(seed.length, seedLength, "Failed to generate seed of length " + seedLength);
     assertTrue(Arrays.equals(seed, expectedHugeSeed), "Seed output not as expected");
+    final byte[] asyncSeed =
+        seedGenerator.generateSeedAsync(seedLength, ForkJoinPool.commonPool()).join();
+    assertTrue(Arrays.equals(asyncSeed, expectedHugeSeed), "Async seed output not as expected");
   }
 
   @Test(enabled = false)
@@ -133,6 +138,17 @@ public abstract class WebSeedClientHermeticTest<T extends WebSeedClient>
     expectAndGetException(SeedTestUtils.SEED_SIZE, true);
   }
 
+  @Test public void testNonJsonResponseAsync() {
+    mockResponse("Not JSON");
+    try {
+      seedGenerator.generateSeedAsync(SeedTestUtils.SEED_SIZE, Runnable::run).join();
+      fail("Should have thrown SeedException");
+    } catch (final CompletionException expected) {
+      assertTrue(expected.getCause() instanceof SeedException,
+          "Wrong exception type: " + expected.getCause());
+    }
+  }
+
   @Test public void testNumericResponse() {
     mockResponse("123456789");
     expectAndGetException(SeedTestUtils.SEED_SIZE, false);
@@ -0,0 +1,235 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link WebSeedClient}'s transport against a stand-in server on the loopback interface.
+ */
+public class WebSeedClientLocalServerTest {
+  private static final int MAX_REQUEST_SIZE = 16;
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger requestsInProgress = new AtomicInteger();
+  private final AtomicInteger maxRequestsInProgress = new AtomicInteger();
+  private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Requests {@code n} bytes from the stand-in server, which returns the values 0 to {@code n - 1}
+   * as one hex number per line.
+   */
+  private static class LocalSeedClient extends WebSeedClient {
+    private static final long serialVersionUID = -1093566203466744317L;
+    private final int port;
+
+    LocalSeedClient(WebSeedClientConfiguration configuration, int port) {
+      super(configuration);
+      this.port = port;
+    }
+
+    @Override protected int getMaxRequestSize() {
+      return MAX_REQUEST_SIZE;
+    }
+
+    @Override protected URL getConnectionUrl(int numBytes) {
+      try {
+        return new URL("http", "localhost", port, "/bytes?n=" + numBytes);
+      } catch (MalformedURLException e) {
+        throw new SeedException("Error creating URL", e);
+      }
+    }
+
+    @Override protected void downloadBytes(HttpURLConnection connection, byte[] seed, int offset,
+        int length) throws IOException {
+      try (final BufferedReader reader = getResponseReader(connection)) {
+        for (int index = 0; index < length; index++) {
+          seed[offset + index] = (byte) Integer.parseInt(reader.readLine(), 16);
+        }
+      }
+    }
+  }
+
+  /**
+   * Fails the batch at offset 0, which {@link WebSeedClient#generateSeed(byte[])} downloads on the
+   * calling thread, and counts the other batches' downloads that are in progress.
+   */
+  private static class FirstBatchFailsClient extends LocalSeedClient {
+    private static final long serialVersionUID = 4476204440530963539L;
+    final AtomicInteger downloadsInProgress = new AtomicInteger();
+
+    FirstBatchFailsClient(WebSeedClientConfiguration configuration, int port) {
+      super(configuration, port);
+    }
+
+    @Override protected void downloadBytes(HttpURLConnection connection, byte[] seed, int offset,
+        int length) throws IOException {
+      if (offset == 0) {
+        throw new IOException("Failing first batch");
+      }
+      downloadsInProgress.incrementAndGet();
+      try {
+        super.downloadBytes(connection, seed, offset, length);
+      } finally {
+        downloadsInProgress.decrementAndGet();
+      }
+    }
+  }
+
+  @BeforeMethod public void setUp() throws IOException {
+    requests.set(0);
+    requestsInProgress.set(0);
+    maxRequestsInProgress.set(0);
+    clientPorts.clear();
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/bytes", this::respond);
+    serverExecutor = Executors.newCachedThreadPool();
+    server.setExecutor(serverExecutor);
+    server.start();
+  }
+
+  @AfterMethod public void tearDown() {
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  private void respond(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    clientPorts.add(exchange.getRemoteAddress().getPort());
+    maxRequestsInProgress.accumulateAndGet(requestsInProgress.incrementAndGet(), Math::max);
+    try {
+      // Give concurrent requests a chance to overlap
+      Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+      final int n = Integer.parseInt(exchange.getRequestURI().getQuery().substring(2));
+      final StringBuilder body = new StringBuilder();
+      for (int i = 0; i < n; i++) {
+        body.append(Integer.toHexString(i)).append('\n');
+      }
+      final byte[] bytes = body.toString().getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, bytes.length);
+      try (final OutputStream out = exchange.getResponseBody()) {
+        out.write(bytes);
+      }
+    } finally {
+      requestsInProgress.decrementAndGet();
+    }
+  }
+
+  private LocalSeedClient createClient(WebSeedClientConfiguration.Builder builder) {
+    return new LocalSeedClient(builder.build(), server.getAddress().getPort());
+  }
+
+  private static void checkSeed(byte[] seed, int length) {
+    assertEquals(seed.length, length);
+    for (int i = 0; i < length; i++) {
+      assertEquals(seed[i], (byte) (i % MAX_REQUEST_SIZE), "Wrong byte at index " + i);
+    }
+  }
+
+  @Test(timeOut = 10_000) public void testConnectionReused() {
+    final LocalSeedClient client =
+        createClient(new WebSeedClientConfiguration.Builder().setMaxConcurrentRequests(1));
+    for (int i = 0; i < 3; i++) {
+      checkSeed(client.generateSeed(MAX_REQUEST_SIZE), MAX_REQUEST_SIZE);
+    }
+    assertEquals(requests.get(), 3);
+    assertEquals(clientPorts.size(), 1, "Should have reused one connection for all requests");
+  }
+
+  @Test(timeOut = 10_000) public void testBatchesSentConcurrently() {
+    final LocalSeedClient client = createClient(new WebSeedClientConfiguration.Builder());
+    final int length = 8 * MAX_REQUEST_SIZE;
+    checkSeed(client.generateSeed(length), length);
+    assertEquals(requests.get(), 8);
+    assertTrue(maxRequestsInProgress.get() > 1, "Batches weren't sent concurrently");
+    assertTrue(maxRequestsInProgress.get()
+        <= WebSeedClientConfiguration.DEFAULT_MAX_CONCURRENT_REQUESTS, "Too many requests at once");
+  }
+
+  @Test(timeOut = 10_000) public void testBatchesSentConcurrentlyAsync() {
+    final LocalSeedClient client = createClient(new WebSeedClientConfiguration.Builder());
+    final int length = 8 * MAX_REQUEST_SIZE;
+    checkSeed(client.generateSeedAsync(length, ForkJoinPool.commonPool()).join(), length);
+    assertEquals(requests.get(), 8);
+    assertTrue(maxRequestsInProgress.get() > 1, "Batches weren't sent concurrently");
+    assertTrue(maxRequestsInProgress.get()
+        <= WebSeedClientConfiguration.DEFAULT_MAX_CONCURRENT_REQUESTS, "Too many requests at once");
+  }
+
+  @Test(timeOut = 10_000) public void testWaitsForOtherBatchesAfterFailure() {
+    final FirstBatchFailsClient client = new FirstBatchFailsClient(
+        new WebSeedClientConfiguration.Builder().build(), server.getAddress().getPort());
+    try {
+      client.generateSeed(8 * MAX_REQUEST_SIZE);
+      throw new AssertionError("Should have thrown SeedException");
+    } catch (final SeedException expected) {
+    }
+    assertEquals(client.downloadsInProgress.get(), 0, "Returned while batches were downloading");
+    assertTrue(requests.get() < 8, "Should have skipped batches that hadn't started");
+  }
+
+  @Test(timeOut = 10_000) public void testConnectionFactory() {
+    final AtomicInteger connectionsOpened = new AtomicInteger();
+    final LocalSeedClient client = createClient(new WebSeedClientConfiguration.Builder()
+        .setConnectionFactory((url, proxy) -> {
+          connectionsOpened.incrementAndGet();
+          return HttpConnectionFactory.DEFAULT.openConnection(url, proxy);
+        }));
+    checkSeed(client.generateSeed(2 * MAX_REQUEST_SIZE), 2 * MAX_REQUEST_SIZE);
+    assertEquals(connectionsOpened.get(), 2);
+  }
+
+  @Test(timeOut = 10_000) public void testBatchMetrics() {
+    final LocalSeedClient client = createClient(new WebSeedClientConfiguration.Builder());
+    final SeedMetrics metrics = client.getBatchMetrics();
+    metrics.reset();
+    checkSeed(client.generateSeed(2 * MAX_REQUEST_SIZE), 2 * MAX_REQUEST_SIZE);
+    assertEquals(metrics.getRequestCount(), 2);
+    assertEquals(metrics.getByteCount(), 2 * MAX_REQUEST_SIZE);
+    server.stop(0);
+    try {
+      client.generateSeed(MAX_REQUEST_SIZE);
+      throw new AssertionError("Should have thrown SeedException");
+    } catch (final SeedException expected) {
+    }
+    assertEquals(metrics.getFailureCount(), 1);
+  }
+
+  @Test(timeOut = 10_000) public void testServerDown() {
+    final LocalSeedClient client =
+        createClient(new WebSeedClientConfiguration.Builder().setRetryDelay(1, TimeUnit.MINUTES));
+    server.stop(0);
+    try {
+      client.generateSeed(MAX_REQUEST_SIZE);
+      throw new AssertionError("Should have thrown SeedException");
+    } catch (final SeedException expected) {
+      assertTrue(expected.getCause() instanceof IOException);
+    }
+    assertFalse(client.isWorthTrying(), "Should be waiting to retry");
+  }
+}
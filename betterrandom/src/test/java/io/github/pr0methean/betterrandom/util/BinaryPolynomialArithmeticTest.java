@@ -0,0 +1,79 @@
+package io.github.pr0methean.betterrandom.util;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+public class BinaryPolynomialArithmeticTest {
+
+  /** z^100 + z^37 + z^2 + 1, which spans two words and has an inverse for z. */
+  private static final long[] MODULUS = {(1L << 37) | (1L << 2) | 1, 1L << 36};
+  private static final int DEGREE = 100;
+
+  private static long[] powerOfZByStepping(final long exponent) {
+    final long[] result = new long[BinaryPolynomialArithmetic.wordsForModulus(DEGREE)];
+    result[0] = 1;
+    for (long i = 0; i < exponent; i++) {
+      BinaryPolynomialArithmetic.multiplyByZModInto(result, MODULUS, DEGREE);
+    }
+    for (long i = 0; i > exponent; i--) {
+      BinaryPolynomialArithmetic.divideByZModInto(result, MODULUS);
+    }
+    return result;
+  }
+
+  @Test public void testDegree() {
+    assertEquals(BinaryPolynomialArithmetic.degree(MODULUS), DEGREE);
+    assertEquals(BinaryPolynomialArithmetic.degree(new long[]{1, 0}), 0);
+    assertEquals(BinaryPolynomialArithmetic.degree(new long[2]), -1);
+  }
+
+  @Test public void testPowerOfZMod() {
+    for (final long exponent : new long[]{0, 1, 99, 100, 101, 1234, 65_537}) {
+      assertEquals(BinaryPolynomialArithmetic.powerOfZMod(exponent, MODULUS),
+          powerOfZByStepping(exponent), "Wrong result for exponent " + exponent);
+    }
+  }
+
+  @Test public void testPowerOfZModNegative() {
+    for (final long exponent : new long[]{-1, -100, -101, -1234, -65_537}) {
+      assertEquals(BinaryPolynomialArithmetic.powerOfZMod(exponent, MODULUS),
+          powerOfZByStepping(exponent), "Wrong result for exponent " + exponent);
+    }
+  }
+
+  @Test public void testPowerOfZModExtremes() {
+    final long[][] shiftedModulus = BinaryPolynomialArithmetic.shiftedCopies(MODULUS);
+    final long[] scratch = new long[2 * BinaryPolynomialArithmetic.wordsForModulus(DEGREE)];
+    // z^(2^63) and z^(-2^63) by squaring z and 1/z 63 times
+    final long[] expectedMaxPlusOne = powerOfZByStepping(1);
+    final long[] expectedMin = powerOfZByStepping(-1);
+    for (int i = 0; i < 63; i++) {
+      BinaryPolynomialArithmetic.squareModInto(expectedMaxPlusOne, shiftedModulus, DEGREE, scratch);
+      BinaryPolynomialArithmetic.squareModInto(expectedMin, shiftedModulus, DEGREE, scratch);
+    }
+    final long[] maxPlusOne = BinaryPolynomialArithmetic.powerOfZMod(Long.MAX_VALUE, MODULUS);
+    BinaryPolynomialArithmetic.multiplyByZModInto(maxPlusOne, MODULUS, DEGREE);
+    assertEquals(maxPlusOne, expectedMaxPlusOne);
+    assertEquals(BinaryPolynomialArithmetic.powerOfZMod(Long.MIN_VALUE, MODULUS), expectedMin);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testPowerOfZModNegativeNeedsConstantTerm() {
+    BinaryPolynomialArithmetic.powerOfZMod(-1, new long[]{1L << 5, 1});
+  }
+
+  @Test public void testPowerOfZModPositiveWithoutConstantTerm() {
+    final long[] modulus = {1L << 5, 1};
+    final long[] result = BinaryPolynomialArithmetic.powerOfZMod(70, modulus);
+    // z^64 = z^5, so z^70 = z^11
+    assertEquals(result, new long[]{1L << 11, 0});
+  }
+
+  @Test public void testSquareModInto() {
+    final long[] polynomial = BinaryPolynomialArithmetic.powerOfZMod(1234, MODULUS);
+    BinaryPolynomialArithmetic.squareModInto(polynomial,
+        BinaryPolynomialArithmetic.shiftedCopies(MODULUS), DEGREE, new long[2 * polynomial.length]);
+    assertEquals(polynomial, powerOfZByStepping(2468));
+  }
+}
@@ -69,6 +69,16 @@ import org.testng.annotations.Test;
     assertByteArrayEqualsLongs(result, 0x3477_9500_5A1B_EFFCL, 0xB722_4E11_A243_9BB5L);
   }
 
+  @Test public void testUnsignedMultiplyHigh() {
+    assertEquals(Byte16ArrayArithmetic.unsignedMultiplyHigh(0x38FD_07E7_D607_B6EDL,
+        0x631B_C188_2D24_D6E9L), 0x1610_07D3_90A7_37E3L);
+    // Both inputs have the sign bit set
+    assertEquals(Byte16ArrayArithmetic.unsignedMultiplyHigh(0x79EC_964A_738B_2EBAL,
+        0xC26B_1E45_A661_872BL), 0x5C98_4E32_224C_DCAAL);
+    assertEquals(Byte16ArrayArithmetic.unsignedMultiplyHigh(-1, -1), -2);
+    assertEquals(Byte16ArrayArithmetic.unsignedMultiplyHigh(-1, 1), 0);
+  }
+
   @Test public void testUnsignedShiftRight() {
     final byte[] result = OPERAND1.clone();
     Byte16ArrayArithmetic.unsignedShiftRight(result, 12);